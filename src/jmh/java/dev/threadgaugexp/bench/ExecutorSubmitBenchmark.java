@@ -0,0 +1,65 @@
+package dev.threadgaugexp.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of handing one trivial task to an executor and waiting for its result.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ExecutorSubmitBenchmark {
+    private static final Callable<Integer> TASK = () -> 42;
+
+    @Param({"fixed", "forkjoin", "virtual"})
+    public String executorType;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        switch (executorType) {
+            case "forkjoin":
+                executor = new ForkJoinPool(processors);
+                break;
+            case "virtual":
+                executor = Executors.newVirtualThreadPerTaskExecutor();
+                break;
+            default:
+                executor = Executors.newFixedThreadPool(processors);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Integer submitAndGet() throws InterruptedException, ExecutionException {
+        return executor.submit(TASK).get();
+    }
+}
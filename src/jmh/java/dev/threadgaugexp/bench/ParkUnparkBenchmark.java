@@ -0,0 +1,87 @@
+package dev.threadgaugexp.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LockSupport costs behind the ThreadTester worker loop: an unpark/park round trip with a partner
+ * thread, and how long parkNanos(1 ms) really sleeps (timer slack and wake-up latency).
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ParkUnparkBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String partnerType;
+
+    private volatile boolean running;
+    private volatile long ping;
+    private volatile long pong;
+    private long sequence;
+    private Thread caller;
+    private Thread partner;
+
+    @Setup
+    public void setUp() {
+        caller = Thread.currentThread();
+        running = true;
+        Runnable echo = () -> {
+            long seen = 0;
+            while (running) {
+                long current = ping;
+                if (current == seen) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                seen = current;
+                pong = current;
+                LockSupport.unpark(caller);
+            }
+        };
+        partner = "virtual".equals(partnerType)
+            ? Thread.ofVirtual().name("bench-partner").start(echo)
+            : Thread.ofPlatform().name("bench-partner").daemon().start(echo);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(partner);
+        partner.join(1000);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long roundTrip() {
+        long next = ++sequence;
+        ping = next;
+        LockSupport.unpark(partner);
+        while (pong != next) {
+            LockSupport.park(this);
+        }
+        return next;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void parkNanos1ms() {
+        LockSupport.parkNanos(1_000_000L);
+    }
+}
@@ -0,0 +1,36 @@
+package dev.threadgaugexp.bench;
+
+import dev.threadgaugexp.core.StressTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of one StressTest kernel call (what each worker does between 10 ms sleeps).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class StressKernelBenchmark {
+
+    @Param({"1000"})
+    public int iterations;
+
+    @Benchmark
+    public double kernel() {
+        // Returned so JMH consumes the result and the loop cannot be eliminated
+        return StressTest.computeKernel(iterations);
+    }
+}
@@ -0,0 +1,57 @@
+package dev.threadgaugexp.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a thread's whole life: create, start and join a thread running an empty task.
+ * ThreadTester measures creation and start while threads pile up; this is the steady-state baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ThreadLifecycleBenchmark {
+    private static final Runnable NOOP = () -> { };
+
+    @Param({"platform", "virtual"})
+    public String threadType;
+
+    /** Platform stack size, same default as the UI; ignored for virtual threads. */
+    @Param({"512"})
+    public int stackKB;
+
+    private Thread.Builder builder;
+
+    @Setup
+    public void setUp() {
+        builder = "virtual".equals(threadType)
+            ? Thread.ofVirtual().name("bench-virtual")
+            : Thread.ofPlatform().name("bench-platform").stackSize(stackKB * 1024L);
+    }
+
+    @Benchmark
+    public Thread create() {
+        return builder.unstarted(NOOP);
+    }
+
+    @Benchmark
+    public Thread createStartJoin() throws InterruptedException {
+        Thread thread = builder.start(NOOP);
+        thread.join();
+        return thread;
+    }
+}
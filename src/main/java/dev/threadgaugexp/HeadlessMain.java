@@ -0,0 +1,653 @@
+package dev.threadgaugexp;
+
+import dev.threadgaugexp.core.ExecutorComparison;
+import dev.threadgaugexp.core.ExecutorKind;
+import dev.threadgaugexp.core.FalseSharingTest;
+import dev.threadgaugexp.core.GarbageCollector;
+import dev.threadgaugexp.core.LockContentionTest;
+import dev.threadgaugexp.core.LockStrategy;
+import dev.threadgaugexp.core.MemoryAccounting;
+import dev.threadgaugexp.core.MemoryEstimator;
+import dev.threadgaugexp.core.PinningStressTest;
+import dev.threadgaugexp.core.ProgressListener;
+import dev.threadgaugexp.core.ResultStore;
+import dev.threadgaugexp.core.RunComparison;
+import dev.threadgaugexp.core.RunRecord;
+import dev.threadgaugexp.core.RunResult;
+import dev.threadgaugexp.core.ScalingSweep;
+import dev.threadgaugexp.core.SearchStrategy;
+import dev.threadgaugexp.core.StackSizeSweep;
+import dev.threadgaugexp.core.StressResult;
+import dev.threadgaugexp.core.StressTest;
+import dev.threadgaugexp.core.TelemetryRecorder;
+import dev.threadgaugexp.core.TelemetrySampler;
+import dev.threadgaugexp.core.TestEngine;
+import dev.threadgaugexp.core.ThreadGaugeControl;
+import dev.threadgaugexp.core.ThreadTester;
+import dev.threadgaugexp.core.TrialHarness;
+import dev.threadgaugexp.core.WorkloadMix;
+import dev.threadgaugexp.util.MetricsServer;
+import dev.threadgaugexp.util.TelemetryExport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command-line entry point for hosts without a display. Progress goes to stderr,
+ * the result is printed to stdout as a single JSON line (or a text summary with --format text).
+ */
+public class HeadlessMain {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private static final String USAGE = String.join("\n",
+        "Usage: threadgauge-cli <command> [options]",
+        "",
+        "Commands:",
+        "  max-threads   Find the maximum number of threads",
+        "                  --stack <KB>         stack size (default 512, 0 = JVM default)",
+        "                  --virtual            probe virtual threads instead of platform threads",
+        "                  --search linear|bisect  linear climb (default) or exponential ramp + bisection",
+        "  stress        Run the stress workload",
+        "                  --threads <N>        worker threads (default 100)",
+        "                  --duration <sec>     duration in seconds (default 10)",
+        "                  --workload <spec>    profile or ratio mix, e.g. cpu or cpu:3,io:1 (default light)",
+        "                                       built in: light, cpu, memory, alloc, io, lock",
+        "  scaling       Run the stress workload at a geometric series of thread counts and fit USL/Amdahl",
+        "                  --min <N>            fewest threads (default 1)",
+        "                  --max <N>            most threads (default 256)",
+        "                  --steps <N>          thread counts on a geometric scale (default 9)",
+        "                  --duration <sec>     seconds per step (default 5)",
+        "                  --workload <spec>    as for stress (default light)",
+        "  pinning       Compare synchronized vs ReentrantLock on virtual threads",
+        "                  --threads <N>        virtual threads (default 100)",
+        "                  --duration <sec>     total duration, split between both phases (default 10)",
+        "  executors     Push a batch of tasks through ThreadPoolExecutor, ForkJoinPool and virtual-per-task",
+        "                  --tasks <N>          tasks per executor (default 100000)",
+        "                  --iterations <N>     compute kernel iterations per task (default 1000)",
+        "                  --block-ms <ms>      sleep per task after computing (default 0)",
+        "                  --pool <N>           ThreadPoolExecutor workers (default: processors)",
+        "                  --parallelism <N>    ForkJoinPool parallelism (default: processors)",
+        "                  --executors <list>   comma-separated pool,forkjoin,virtual (default all)",
+        "  locks         Hammer a shared counter table through each lock strategy; throughput and fairness",
+        "                  --threads <N>        platform threads (default 16)",
+        "                  --duration <sec>     measured seconds per strategy (default 3)",
+        "                  --read-pct <0-100>   share of read-only operations (default 80)",
+        "                  --keys <N>           counters in the shared table (default 64)",
+        "                  --locks <list>       comma-separated sync,reentrant,fair,stamped,adder,striped (default all)",
+        "  false-sharing Per-thread counters in adjacent vs 128-byte padded slots, 1..max threads",
+        "                  --max <N>            most threads, swept in powers of two (default: processors)",
+        "                  --phase-ms <ms>      measured time per layout and thread count (default 1000)",
+        "  memory        Estimate memory per thread",
+        "                  --samples <N>        sample threads (default 100)",
+        "                  --stack <KB>         stack size (default 512, 0 = JVM default)",
+        "                  --accounting heap|native  heap delta only (default), or also RSS (/proc) and",
+        "                                       committed stacks (needs -XX:NativeMemoryTracking=summary)",
+        "  sweep         Run max-threads and a native memory estimate per stack size, each in a fresh JVM",
+        "                  --min <KB>           smallest stack size (default 128)",
+        "                  --max <KB>           largest stack size (default 8192)",
+        "                  --steps <N>          sizes on a geometric scale from min to max (default 7)",
+        "                  --search linear|bisect  max-threads search (default bisect)",
+        "                  --samples <N>        memory estimate sample threads (default 200)",
+        "  trials        Repeat another command in a fresh JVM per trial and report mean/stddev/95% CI",
+        "                  --repeat <N>         number of trials (default 5)",
+        "                  --xss <size>         child -Xss, e.g. 512k (default JVM default)",
+        "                  --xmx <size>         child -Xmx, e.g. 1g (default JVM default)",
+        "                  --gc default|g1|parallel|serial|zgc  child garbage collector",
+        "                  --jvm-args \"<flags>\" extra child JVM flags",
+        "                  -- <command> [options]  the command to repeat (JSON output), e.g.",
+        "                                       trials --repeat 10 --xmx 1g -- max-threads --search bisect",
+        "  history       List stored runs and compare the newest with its baseline (text output)",
+        "                  --type <type>        only runs of this type, e.g. max-threads or stress",
+        "                  --limit <N>          runs listed, newest last (default 20)",
+        "                  --threshold <pct>    change that counts as a regression, e.g. 2.5 (default 5)",
+        "  serve         Stay up and run tests started over JMX (MBean " + ThreadGaugeControl.OBJECT_NAME + ")",
+        "                  until Ctrl+C; each result is printed and recorded like a normal run. Enable",
+        "                  remote access with -Dcom.sun.management.jmxremote.port=<port> in JAVA_OPTS",
+        "",
+        "Common options:",
+        "  --format json|text   result format on stdout (default json)",
+        "  --quiet              do not print progress to stderr",
+        "  --store <file>       run history file (default ~/.threadgauge/results.jsonl)",
+        "  --no-store           do not record this run in the history",
+        "  --telemetry <file>   stream every telemetry sample of the run (and stress per-worker figures)",
+        "                       to a .csv, .jsonl or .tgcol (columnar binary) file",
+        "  --sample-ms <ms>     telemetry sample period for --telemetry and --metrics (default 100, minimum 10)",
+        "  --metrics [host:]port  serve live OpenMetrics gauges at http://host:port/metrics while the run lasts",
+        "                       (a bare port listens on 127.0.0.1 only)"
+    );
+
+    /** Options of every test command, on top of its own ones in {@link #COMMAND_OPTIONS}. */
+    private static final Set<String> COMMON_OPTIONS =
+        Set.of("format", "quiet", "store", "no-store", "telemetry", "sample-ms", "metrics");
+    private static final Map<String, Set<String>> COMMAND_OPTIONS = Map.ofEntries(
+        Map.entry("max-threads", Set.of("stack", "virtual", "search")),
+        Map.entry("stress", Set.of("threads", "duration", "workload")),
+        Map.entry("scaling", Set.of("min", "max", "steps", "duration", "workload")),
+        Map.entry("pinning", Set.of("threads", "duration")),
+        Map.entry("executors", Set.of("tasks", "iterations", "block-ms", "pool", "parallelism", "executors")),
+        Map.entry("locks", Set.of("threads", "duration", "read-pct", "keys", "locks")),
+        Map.entry("false-sharing", Set.of("max", "phase-ms")),
+        Map.entry("memory", Set.of("samples", "stack", "accounting")),
+        Map.entry("sweep", Set.of("min", "max", "steps", "search", "samples")),
+        Map.entry("trials", Set.of("repeat", "xss", "xmx", "gc", "jvm-args")));
+    private static final Set<String> HISTORY_OPTIONS = Set.of("store", "type", "limit", "threshold");
+    private static final Set<String> SERVE_OPTIONS =
+        Set.of("format", "quiet", "store", "no-store", "sample-ms", "metrics");
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        if (args.length == 0 || "--help".equals(args[0]) || "-h".equals(args[0])) {
+            System.out.println(USAGE);
+            return args.length == 0 ? 2 : 0;
+        }
+
+        String command = args[0];
+        Map<String, String> options;
+        TestEngine<? extends RunResult> engine;
+        Path telemetryFile;
+        TelemetryExport.Format telemetryFormat = null;
+        InetSocketAddress metricsAddress;
+        try {
+            options = parseOptions(args);
+            checkOptions(command, options);
+            List<String> nested = nestedCommand(args);
+            if ("trials".equals(command) && !nested.isEmpty()) {
+                // Catch a typo in the repeated command before every child JVM fails on it
+                checkOptions(nested.get(0), parseOptions(nested.toArray(new String[0])));
+            }
+            if ("history".equals(command)) {
+                return history(options);
+            }
+            if ("serve".equals(command)) {
+                return serve(options);
+            }
+            engine = createEngine(command, options, nested);
+            telemetryFile = options.containsKey("telemetry") ? Paths.get(options.get("telemetry")) : null;
+            if (telemetryFile != null) {
+                telemetryFormat = TelemetryExport.Format.forFile(telemetryFile);
+                if (telemetryFormat == null) {
+                    throw new IllegalArgumentException("--telemetry file must end in .csv, .jsonl or .tgcol");
+                }
+            }
+            metricsAddress = options.containsKey("metrics") ? MetricsServer.parseAddress(options.get("metrics")) : null;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println();
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        boolean quiet = options.containsKey("quiet");
+        boolean text = "text".equalsIgnoreCase(options.getOrDefault("format", "json"));
+
+        // Ctrl+C cancels the engine and waits briefly so the partial result is still printed
+        CountDownLatch finished = new CountDownLatch(1);
+        Thread hook = new Thread(() -> {
+            engine.cancel();
+            try {
+                finished.await(15, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                // Exiting anyway
+            }
+        }, "HeadlessShutdownHook");
+        Runtime.getRuntime().addShutdownHook(hook);
+
+        ProgressListener progress = stderrProgress(quiet);
+        TelemetrySampler sampler = null;
+        TelemetryRecorder recorder = null;
+        MetricsServer metrics = null;
+        try {
+            if (telemetryFile != null || metricsAddress != null) {
+                sampler = new TelemetrySampler(TelemetrySampler.DEFAULT_CAPACITY,
+                    intOption(options, "sample-ms", (int) TelemetrySampler.DEFAULT_PERIOD_MILLIS,
+                        (int) TelemetrySampler.MIN_PERIOD_MILLIS));
+                sampler.start();
+            }
+            if (telemetryFile != null) {
+                recorder = TelemetryRecorder.openTemp(sampler);
+            }
+            if (metricsAddress != null) {
+                metrics = MetricsServer.start(metricsAddress, sampler);
+                progress.onMessage("Serving metrics at " + metrics.getUrl());
+            }
+            RunResult result = engine.run(progress);
+            System.out.println(text ? result.summary() : result.toJson());
+            System.out.flush();
+            if (recorder != null) {
+                try {
+                    TelemetryExport.export(recorder, result instanceof StressResult ? (StressResult) result : null,
+                        telemetryFile, telemetryFormat, progress);
+                } catch (IOException e) {
+                    System.err.println("Warning: could not write telemetry to " + telemetryFile + ": " + e.getMessage());
+                }
+            }
+            if (!options.containsKey("no-store")) {
+                record(result, options, quiet);
+            }
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Error: " + command + " failed: " + e.getMessage());
+            return 1;
+        } finally {
+            if (metrics != null) metrics.close();
+            if (recorder != null) recorder.close();
+            if (sampler != null) sampler.close();
+            finished.countDown();
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException ignored) {
+                // Already shutting down
+            }
+        }
+    }
+
+    private static ProgressListener stderrProgress(boolean quiet) {
+        return message -> {
+            if (!quiet) {
+                System.err.println("[" + LocalTime.now().format(TIME_FORMAT) + "] " + message);
+            }
+        };
+    }
+
+    /**
+     * Registers the JMX control and runs whatever it starts, one test at a time, on a single
+     * worker thread. Blocks until the JVM is stopped; Ctrl+C cancels the current run first.
+     */
+    private static int serve(Map<String, String> options) {
+        boolean quiet = options.containsKey("quiet");
+        boolean text = "text".equalsIgnoreCase(options.getOrDefault("format", "json"));
+        InetSocketAddress metricsAddress = options.containsKey("metrics")
+            ? MetricsServer.parseAddress(options.get("metrics")) : null;
+        int sampleMillis = intOption(options, "sample-ms", (int) TelemetrySampler.DEFAULT_PERIOD_MILLIS,
+            (int) TelemetrySampler.MIN_PERIOD_MILLIS);
+        ProgressListener progress = stderrProgress(quiet);
+
+        ExecutorService runner = Executors.newSingleThreadExecutor(r -> new Thread(r, "ThreadGaugeServe"));
+        ThreadGaugeControl control = new ThreadGaugeControl((c, engine, title) -> {
+            if (c.isRunning()) return false;
+            c.runStarted(engine, title);
+            runner.execute(() -> {
+                progress.onMessage("Started over JMX: " + title);
+                try {
+                    RunResult result = engine.run(new ProgressListener() {
+                        @Override
+                        public void onMessage(String message) {
+                            c.runMessage(message);
+                            progress.onMessage(message);
+                        }
+
+                        @Override
+                        public void onStatus(String status) {
+                            c.runStatus(status);
+                        }
+                    });
+                    System.out.println(text ? result.summary() : result.toJson());
+                    System.out.flush();
+                    if (!options.containsKey("no-store")) {
+                        record(result, options, quiet);
+                    }
+                    c.runFinished(result);
+                } catch (Throwable e) {
+                    // Any throwable, so the control is always released for the next start
+                    System.err.println("Error: " + title + " failed: " + e);
+                    c.runFailed(e);
+                }
+            });
+            return true;
+        });
+
+        TelemetrySampler sampler = null;
+        MetricsServer metrics = null;
+        try {
+            control.register();
+            if (metricsAddress != null) {
+                sampler = new TelemetrySampler(TelemetrySampler.DEFAULT_CAPACITY, sampleMillis);
+                sampler.start();
+                metrics = MetricsServer.start(metricsAddress, sampler);
+            }
+        } catch (Exception e) {
+            System.err.println("Error: serve failed: " + e.getMessage());
+            if (sampler != null) sampler.close();
+            runner.shutdown();
+            return 1;
+        }
+
+        TelemetrySampler startedSampler = sampler;
+        MetricsServer startedMetrics = metrics;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            control.cancel();
+            runner.shutdown();
+            try {
+                runner.awaitTermination(15, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                // Exiting anyway
+            }
+            if (startedMetrics != null) startedMetrics.close();
+            if (startedSampler != null) startedSampler.close();
+            control.unregister();
+        }, "HeadlessShutdownHook"));
+
+        System.err.println("Waiting for JMX requests on " + ThreadGaugeControl.OBJECT_NAME
+            + " (pid " + ProcessHandle.current().pid() + "), Ctrl+C to stop");
+        String jmxPort = System.getProperty("com.sun.management.jmxremote.port");
+        System.err.println(jmxPort != null
+            ? "Remote JMX on port " + jmxPort
+            : "Local JMX only; set -Dcom.sun.management.jmxremote.port=<port> for remote access");
+        if (metrics != null) {
+            System.err.println("Serving metrics at " + metrics.getUrl());
+        }
+        try {
+            new CountDownLatch(1).await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+
+    private static ResultStore storeOption(Map<String, String> options) {
+        String file = options.get("store");
+        return new ResultStore(file != null ? Paths.get(file) : ResultStore.defaultPath());
+    }
+
+    /** Appends the result to the run history; the comparison with its baseline goes to stderr. */
+    private static void record(RunResult result, Map<String, String> options, boolean quiet) {
+        ResultStore store = storeOption(options);
+        try {
+            RunRecord record = store.append(result);
+            RunRecord baseline = ResultStore.baselineFor(record, store.list());
+            if (quiet) return;
+            System.err.println("Recorded in " + store.getDataFile());
+            if (baseline != null) {
+                System.err.println(new RunComparison(baseline, record, RunComparison.DEFAULT_THRESHOLD_PCT).summary());
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: could not record the run in " + store.getDataFile() + ": " + e.getMessage());
+        }
+    }
+
+    private static int history(Map<String, String> options) {
+        ResultStore store = storeOption(options);
+        String type = options.get("type");
+        int limit = intOption(options, "limit", 20, 1);
+        double threshold = doubleOption(options, "threshold", RunComparison.DEFAULT_THRESHOLD_PCT, 0);
+        List<RunRecord> runs = new ArrayList<>();
+        List<RunRecord> all;
+        try {
+            all = store.list();
+        } catch (IOException e) {
+            System.err.println("Error: cannot read " + store.getDataFile() + ": " + e.getMessage());
+            return 1;
+        }
+        for (RunRecord run : all) {
+            if (type == null || type.equals(run.type)) {
+                runs.add(run);
+            }
+        }
+        if (runs.isEmpty()) {
+            System.out.println("No runs recorded in " + store.getDataFile());
+            return 0;
+        }
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        System.out.println(runs.size() + " run(s) in " + store.getDataFile());
+        for (RunRecord run : runs.subList(Math.max(0, runs.size() - limit), runs.size())) {
+            System.out.printf("  %s  %-18s %-44s %s  %s%s%n", format.format(new Date(run.timestampMillis)), run.type,
+                run.config, run.host, run.jvm, run.cancelled ? "  (cancelled)" : "");
+        }
+        RunRecord newest = runs.get(runs.size() - 1);
+        RunRecord baseline = ResultStore.baselineFor(newest, all);
+        System.out.println();
+        System.out.println(baseline != null
+            ? new RunComparison(baseline, newest, threshold).summary()
+            : "No earlier comparable run for the newest " + newest.type + " run (" + newest.config + ")");
+        return 0;
+    }
+
+    private static TestEngine<? extends RunResult> createEngine(String command, Map<String, String> options,
+                                                                List<String> nested) {
+        switch (command) {
+            case "max-threads":
+                return new ThreadTester(intOption(options, "stack", 512, 0), options.containsKey("virtual"),
+                        searchOption(options, "linear"));
+            case "stress":
+                return new StressTest(intOption(options, "threads", 100, 1), intOption(options, "duration", 10, 1),
+                        WorkloadMix.parse(options.getOrDefault("workload", WorkloadMix.DEFAULT_SPEC)));
+            case "scaling":
+                int minThreads = intOption(options, "min", 1, 1);
+                int maxThreads = intOption(options, "max", 256, 1);
+                if (maxThreads < minThreads) {
+                    throw new IllegalArgumentException("--max must be >= --min");
+                }
+                return new ScalingSweep(minThreads, maxThreads, intOption(options, "steps", 9, 2),
+                        intOption(options, "duration", 5, 1), options.getOrDefault("workload", WorkloadMix.DEFAULT_SPEC));
+            case "pinning":
+                return new PinningStressTest(intOption(options, "threads", 100, 1), intOption(options, "duration", 10, 1));
+            case "executors":
+                int processors = Runtime.getRuntime().availableProcessors();
+                return new ExecutorComparison(intOption(options, "tasks", 100_000, 1), intOption(options, "iterations", 1000, 0),
+                        intOption(options, "block-ms", 0, 0), intOption(options, "pool", processors, 1),
+                        intOption(options, "parallelism", processors, 1), executorsOption(options));
+            case "locks":
+                int readPercent = intOption(options, "read-pct", 80, 0);
+                if (readPercent > 100) {
+                    throw new IllegalArgumentException("--read-pct must be between 0 and 100");
+                }
+                return new LockContentionTest(intOption(options, "threads", 16, 1), intOption(options, "duration", 3, 1),
+                        readPercent, intOption(options, "keys", 64, 1), locksOption(options));
+            case "false-sharing":
+                return new FalseSharingTest(intOption(options, "max", Runtime.getRuntime().availableProcessors(), 1),
+                        intOption(options, "phase-ms", 1000, 1));
+            case "memory":
+                return new MemoryEstimator(intOption(options, "samples", 100, 1), intOption(options, "stack", 512, 0),
+                        accountingOption(options));
+            case "sweep":
+                int min = intOption(options, "min", 128, 1);
+                int max = intOption(options, "max", 8192, 1);
+                if (max < min) {
+                    throw new IllegalArgumentException("--max must be >= --min");
+                }
+                return new StackSizeSweep(min, max, intOption(options, "steps", 7, 1),
+                        searchOption(options, "bisect"), intOption(options, "samples", 200, 1));
+            case "trials":
+                if (nested.isEmpty()) {
+                    throw new IllegalArgumentException("trials needs a command after --");
+                }
+                if ("trials".equals(nested.get(0))) {
+                    throw new IllegalArgumentException("trials cannot repeat itself");
+                }
+                List<String> jvmArgs = TrialHarness.jvmArgs(options.get("xss"), options.get("xmx"),
+                        gcOption(options), options.get("jvm-args"));
+                return new TrialHarness(jvmArgs, nested, intOption(options, "repeat", 5, 1));
+            default:
+                throw new IllegalArgumentException("unknown command '" + command + "'");
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if ("--".equals(arg)) {
+                break; // the rest is a nested command, see nestedCommand
+            }
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("unexpected argument '" + arg + "'");
+            }
+            String name = arg.substring(2);
+            int eq = name.indexOf('=');
+            if (eq >= 0) {
+                options.put(name.substring(0, eq), name.substring(eq + 1));
+            } else if ("virtual".equals(name) || "quiet".equals(name) || "no-store".equals(name)) {
+                options.put(name, "true");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("missing value for --" + name);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Rejects options the command does not take, so a typo such as {@code --thread} fails instead
+     * of running (and recording) the defaults. Unknown commands are left to createEngine.
+     */
+    private static void checkOptions(String command, Map<String, String> options) {
+        Set<String> own = "history".equals(command) ? HISTORY_OPTIONS
+            : "serve".equals(command) ? SERVE_OPTIONS
+            : COMMAND_OPTIONS.get(command);
+        if (own == null) return;
+        boolean test = COMMAND_OPTIONS.containsKey(command);
+        for (String name : options.keySet()) {
+            if (!own.contains(name) && !(test && COMMON_OPTIONS.contains(name))) {
+                throw new IllegalArgumentException("unknown option --" + name + " for " + command);
+            }
+        }
+        String format = options.get("format");
+        if (format != null && !"json".equalsIgnoreCase(format) && !"text".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("--format expects json or text, got '" + format + "'");
+        }
+    }
+
+    /** Arguments after a bare "--", or an empty list. */
+    private static List<String> nestedCommand(String[] args) {
+        for (int i = 1; i < args.length; i++) {
+            if ("--".equals(args[i])) {
+                return Arrays.asList(args).subList(i + 1, args.length);
+            }
+        }
+        return List.of();
+    }
+
+    private static EnumSet<ExecutorKind> executorsOption(Map<String, String> options) {
+        String value = options.get("executors");
+        if (value == null) {
+            return EnumSet.allOf(ExecutorKind.class);
+        }
+        EnumSet<ExecutorKind> kinds = EnumSet.noneOf(ExecutorKind.class);
+        for (String name : value.split(",")) {
+            ExecutorKind match = null;
+            for (ExecutorKind kind : ExecutorKind.values()) {
+                if (kind.getCliName().equalsIgnoreCase(name.trim())) {
+                    match = kind;
+                }
+            }
+            if (match == null) {
+                throw new IllegalArgumentException("--executors expects pool, forkjoin or virtual, got '" + name + "'");
+            }
+            kinds.add(match);
+        }
+        return kinds;
+    }
+
+    private static EnumSet<LockStrategy> locksOption(Map<String, String> options) {
+        String value = options.get("locks");
+        if (value == null) {
+            return EnumSet.allOf(LockStrategy.class);
+        }
+        EnumSet<LockStrategy> strategies = EnumSet.noneOf(LockStrategy.class);
+        for (String name : value.split(",")) {
+            LockStrategy match = null;
+            for (LockStrategy strategy : LockStrategy.values()) {
+                if (strategy.getCliName().equalsIgnoreCase(name.trim())) {
+                    match = strategy;
+                }
+            }
+            if (match == null) {
+                throw new IllegalArgumentException(
+                        "--locks expects sync, reentrant, fair, stamped, adder or striped, got '" + name + "'");
+            }
+            strategies.add(match);
+        }
+        return strategies;
+    }
+
+    private static GarbageCollector gcOption(Map<String, String> options) {
+        String value = options.getOrDefault("gc", "default");
+        for (GarbageCollector gc : GarbageCollector.values()) {
+            if (gc.name().equalsIgnoreCase(value)) {
+                return gc;
+            }
+        }
+        throw new IllegalArgumentException("--gc expects default, g1, parallel, serial or zgc, got '" + value + "'");
+    }
+
+    private static SearchStrategy searchOption(Map<String, String> options, String defaultValue) {
+        String value = options.getOrDefault("search", defaultValue);
+        switch (value.toLowerCase()) {
+            case "linear":
+                return SearchStrategy.LINEAR;
+            case "bisect":
+                return SearchStrategy.EXPONENTIAL_BISECT;
+            default:
+                throw new IllegalArgumentException("--search expects linear or bisect, got '" + value + "'");
+        }
+    }
+
+    private static MemoryAccounting accountingOption(Map<String, String> options) {
+        String value = options.getOrDefault("accounting", "heap");
+        switch (value.toLowerCase()) {
+            case "heap":
+                return MemoryAccounting.HEAP;
+            case "native":
+                return MemoryAccounting.NATIVE;
+            default:
+                throw new IllegalArgumentException("--accounting expects heap or native, got '" + value + "'");
+        }
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue, int min) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < min) {
+                throw new IllegalArgumentException("--" + name + " must be >= " + min);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " expects a number, got '" + value + "'");
+        }
+    }
+
+    private static double doubleOption(Map<String, String> options, String name, double defaultValue, double min) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        double parsed;
+        try {
+            parsed = Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " expects a number, got '" + value + "'");
+        }
+        if (!Double.isFinite(parsed)) {
+            throw new IllegalArgumentException("--" + name + " expects a number, got '" + value + "'");
+        }
+        if (parsed < min) {
+            throw new IllegalArgumentException("--" + name + " must be >= " + min);
+        }
+        return parsed;
+    }
+}
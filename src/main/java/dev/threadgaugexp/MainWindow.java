@@ -1,6 +1,11 @@
 package dev.threadgaugexp;
 
+import dev.threadgaugexp.core.ResultStore;
+import dev.threadgaugexp.core.RunResult;
+import dev.threadgaugexp.core.TelemetryRecorder;
+import dev.threadgaugexp.core.ThreadGaugeControl;
 import dev.threadgaugexp.ui.*;
+import dev.threadgaugexp.util.MetricsServer;
 import dev.threadgaugexp.util.XPStyleManager;
 
 import javax.swing.*;
@@ -10,6 +15,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 
@@ -18,7 +24,24 @@ public class MainWindow extends JFrame {
     private ControlsPanel controlsPanel;
     private TelemetryPanel telemetryPanel;
     private OutputPanel outputPanel;
+    private TelemetryChartsPanel chartsPanel;
+    private TelemetryRecorder telemetryRecorder;
+    private MetricsServer metricsServer;
+    /** JMX control; remote starts run through the controls panel like button clicks. */
+    private final ThreadGaugeControl control = new ThreadGaugeControl((control, engine, title) -> {
+        boolean[] started = new boolean[1];
+        try {
+            SwingUtilities.invokeAndWait(() -> started[0] = controlsPanel.startRemoteEngine(engine, title));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (java.lang.reflect.InvocationTargetException e) {
+            throw new IllegalStateException("could not start " + title + ": " + e.getCause(), e.getCause());
+        }
+        return started[0];
+    });
     private JLabel statusLabel;
+    private final List<RunResult> sessionResults = new CopyOnWriteArrayList<>();
+    private final ResultStore resultStore = new ResultStore(ResultStore.defaultPath());
 
     public MainWindow() {
         super("ThreadGauge XP - Thread Behavior Explorer");
@@ -66,9 +89,31 @@ public class MainWindow extends JFrame {
         
         centerPanel.add(topCenterPanel, BorderLayout.NORTH);
 
-        // Bottom of center - Output log
+        // Bottom of center - Output log, with the telemetry charts in a second tab
         outputPanel = new OutputPanel();
-        centerPanel.add(outputPanel, BorderLayout.CENTER);
+        chartsPanel = new TelemetryChartsPanel(telemetryPanel.getSampler());
+        JTabbedPane bottomTabs = new JTabbedPane();
+        bottomTabs.setFont(new Font("Tahoma", Font.PLAIN, 11));
+        bottomTabs.addTab("Output", outputPanel);
+        bottomTabs.addTab("Charts", chartsPanel);
+        bottomTabs.setToolTipTextAt(1, "Andamento nel tempo di thread, heap, CPU, pause GC e creazione thread.");
+        centerPanel.add(bottomTabs, BorderLayout.CENTER);
+
+        // Every telemetry sample of the session goes to a temp file for Export Telemetry
+        try {
+            telemetryRecorder = TelemetryRecorder.openTemp(telemetryPanel.getSampler());
+        } catch (IOException e) {
+            outputPanel.logWarning("Telemetry recording unavailable, export disabled: " + e.getMessage());
+        }
+        try {
+            control.register();
+        } catch (javax.management.JMException e) {
+            outputPanel.logWarning("JMX control unavailable: " + e.getMessage());
+        }
+        // -Dtgxp.metrics=[host:]port serves /metrics from startup
+        if (System.getProperty("tgxp.metrics") != null) {
+            startMetrics();
+        }
 
         add(centerPanel, BorderLayout.CENTER);
 
@@ -91,7 +136,12 @@ public class MainWindow extends JFrame {
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
+                if (chartsPanel != null) chartsPanel.stop();
+                stopMetrics();
+                control.unregister();
+                if (telemetryRecorder != null) telemetryRecorder.close();
                 if (telemetryPanel != null) telemetryPanel.stopTelemetry();
+                if (outputPanel != null) outputPanel.stop();
             }
         });
     }
@@ -125,6 +175,60 @@ public class MainWindow extends JFrame {
         return controlsPanel;
     }
 
+    /** Results of the tests run in this session, oldest first. */
+    public List<RunResult> getSessionResults() {
+        return sessionResults;
+    }
+
+    public void addResult(RunResult result) {
+        sessionResults.add(result);
+    }
+
+    /** Every telemetry sample of this session, or null if the temp file could not be created. */
+    public TelemetryRecorder getTelemetryRecorder() {
+        return telemetryRecorder;
+    }
+
+    /** The JMX control, which also tracks runs started from the window. */
+    public ThreadGaugeControl getControl() {
+        return control;
+    }
+
+    /**
+     * Serves OpenMetrics at the address of {@code -Dtgxp.metrics} (default 127.0.0.1:9404).
+     * Returns false and logs the reason when the port cannot be bound.
+     */
+    public boolean startMetrics() {
+        if (metricsServer != null) return true;
+        String spec = System.getProperty("tgxp.metrics", String.valueOf(MetricsServer.DEFAULT_PORT));
+        try {
+            metricsServer = MetricsServer.start(MetricsServer.parseAddress(spec), telemetryPanel.getSampler());
+            outputPanel.logSuccess("Serving metrics at " + metricsServer.getUrl());
+            controlsPanel.updateMetricsButton();
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            outputPanel.logError("Cannot serve metrics on " + spec + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    public void stopMetrics() {
+        if (metricsServer == null) return;
+        metricsServer.close();
+        metricsServer = null;
+        outputPanel.log("Metrics endpoint stopped");
+        controlsPanel.updateMetricsButton();
+    }
+
+    public boolean isMetricsRunning() {
+        return metricsServer != null;
+    }
+
+    /** Run history on disk, shared with the CLI. */
+    public ResultStore getResultStore() {
+        return resultStore;
+    }
+
     public void setStatus(String status) {
         SwingUtilities.invokeLater(() -> statusLabel.setText(" " + status));
     }
@@ -0,0 +1,45 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Allocation churn to load the garbage collector: every iteration allocates short-lived arrays,
+ * and a small fraction survives for a while in a per-worker ring so some objects get promoted.
+ */
+public class AllocationWorkload implements Workload {
+    private static final int ALLOCATIONS = 256;
+    private static final int ARRAY_BYTES = 1024;
+    private static final int SURVIVOR_RING = 1024;
+    private static final int SURVIVOR_EVERY = 16;
+
+    @Override
+    public String name() {
+        return "alloc";
+    }
+
+    @Override
+    public String description() {
+        return ALLOCATIONS + " x " + ARRAY_BYTES + " B arrays per iteration, 1 in " + SURVIVOR_EVERY + " kept in a ring";
+    }
+
+    @Override
+    public Worker newWorker(int workerIndex) {
+        return new Worker() {
+            private final byte[][] survivors = new byte[SURVIVOR_RING][];
+            private int next;
+
+            @Override
+            public double iterate() {
+                long sum = 0;
+                for (int i = 0; i < ALLOCATIONS; i++) {
+                    byte[] array = new byte[ARRAY_BYTES];
+                    array[i % ARRAY_BYTES] = (byte) i;
+                    sum += array.length + array[0];
+                    if (i % SURVIVOR_EVERY == 0) {
+                        survivors[next] = array;
+                        next = (next + 1) % SURVIVOR_RING;
+                    }
+                }
+                return sum;
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package dev.threadgaugexp.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Blocking file I/O against a temporary file: every iteration reads a 64 KB block at a
+ * pseudo-random offset, then writes 4 KB into the worker's own region and forces it to disk.
+ * On tmpfs the force is nearly free and the read is a page-cache copy; on a real disk the
+ * thread blocks in the kernel.
+ */
+public class BlockingIoWorkload implements Workload {
+    private static final int FILE_BYTES = 16 * 1024 * 1024;
+    private static final int READ_BYTES = 64 * 1024;
+    private static final int WRITE_BYTES = 4 * 1024;
+    private static final int WRITE_SLOTS = FILE_BYTES / WRITE_BYTES;
+
+    private Path file;
+    private FileChannel channel;
+
+    @Override
+    public String name() {
+        return "io";
+    }
+
+    @Override
+    public String description() {
+        return "64 KB random read + 4 KB write with force() on a 16 MB temp file";
+    }
+
+    @Override
+    public void setUp() throws IOException {
+        file = Files.createTempFile("threadgauge-io", ".dat");
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        ByteBuffer block = ByteBuffer.allocate(READ_BYTES);
+        for (long position = 0; position < FILE_BYTES; position += READ_BYTES) {
+            block.clear();
+            channel.write(block, position);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public Worker newWorker(int workerIndex) {
+        FileChannel shared = channel;
+        return new Worker() {
+            private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BYTES);
+            private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BYTES);
+            private long seed = 0x9E3779B97F4A7C15L * (workerIndex + 1);
+
+            @Override
+            public double iterate() throws IOException {
+                seed ^= seed << 13;
+                seed ^= seed >>> 7;
+                seed ^= seed << 17;
+                long readAt = Math.floorMod(seed, (long) (FILE_BYTES / READ_BYTES)) * READ_BYTES;
+                readBuffer.clear();
+                int read = shared.read(readBuffer, readAt);
+
+                writeBuffer.clear();
+                writeBuffer.putLong(0, seed);
+                shared.write(writeBuffer, (long) (workerIndex % WRITE_SLOTS) * WRITE_BYTES);
+                shared.force(false);
+                return read + readBuffer.get(0);
+            }
+        };
+    }
+
+    @Override
+    public void tearDown() {
+        try {
+            if (channel != null) channel.close();
+            if (file != null) Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Temp file is removed on exit at the latest
+        }
+    }
+}
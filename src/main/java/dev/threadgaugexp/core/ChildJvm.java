@@ -0,0 +1,118 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs a headless command in a fresh JVM so that each measurement starts from a clean process
+ * (no leftover thread stacks, heap growth or JIT state from earlier runs). The child is launched
+ * with the same java binary and class path as this process; its stderr is forwarded as progress
+ * and the last JSON line on its stdout is the result.
+ */
+public class ChildJvm {
+    private static final String HEADLESS_MAIN = "dev.threadgaugexp.HeadlessMain";
+    private static final long POLL_MILLIS = 200;
+    private static final long GRACEFUL_STOP_SECONDS = 10;
+
+    private final List<String> jvmArgs = new ArrayList<>();
+    private final List<String> commandArgs = new ArrayList<>();
+
+    public ChildJvm(List<String> jvmArgs, List<String> commandArgs) {
+        this.jvmArgs.addAll(jvmArgs);
+        this.commandArgs.addAll(commandArgs);
+    }
+
+    /** Path of the java launcher of the running JVM. */
+    public static String javaExecutable() {
+        String sep = System.getProperty("file.separator");
+        String os = System.getProperty("os.name", "").toLowerCase();
+        return System.getProperty("java.home") + sep + "bin" + sep + (os.contains("win") ? "java.exe" : "java");
+    }
+
+    public static String classPath() {
+        return System.getProperty("java.class.path", ".");
+    }
+
+    public List<String> command() {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(javaExecutable());
+        cmd.add("-Djava.awt.headless=true");
+        cmd.addAll(jvmArgs);
+        cmd.add("-cp");
+        cmd.add(classPath());
+        cmd.add(HEADLESS_MAIN);
+        cmd.addAll(commandArgs);
+        // The parent records the aggregate; single measurements would clutter the run history
+        cmd.add("--no-store");
+        return cmd;
+    }
+
+    /**
+     * Starts the child and waits for its result. When {@code cancelled} turns true the child gets
+     * SIGTERM, which makes HeadlessMain cancel its engine and still print the partial result.
+     *
+     * @throws IOException if the child cannot be started or exits without a JSON result
+     */
+    public Map<String, Object> run(ProgressListener listener, BooleanSupplier cancelled)
+            throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command()).start();
+        process.getOutputStream().close();
+
+        String[] lastJson = new String[1];
+        Thread stdout = pump(process, true, line -> {
+            if (line.startsWith("{")) {
+                lastJson[0] = line;
+            }
+        });
+        Thread stderr = pump(process, false, listener::onMessage);
+
+        boolean stopRequested = false;
+        while (!process.waitFor(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (!stopRequested && cancelled.getAsBoolean()) {
+                stopRequested = true;
+                process.destroy();
+                if (!process.waitFor(GRACEFUL_STOP_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+        stdout.join();
+        stderr.join();
+
+        if (lastJson[0] == null) {
+            throw new IOException("child JVM exited with code " + process.exitValue() + " without a result");
+        }
+        try {
+            return Json.parseObject(lastJson[0]);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("child JVM printed an unreadable result: " + e.getMessage());
+        }
+    }
+
+    private static Thread pump(Process process, boolean stdout, Consumer<String> sink) {
+        Thread thread = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    stdout ? process.getInputStream() : process.getErrorStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    sink.accept(line);
+                }
+            } catch (IOException ignored) {
+                // Child went away; whatever was read is kept
+            }
+        }, stdout ? "ChildJvm-stdout" : "ChildJvm-stderr");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
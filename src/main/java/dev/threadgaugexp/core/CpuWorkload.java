@@ -0,0 +1,23 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Pure CPU: the stress kernel back to back, with no sleep. Saturates every core it gets.
+ */
+public class CpuWorkload implements Workload {
+    private static final int ITERATIONS = 20_000;
+
+    @Override
+    public String name() {
+        return "cpu";
+    }
+
+    @Override
+    public String description() {
+        return ITERATIONS + " sqrt*sin iterations, no sleep";
+    }
+
+    @Override
+    public Worker newWorker(int workerIndex) {
+        return () -> StressTest.computeKernel(ITERATIONS);
+    }
+}
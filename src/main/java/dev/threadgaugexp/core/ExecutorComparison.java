@@ -0,0 +1,222 @@
+package dev.threadgaugexp.core;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes the same fixed batch of tasks through each selected execution model and measures
+ * throughput, queueing delay (submit to start) and completion latency (submit to end).
+ * Timestamps go into arrays allocated before the batch starts, so recording adds no allocation
+ * or contention; percentiles are computed once the batch is done.
+ */
+public class ExecutorComparison extends TestEngine<ExecutorComparisonResult> {
+    public static final int MAX_TASKS = 5_000_000;
+    private static final long POLL_MILLIS = 200;
+
+    private final int taskCount;
+    private final int kernelIterations;
+    private final int blockMillis;
+    private final int poolSize;
+    private final int parallelism;
+    private final Set<ExecutorKind> kinds;
+
+    // Per-task timestamps (System.nanoTime) of the batch being measured
+    private long[] submitted;
+    private long[] started;
+    private long[] finished;
+    private double[] sink;
+    private CountDownLatch remaining;
+
+    /**
+     * @param kernelIterations compute kernel iterations per task (the StressTest kernel)
+     * @param blockMillis      sleep per task after the compute part, 0 for pure CPU tasks
+     * @param poolSize         ThreadPoolExecutor workers
+     * @param parallelism      ForkJoinPool parallelism
+     */
+    public ExecutorComparison(int taskCount, int kernelIterations, int blockMillis, int poolSize, int parallelism,
+                              Set<ExecutorKind> kinds) {
+        if (taskCount < 1 || taskCount > MAX_TASKS) {
+            throw new IllegalArgumentException("task count must be between 1 and " + MAX_TASKS);
+        }
+        if (kinds.isEmpty()) {
+            throw new IllegalArgumentException("no executor selected");
+        }
+        this.taskCount = taskCount;
+        this.kernelIterations = kernelIterations;
+        this.blockMillis = blockMillis;
+        this.poolSize = poolSize;
+        this.parallelism = parallelism;
+        this.kinds = EnumSet.copyOf(kinds);
+    }
+
+    @Override
+    protected ExecutorComparisonResult execute() throws Exception {
+        publish(String.format("Executor comparison: %d tasks, %d kernel iterations%s per task, pool %d, parallelism %d",
+                taskCount, kernelIterations, blockMillis > 0 ? " + " + blockMillis + " ms sleep" : "", poolSize, parallelism));
+
+        ExecutorComparisonResult result = new ExecutorComparisonResult();
+        result.taskCount = taskCount;
+        result.kernelIterations = kernelIterations;
+        result.blockMillis = blockMillis;
+
+        submitted = new long[taskCount];
+        started = new long[taskCount];
+        finished = new long[taskCount];
+        sink = new double[taskCount];
+        int warmupTasks = Math.max(1, Math.min(taskCount / 10, 10_000));
+
+        for (ExecutorKind kind : kinds) {
+            if (isCancelled()) break;
+            setStatus("Executor comparison: " + kind);
+            publish(kind + ": warming up with " + warmupTasks + " tasks...");
+            runBatch(kind, warmupTasks);
+            if (isCancelled()) break;
+
+            publish(kind + ": running " + taskCount + " tasks...");
+            int completed = runBatch(kind, taskCount);
+            ExecutorComparisonResult.ExecutorStats stats = summarize(kind, completed);
+            result.executors.add(stats);
+            publish(String.format("%s: %.0f tasks/sec, queue p99 %.1f us, completion p99 %.1f us",
+                    kind, stats.tasksPerSecond, stats.queueP99Nanos / 1000.0, stats.completionP99Nanos / 1000.0));
+        }
+
+        result.cancelled = isCancelled();
+        submitted = started = finished = null;
+        sink = null;
+        return result;
+    }
+
+    /** Runs tasks [0, count) on a fresh executor and returns how many completed. */
+    private int runBatch(ExecutorKind kind, int count) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            finished[i] = 0;
+        }
+        remaining = new CountDownLatch(count);
+        ExecutorService executor = newExecutor(kind);
+        try {
+            if (kind == ExecutorKind.FORK_JOIN) {
+                // Each Splitter stamps the task it will run when it is forked; the root runs task 0
+                submitted[0] = System.nanoTime();
+                ((ForkJoinPool) executor).execute(new Splitter(0, count));
+            } else {
+                for (int i = 0; i < count && !isCancelled(); i++) {
+                    final int task = i;
+                    submitted[task] = System.nanoTime();
+                    executor.execute(() -> runTask(task));
+                }
+            }
+            while (!remaining.await(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (isCancelled()) break;
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        return (int) (count - remaining.getCount());
+    }
+
+    private ExecutorService newExecutor(ExecutorKind kind) {
+        switch (kind) {
+            case FORK_JOIN:
+                return new ForkJoinPool(parallelism);
+            case VIRTUAL_PER_TASK:
+                return Executors.newVirtualThreadPerTaskExecutor();
+            default:
+                return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        }
+    }
+
+    private void runTask(int task) {
+        started[task] = System.nanoTime();
+        sink[task] = StressTest.computeKernel(kernelIterations);
+        if (blockMillis > 0) {
+            try {
+                Thread.sleep(blockMillis);
+            } catch (InterruptedException e) {
+                // Cancelled: leave finished at 0 so the task is not counted
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        finished[task] = System.nanoTime();
+        remaining.countDown();
+    }
+
+    /**
+     * Forks the right half of its range until a single task is left, which runs inline; idle
+     * workers steal the forked halves and split them further. A task counts as submitted when
+     * the half it heads is forked, so its queueing delay covers the wait for a worker to take
+     * that half and split it down, not the time before the split reached it.
+     */
+    private final class Splitter extends RecursiveAction {
+        private final int from;
+        private int to;
+
+        Splitter(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            List<Splitter> forked = null;
+            while (to - from > 1 && !isCancelled()) {
+                int mid = (from + to) >>> 1;
+                Splitter right = new Splitter(mid, to);
+                submitted[mid] = System.nanoTime();
+                right.fork();
+                if (forked == null) forked = new ArrayList<>();
+                forked.add(right);
+                to = mid;
+            }
+            if (!isCancelled()) {
+                runTask(from);
+            }
+            if (forked != null) {
+                for (int i = forked.size() - 1; i >= 0; i--) {
+                    forked.get(i).join();
+                }
+            }
+        }
+    }
+
+    private ExecutorComparisonResult.ExecutorStats summarize(ExecutorKind kind, int completed) {
+        LatencyHistogram queue = new LatencyHistogram();
+        LatencyHistogram completion = new LatencyHistogram();
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (int i = 0; i < taskCount; i++) {
+            if (finished[i] == 0) continue;
+            queue.record(started[i] - submitted[i]);
+            completion.record(finished[i] - submitted[i]);
+            first = Math.min(first, submitted[i]);
+            last = Math.max(last, finished[i]);
+        }
+
+        ExecutorComparisonResult.ExecutorStats stats = new ExecutorComparisonResult.ExecutorStats();
+        stats.kind = kind;
+        stats.workers = kind == ExecutorKind.THREAD_POOL ? poolSize : kind == ExecutorKind.FORK_JOIN ? parallelism : 0;
+        stats.completed = completed;
+        stats.elapsedNanos = completed > 0 ? last - first : 0;
+        stats.tasksPerSecond = stats.elapsedNanos > 0 ? completed * 1e9 / stats.elapsedNanos : 0;
+        stats.queueP50Nanos = queue.valueAtPercentile(50);
+        stats.queueP90Nanos = queue.valueAtPercentile(90);
+        stats.queueP99Nanos = queue.valueAtPercentile(99);
+        stats.queueMaxNanos = queue.getMax();
+        stats.completionP50Nanos = completion.valueAtPercentile(50);
+        stats.completionP90Nanos = completion.valueAtPercentile(90);
+        stats.completionP99Nanos = completion.valueAtPercentile(99);
+        stats.completionMaxNanos = completion.getMax();
+        return stats;
+    }
+}
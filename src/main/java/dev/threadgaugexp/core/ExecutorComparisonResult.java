@@ -0,0 +1,99 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result data for the ExecutorComparison engine: one row per execution model.
+ */
+public class ExecutorComparisonResult implements RunResult {
+    public int taskCount;
+    public int kernelIterations;
+    public int blockMillis;
+    public List<ExecutorStats> executors = new ArrayList<>();
+    public boolean cancelled;
+
+    public static class ExecutorStats {
+        public ExecutorKind kind;
+        /** Pool size or parallelism; 0 for virtual-per-task. */
+        public int workers;
+        public int completed;
+        /** First submit to last completion. */
+        public long elapsedNanos;
+        public double tasksPerSecond;
+        public long queueP50Nanos;
+        public long queueP90Nanos;
+        public long queueP99Nanos;
+        public long queueMaxNanos;
+        public long completionP50Nanos;
+        public long completionP90Nanos;
+        public long completionP99Nanos;
+        public long completionMaxNanos;
+
+        public String toJson() {
+            return Json.object()
+                .put("executor", kind.getCliName())
+                .put("workers", workers)
+                .put("completed", completed)
+                .put("elapsedNanos", elapsedNanos)
+                .put("tasksPerSecond", tasksPerSecond)
+                .put("queueP50Nanos", queueP50Nanos)
+                .put("queueP90Nanos", queueP90Nanos)
+                .put("queueP99Nanos", queueP99Nanos)
+                .put("queueMaxNanos", queueMaxNanos)
+                .put("completionP50Nanos", completionP50Nanos)
+                .put("completionP90Nanos", completionP90Nanos)
+                .put("completionP99Nanos", completionP99Nanos)
+                .put("completionMaxNanos", completionMaxNanos)
+                .toString();
+        }
+    }
+
+    @Override
+    public String type() {
+        return "executor-comparison";
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String summary() {
+        StringBuilder sb = new StringBuilder(String.format(
+            "Executor comparison %s: %d tasks of %d kernel iterations%s",
+            cancelled ? "cancelled" : "completed", taskCount, kernelIterations,
+            blockMillis > 0 ? " + " + blockMillis + " ms sleep" : ""));
+        sb.append(String.format("%n  %-20s %7s %12s   %-26s   %-26s",
+            "Executor", "Workers", "Tasks/sec", "Queue p50/p99/max (us)", "Completion p50/p99/max (us)"));
+        for (ExecutorStats stats : executors) {
+            sb.append(String.format("%n  %-20s %7s %12.0f   %8.1f/%8.1f/%9.1f   %8.1f/%8.1f/%9.1f",
+                stats.kind, stats.workers > 0 ? Integer.toString(stats.workers) : "-", stats.tasksPerSecond,
+                stats.queueP50Nanos / 1000.0, stats.queueP99Nanos / 1000.0, stats.queueMaxNanos / 1000.0,
+                stats.completionP50Nanos / 1000.0, stats.completionP99Nanos / 1000.0, stats.completionMaxNanos / 1000.0));
+            if (stats.completed < taskCount) {
+                sb.append("  (").append(stats.completed).append(" completed)");
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toJson() {
+        List<String> rows = new ArrayList<>();
+        for (ExecutorStats stats : executors) {
+            rows.add(stats.toJson());
+        }
+        return Json.object()
+            .put("type", type())
+            .put("taskCount", taskCount)
+            .put("kernelIterations", kernelIterations)
+            .put("blockMillis", blockMillis)
+            .putRaw("executors", Json.array(rows))
+            .put("cancelled", cancelled)
+            .toString();
+    }
+}
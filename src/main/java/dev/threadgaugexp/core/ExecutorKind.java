@@ -0,0 +1,35 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Execution models compared by the ExecutorComparison engine.
+ */
+public enum ExecutorKind {
+    /** ThreadPoolExecutor with a fixed number of platform workers and an unbounded FIFO queue. */
+    THREAD_POOL("ThreadPoolExecutor", "pool"),
+    /** ForkJoinPool; the batch is split recursively so idle workers steal from busy ones. */
+    FORK_JOIN("ForkJoinPool", "forkjoin"),
+    /** Executors.newVirtualThreadPerTaskExecutor(): one new virtual thread per task. */
+    VIRTUAL_PER_TASK("Virtual per task", "virtual");
+
+    private final String label;
+    private final String cliName;
+
+    ExecutorKind(String label, String cliName) {
+        this.label = label;
+        this.cliName = cliName;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /** Name used on the command line, e.g. {@code --executors pool,virtual}. */
+    public String getCliName() {
+        return cliName;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,73 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result data for the FalseSharingTest engine: adjacent vs padded counter throughput per thread count.
+ */
+public class FalseSharingResult implements RunResult {
+    public int processors;
+    public int millisPerPhase;
+    public List<Point> points = new ArrayList<>();
+    public boolean cancelled;
+
+    public static class Point {
+        public int threads;
+        /** Counter stores per second with every worker's slot next to its neighbours'. */
+        public double unpaddedOpsPerSecond;
+        /** Counter stores per second with slots 128 bytes apart. */
+        public double paddedOpsPerSecond;
+        /** padded / unpadded; above 1 means false sharing cost throughput. */
+        public double ratio;
+
+        public String toJson() {
+            return Json.object()
+                .put("threads", threads)
+                .put("unpaddedOpsPerSecond", unpaddedOpsPerSecond)
+                .put("paddedOpsPerSecond", paddedOpsPerSecond)
+                .put("ratio", ratio)
+                .toString();
+        }
+    }
+
+    @Override
+    public String type() {
+        return "false-sharing";
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String summary() {
+        StringBuilder sb = new StringBuilder(String.format(
+            "False sharing sweep %s (%d processors, %d ms per layout):",
+            cancelled ? "cancelled" : "completed", processors, millisPerPhase));
+        sb.append(String.format("%n  %8s %16s %16s %14s", "Threads", "Adjacent ops/s", "Padded ops/s", "Padded/adjacent"));
+        for (Point point : points) {
+            sb.append(String.format("%n  %8d %16.0f %16.0f %13.2fx",
+                point.threads, point.unpaddedOpsPerSecond, point.paddedOpsPerSecond, point.ratio));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toJson() {
+        List<String> pointJson = new ArrayList<>();
+        for (Point point : points) {
+            pointJson.add(point.toJson());
+        }
+        return Json.object()
+            .put("type", type())
+            .put("processors", processors)
+            .put("millisPerPhase", millisPerPhase)
+            .putRaw("points", Json.array(pointJson))
+            .put("cancelled", cancelled)
+            .toString();
+    }
+}
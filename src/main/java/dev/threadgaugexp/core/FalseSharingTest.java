@@ -0,0 +1,147 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Series;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Shows the cache-line effect: at each thread count, every worker publishes its own counter
+ * into a shared array, first with the slots adjacent (eight longs per 64-byte line, so
+ * neighbouring workers invalidate each other's line on every store), then with the slots
+ * padded 128 bytes apart. The ratio of the two throughputs is the cost of false sharing.
+ *
+ * Padding is done by index spacing rather than {@code @Contended}, which only works for JDK
+ * classes unless the JVM runs with -XX:-RestrictContended.
+ */
+public class FalseSharingTest extends TestEngine<FalseSharingResult> {
+    /** Longs between padded slots: 128 bytes, so adjacent-line prefetch cannot couple them either. */
+    public static final int PADDED_STRIDE = 16;
+    /** Stores between two checks of the stop flag. */
+    private static final int BATCH = 1024;
+    private static final long WARMUP_MILLIS = 200;
+
+    private final int maxThreads;
+    private final int millisPerPhase;
+
+    public FalseSharingTest(int maxThreads, int millisPerPhase) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("max threads must be >= 1");
+        }
+        if (millisPerPhase < 1) {
+            throw new IllegalArgumentException("phase duration must be >= 1 ms");
+        }
+        this.maxThreads = maxThreads;
+        this.millisPerPhase = millisPerPhase;
+    }
+
+    @Override
+    protected FalseSharingResult execute() throws Exception {
+        List<Integer> counts = Series.powersOfTwo(maxThreads);
+        publish("False sharing sweep over " + counts + " threads, " + millisPerPhase + " ms per layout ("
+                + Runtime.getRuntime().availableProcessors() + " processors)");
+
+        FalseSharingResult result = new FalseSharingResult();
+        result.processors = Runtime.getRuntime().availableProcessors();
+        result.millisPerPhase = millisPerPhase;
+
+        for (int i = 0; i < counts.size() && !isCancelled(); i++) {
+            int threads = counts.get(i);
+            setStatus("False sharing " + (i + 1) + "/" + counts.size() + ": " + threads + " threads");
+            runPhase(threads, 1, WARMUP_MILLIS);
+            FalseSharingResult.Point point = new FalseSharingResult.Point();
+            point.threads = threads;
+            point.unpaddedOpsPerSecond = runPhase(threads, 1, millisPerPhase);
+            if (isCancelled()) break;
+            runPhase(threads, PADDED_STRIDE, WARMUP_MILLIS);
+            point.paddedOpsPerSecond = runPhase(threads, PADDED_STRIDE, millisPerPhase);
+            if (isCancelled()) break;
+            point.ratio = point.unpaddedOpsPerSecond > 0 ? point.paddedOpsPerSecond / point.unpaddedOpsPerSecond : Double.NaN;
+            result.points.add(point);
+            publish(String.format("%d threads: adjacent %.0f ops/sec, padded %.0f ops/sec, padded/adjacent %.2fx",
+                    threads, point.unpaddedOpsPerSecond, point.paddedOpsPerSecond, point.ratio));
+        }
+
+        result.cancelled = isCancelled();
+        return result;
+    }
+
+    /** Runs {@code threads} writers with slots {@code stride} longs apart; returns total stores per second. */
+    private double runPhase(int threads, int stride, long millis) throws InterruptedException {
+        AtomicLongArray slots = new AtomicLongArray(threads * stride + PADDED_STRIDE);
+        long[] done = new long[threads];
+        StopFlag stop = new StopFlag();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        long start;
+        try {
+            for (int i = 0; i < threads; i++) {
+                final int worker = i;
+                // Skip the first line so slot 0 does not share a line with the array header
+                final int slot = PADDED_STRIDE / 2 + worker * stride;
+                workers[i] = new Thread(() -> {
+                    long count = 0;
+                    ready.countDown();
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    while (!stop.stopped) {
+                        for (int k = 0; k < BATCH; k++) {
+                            // Ordered store: it must reach the cache, like a published per-thread counter
+                            slots.lazySet(slot, ++count);
+                        }
+                    }
+                    done[worker] = count;
+                }, "FalseSharing-" + i);
+                workers[i].start();
+            }
+
+            ready.await();
+            start = System.nanoTime();
+            go.countDown();
+            long deadline = start + millis * 1_000_000L;
+            while (System.nanoTime() < deadline && !isCancelled()) {
+                Thread.sleep(Math.max(1, Math.min(100, (deadline - System.nanoTime()) / 1_000_000L)));
+            }
+        } finally {
+            // Also when a start fails or the wait is interrupted, so no worker stays parked on go
+            stopWorkers(workers, go, stop);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long total = 0;
+        for (long count : done) {
+            total += count;
+        }
+        return elapsed > 0 ? total * 1e9 / elapsed : 0;
+    }
+
+    /** Releases the workers started so far, tells them to stop and joins them. */
+    private static void stopWorkers(Thread[] workers, CountDownLatch go, StopFlag stop) {
+        stop.stopped = true;
+        go.countDown();
+        boolean interrupted = false;
+        for (Thread worker : workers) {
+            while (worker != null) {
+                try {
+                    worker.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class StopFlag {
+        volatile boolean stopped;
+    }
+}
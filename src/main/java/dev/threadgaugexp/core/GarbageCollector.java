@@ -0,0 +1,35 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Garbage collector selection for child JVMs started by the TrialHarness.
+ */
+public enum GarbageCollector {
+    /** No flag: whatever the JVM picks for the machine (G1 on server-class hosts). */
+    DEFAULT("JVM Default", null),
+    G1("G1", "-XX:+UseG1GC"),
+    PARALLEL("Parallel", "-XX:+UseParallelGC"),
+    SERIAL("Serial", "-XX:+UseSerialGC"),
+    ZGC("ZGC", "-XX:+UseZGC");
+
+    private final String label;
+    private final String flag;
+
+    GarbageCollector(String label, String flag) {
+        this.label = label;
+        this.flag = flag;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /** JVM flag selecting this collector, or null for the JVM default. */
+    public String getFlag() {
+        return flag;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,57 @@
+package dev.threadgaugexp.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-writer latency recorder whose interval histogram can be taken by another thread while
+ * the writer keeps recording, in the style of HdrHistogram's Recorder (writer-reader phaser).
+ * The writer never blocks and only touches counters the reader reads once per interval, so
+ * there is no contention between workers.
+ */
+public class IntervalRecorder {
+    private volatile LatencyHistogram active = new LatencyHistogram();
+    private LatencyHistogram inactive = new LatencyHistogram();
+
+    // Writer-reader phaser: writers bump the start epoch before recording and the matching end
+    // epoch after; the sign of the start epoch tells which end epoch is current
+    private final AtomicLong startEpoch = new AtomicLong();
+    private final AtomicLong evenEndEpoch = new AtomicLong();
+    private final AtomicLong oddEndEpoch = new AtomicLong(Long.MIN_VALUE);
+
+    /** Records one value; called by the owning writer thread only. */
+    public void record(long valueNanos) {
+        long epoch = startEpoch.getAndIncrement();
+        try {
+            active.record(valueNanos);
+        } finally {
+            if (epoch < 0) {
+                oddEndEpoch.getAndIncrement();
+            } else {
+                evenEndEpoch.getAndIncrement();
+            }
+        }
+    }
+
+    /**
+     * Swaps in an empty histogram and returns everything recorded since the previous call.
+     * The returned histogram stays valid until the next call.
+     */
+    public synchronized LatencyHistogram takeInterval() {
+        inactive.reset();
+        LatencyHistogram interval = active;
+        active = inactive;
+
+        boolean nextPhaseIsEven = startEpoch.get() < 0;
+        long initialStart = nextPhaseIsEven ? 0 : Long.MIN_VALUE;
+        (nextPhaseIsEven ? evenEndEpoch : oddEndEpoch).set(initialStart);
+        long startAtFlip = startEpoch.getAndSet(initialStart);
+
+        // Wait for a writer that started on the old histogram to finish with it
+        AtomicLong previousEnd = nextPhaseIsEven ? oddEndEpoch : evenEndEpoch;
+        while (previousEnd.get() != startAtFlip) {
+            Thread.onSpinWait();
+        }
+        inactive = interval;
+        return interval;
+    }
+}
@@ -0,0 +1,155 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark scores imported from a JMH JSON result file (-rf json), kept in the session next to
+ * the app's own measurements so both end up in the same export.
+ */
+public class JmhResult implements RunResult {
+    public String source;
+    public String jmhVersion;
+    public List<Row> rows = new ArrayList<>();
+
+    public static class Row {
+        /** Benchmark method as Class.method, without the package. */
+        public String benchmark;
+        public String mode;
+        /** JMH parameters as key=value pairs, comma separated; empty when the benchmark has none. */
+        public String params = "";
+        public double score = Double.NaN;
+        public double scoreError = Double.NaN;
+        public String unit;
+        public double p50 = Double.NaN;
+        public double p99 = Double.NaN;
+
+        public String label() {
+            return params.isEmpty() ? benchmark : benchmark + " [" + params + "]";
+        }
+
+        public String toJson() {
+            return Json.object()
+                .put("benchmark", benchmark)
+                .put("mode", mode)
+                .put("params", params)
+                .put("score", score)
+                .put("scoreError", scoreError)
+                .put("unit", unit)
+                .put("p50", p50)
+                .put("p99", p99)
+                .toString();
+        }
+    }
+
+    /**
+     * Parses the array JMH writes with -rf json.
+     *
+     * @throws IllegalArgumentException if the text is not a JMH JSON result
+     */
+    @SuppressWarnings("unchecked")
+    public static JmhResult parse(String json, String source) {
+        Object root = Json.parse(json);
+        if (!(root instanceof List)) {
+            throw new IllegalArgumentException("not a JMH result file (expected a JSON array)");
+        }
+        JmhResult result = new JmhResult();
+        result.source = source;
+        for (Object entry : (List<Object>) root) {
+            if (!(entry instanceof Map)) continue;
+            Map<String, Object> benchmark = (Map<String, Object>) entry;
+            Object metricValue = benchmark.get("primaryMetric");
+            if (!(metricValue instanceof Map) || benchmark.get("benchmark") == null) {
+                throw new IllegalArgumentException("not a JMH result file (missing benchmark/primaryMetric)");
+            }
+            Map<String, Object> metric = (Map<String, Object>) metricValue;
+            if (result.jmhVersion == null) {
+                result.jmhVersion = Json.getString(benchmark, "jmhVersion");
+            }
+
+            Row row = new Row();
+            row.benchmark = shortName(Json.getString(benchmark, "benchmark"));
+            row.mode = Json.getString(benchmark, "mode");
+            row.params = params(benchmark.get("params"));
+            row.score = Json.getDouble(metric, "score");
+            row.scoreError = Json.getDouble(metric, "scoreError");
+            row.unit = Json.getString(metric, "scoreUnit");
+            if (metric.get("scorePercentiles") instanceof Map) {
+                Map<String, Object> percentiles = (Map<String, Object>) metric.get("scorePercentiles");
+                row.p50 = Json.getDouble(percentiles, "50.0");
+                row.p99 = Json.getDouble(percentiles, "99.0");
+            }
+            result.rows.add(row);
+        }
+        return result;
+    }
+
+    private static String shortName(String benchmark) {
+        int method = benchmark.lastIndexOf('.');
+        int type = method > 0 ? benchmark.lastIndexOf('.', method - 1) : -1;
+        return benchmark.substring(type + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String params(Object value) {
+        if (!(value instanceof Map)) return "";
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Object> param : ((Map<String, Object>) value).entrySet()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(param.getKey()).append('=').append(param.getValue());
+        }
+        return sb.toString();
+    }
+
+    /** First row for the given benchmark whose parameters contain the given key=value pair, or null. */
+    public Row find(String benchmark, String param) {
+        for (Row row : rows) {
+            if (row.benchmark.equals(benchmark) && (param == null || row.params.contains(param))) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String type() {
+        return "jmh-import";
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public String summary() {
+        StringBuilder sb = new StringBuilder("JMH results" + (jmhVersion != null ? " (JMH " + jmhVersion + ")" : "")
+            + " from " + source + ":");
+        for (Row row : rows) {
+            sb.append(String.format("%n  %-60s %-6s %12.3f", row.label(), row.mode, row.score));
+            sb.append(Double.isNaN(row.scoreError) ? "          " : String.format(" +/- %-6.3f", row.scoreError));
+            sb.append(' ').append(row.unit);
+            if (!Double.isNaN(row.p99)) {
+                sb.append(String.format("  (p50 %.3f, p99 %.3f)", row.p50, row.p99));
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toJson() {
+        List<String> rowJson = new ArrayList<>();
+        for (Row row : rows) {
+            rowJson.add(row.toJson());
+        }
+        return Json.object()
+            .put("type", type())
+            .put("source", source)
+            .put("jmhVersion", jmhVersion)
+            .putRaw("rows", Json.array(rowJson))
+            .toString();
+    }
+}
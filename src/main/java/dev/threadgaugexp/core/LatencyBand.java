@@ -0,0 +1,36 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+/**
+ * Spawn latency percentiles for one band of live thread counts, [fromThreads, toThreads).
+ */
+public class LatencyBand {
+    public int fromThreads;
+    public int toThreads;
+    public long samples;
+    public long createP50Nanos;
+    public long createP99Nanos;
+    public long createMaxNanos;
+    public long startP50Nanos;
+    public long startP99Nanos;
+    public long startMaxNanos;
+
+    public String label() {
+        return toThreads == Integer.MAX_VALUE ? fromThreads + "+" : fromThreads + "-" + (toThreads - 1);
+    }
+
+    public String toJson() {
+        return Json.object()
+            .put("fromThreads", fromThreads)
+            .put("toThreads", toThreads)
+            .put("samples", samples)
+            .put("createP50Nanos", createP50Nanos)
+            .put("createP99Nanos", createP99Nanos)
+            .put("createMaxNanos", createMaxNanos)
+            .put("startP50Nanos", startP50Nanos)
+            .put("startP99Nanos", startP99Nanos)
+            .put("startMaxNanos", startMaxNanos)
+            .toString();
+    }
+}
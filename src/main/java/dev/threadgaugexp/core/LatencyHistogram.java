@@ -0,0 +1,102 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Fixed-size log-linear histogram of nanosecond latencies, in the style of HdrHistogram.
+ * Values below 128 ns are exact; above that each power of two is split into 64 sub-buckets
+ * (about 1.6% relative precision). Recording never allocates. Values above ~36 minutes are clamped.
+ *
+ * Not thread-safe: use one histogram per writer and {@link #add} them afterwards.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;      // 128
+    private static final int HALF_SUB_COUNT = SUB_COUNT / 2; // 64
+    private static final int MAX_MSB = 41;
+    private static final long MAX_VALUE = (1L << (MAX_MSB + 1)) - 1;
+    private static final int BUCKET_COUNT = (MAX_MSB - SUB_BITS + 2) * HALF_SUB_COUNT + HALF_SUB_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+    private long sum;
+
+    public void record(long valueNanos) {
+        long value = Math.max(0, Math.min(valueNanos, MAX_VALUE));
+        counts[indexOf(value)]++;
+        totalCount++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    static int indexOf(long value) {
+        int msb = 63 - Long.numberOfLeadingZeros(value | 1);
+        if (msb < SUB_BITS) {
+            return (int) value;
+        }
+        int shift = msb - (SUB_BITS - 1);
+        return shift * HALF_SUB_COUNT + (int) (value >>> shift);
+    }
+
+    /** Highest value that maps to the same bucket as the given index. */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / HALF_SUB_COUNT - 1;
+        long sub = index - (long) shift * HALF_SUB_COUNT;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /** Value at the given percentile (0-100), reported as the bucket's upper bound capped at the max. */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        double p = Math.max(0, Math.min(100, percentile));
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        if (other.totalCount > 0) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+}
@@ -0,0 +1,27 @@
+package dev.threadgaugexp.core;
+
+/**
+ * The original stress kernel: a short compute burst followed by a 10 ms sleep.
+ */
+public class LightWorkload implements Workload {
+
+    @Override
+    public String name() {
+        return "light";
+    }
+
+    @Override
+    public String description() {
+        return StressTest.KERNEL_ITERATIONS + " sqrt*sin iterations, then 10 ms sleep";
+    }
+
+    @Override
+    public Worker newWorker(int workerIndex) {
+        return () -> StressTest.computeKernel(StressTest.KERNEL_ITERATIONS);
+    }
+
+    @Override
+    public long pauseMillis() {
+        return 10;
+    }
+}
@@ -0,0 +1,144 @@
+package dev.threadgaugexp.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Figures that running engines publish for outside observers such as the metrics endpoint.
+ * Engines write from their own threads and readers may read at any time, so everything is
+ * volatile or atomic; a reader can see a stress interval half published, which is harmless for
+ * a scrape. Counters only grow over the life of the JVM, as Prometheus expects.
+ */
+public final class LiveMetrics {
+    /** Upper bounds of the spawn latency buckets, in nanoseconds; the last bucket is open-ended. */
+    private static final long[] SPAWN_BUCKET_NANOS = {
+        1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+        1_000_000, 2_500_000, 5_000_000, 10_000_000, 25_000_000, 50_000_000, 100_000_000
+    };
+
+    private static final SpawnHistogram SPAWN_CREATE = new SpawnHistogram();
+    private static final SpawnHistogram SPAWN_START = new SpawnHistogram();
+
+    private static volatile int stressWorkers;
+    private static final AtomicLong stressOps = new AtomicLong();
+    private static volatile double stressOpsPerSecond = Double.NaN;
+    private static volatile long stressLatencyP50Nanos = -1;
+    private static volatile long stressLatencyP99Nanos = -1;
+    private static volatile double voluntarySwitchesPerSecond = Double.NaN;
+    private static volatile double involuntarySwitchesPerSecond = Double.NaN;
+    private static volatile double runQueueWaitThreads = Double.NaN;
+
+    private LiveMetrics() {
+    }
+
+    /** Cumulative histogram of one spawn phase, in fixed buckets. */
+    public static final class SpawnHistogram {
+        private final AtomicLongArray counts = new AtomicLongArray(SPAWN_BUCKET_NANOS.length + 1);
+        private final AtomicLong sumNanos = new AtomicLong();
+
+        void record(long nanos) {
+            int bucket = 0;
+            while (bucket < SPAWN_BUCKET_NANOS.length && nanos > SPAWN_BUCKET_NANOS[bucket]) {
+                bucket++;
+            }
+            counts.incrementAndGet(bucket);
+            sumNanos.addAndGet(Math.max(0, nanos));
+        }
+
+        /** Bucket count, the last one being +Inf. */
+        public int buckets() {
+            return counts.length();
+        }
+
+        /** Upper bound of a bucket in nanoseconds; Long.MAX_VALUE for the last. */
+        public long upperBoundNanos(int bucket) {
+            return bucket < SPAWN_BUCKET_NANOS.length ? SPAWN_BUCKET_NANOS[bucket] : Long.MAX_VALUE;
+        }
+
+        /** Observations in this bucket alone, not cumulative. */
+        public long count(int bucket) {
+            return counts.get(bucket);
+        }
+
+        public long sumNanos() {
+            return sumNanos.get();
+        }
+    }
+
+    /** Time in {@code new Thread(...)} of every thread the max-threads test created. */
+    public static SpawnHistogram spawnCreate() {
+        return SPAWN_CREATE;
+    }
+
+    /** Time in {@code Thread.start()} of every thread the max-threads test started. */
+    public static SpawnHistogram spawnStart() {
+        return SPAWN_START;
+    }
+
+    static void recordSpawn(long createNanos, long startNanos) {
+        SPAWN_CREATE.record(createNanos);
+        SPAWN_START.record(startNanos);
+    }
+
+    static void stressStarted(int workers) {
+        stressWorkers = workers;
+    }
+
+    static void stressInterval(StressInterval interval, long ops) {
+        stressOps.addAndGet(ops);
+        stressOpsPerSecond = interval.opsPerSecond;
+        stressLatencyP50Nanos = interval.latencyP50Nanos;
+        stressLatencyP99Nanos = interval.latencyP99Nanos;
+        voluntarySwitchesPerSecond = interval.voluntarySwitchesPerSecond;
+        involuntarySwitchesPerSecond = interval.involuntarySwitchesPerSecond;
+        runQueueWaitThreads = interval.runQueueWaitThreads;
+    }
+
+    /** Clears the per-interval gauges; the ops counter keeps its total. */
+    static void stressFinished() {
+        stressWorkers = 0;
+        stressOpsPerSecond = Double.NaN;
+        stressLatencyP50Nanos = -1;
+        stressLatencyP99Nanos = -1;
+        voluntarySwitchesPerSecond = Double.NaN;
+        involuntarySwitchesPerSecond = Double.NaN;
+        runQueueWaitThreads = Double.NaN;
+    }
+
+    /** Workers of the running stress test, 0 when none runs. */
+    public static int stressWorkers() {
+        return stressWorkers;
+    }
+
+    /** Operations completed by stress workers in all measured intervals so far. */
+    public static long stressOps() {
+        return stressOps.get();
+    }
+
+    /** Throughput of the last stress interval; NaN when no stress test runs. */
+    public static double stressOpsPerSecond() {
+        return stressOpsPerSecond;
+    }
+
+    /** Iteration latency percentiles of the last stress interval; -1 when no stress test runs. */
+    public static long stressLatencyP50Nanos() {
+        return stressLatencyP50Nanos;
+    }
+
+    public static long stressLatencyP99Nanos() {
+        return stressLatencyP99Nanos;
+    }
+
+    /** Context switches of the last stress interval (Linux); NaN when not measured. */
+    public static double voluntarySwitchesPerSecond() {
+        return voluntarySwitchesPerSecond;
+    }
+
+    public static double involuntarySwitchesPerSecond() {
+        return involuntarySwitchesPerSecond;
+    }
+
+    public static double runQueueWaitThreads() {
+        return runQueueWaitThreads;
+    }
+}
@@ -0,0 +1,118 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result data for the LockContentionTest engine: one row per lock strategy.
+ */
+public class LockContentionResult implements RunResult {
+    public int threadCount;
+    public int secondsPerStrategy;
+    public int readPercent;
+    public int keys;
+    public List<Row> rows = new ArrayList<>();
+    public boolean cancelled;
+
+    public static class Row {
+        public LockStrategy strategy;
+        public long totalOps;
+        public long elapsedNanos;
+        public double opsPerSecond;
+        public long minThreadOps;
+        public long maxThreadOps;
+        /** Jain's fairness index over per-thread op counts: 1 = perfectly even, 1/N = one thread did everything. */
+        public double jainIndex;
+        /** Standard deviation of per-thread op counts divided by their mean. */
+        public double coefficientOfVariation;
+        /** False if the table total does not match the increments performed (lost updates). */
+        public boolean consistent;
+
+        static Row of(LockStrategy strategy, long[] perThreadOps, long elapsedNanos, boolean consistent) {
+            Row row = new Row();
+            row.strategy = strategy;
+            row.elapsedNanos = elapsedNanos;
+            row.consistent = consistent;
+            row.minThreadOps = Long.MAX_VALUE;
+            double sum = 0;
+            double sumSquares = 0;
+            for (long ops : perThreadOps) {
+                row.totalOps += ops;
+                row.minThreadOps = Math.min(row.minThreadOps, ops);
+                row.maxThreadOps = Math.max(row.maxThreadOps, ops);
+                sum += ops;
+                sumSquares += (double) ops * ops;
+            }
+            int n = perThreadOps.length;
+            row.opsPerSecond = elapsedNanos > 0 ? row.totalOps * 1e9 / elapsedNanos : 0;
+            row.jainIndex = sumSquares > 0 ? sum * sum / (n * sumSquares) : 1;
+            double mean = sum / n;
+            double variance = Math.max(0, sumSquares / n - mean * mean);
+            row.coefficientOfVariation = mean > 0 ? Math.sqrt(variance) / mean : 0;
+            return row;
+        }
+
+        public String toJson() {
+            return Json.object()
+                .put("strategy", strategy.getCliName())
+                .put("totalOps", totalOps)
+                .put("elapsedNanos", elapsedNanos)
+                .put("opsPerSecond", opsPerSecond)
+                .put("minThreadOps", minThreadOps)
+                .put("maxThreadOps", maxThreadOps)
+                .put("jainIndex", jainIndex)
+                .put("coefficientOfVariation", coefficientOfVariation)
+                .put("consistent", consistent)
+                .toString();
+        }
+    }
+
+    @Override
+    public String type() {
+        return "lock-contention";
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String summary() {
+        StringBuilder sb = new StringBuilder(String.format(
+            "Lock contention %s: %d threads, %d%% reads, %d keys, %d s per strategy",
+            cancelled ? "cancelled" : "completed", threadCount, readPercent, keys, secondsPerStrategy));
+        sb.append(String.format("%n  %-26s %14s %9s %8s %14s %14s",
+            "Strategy", "Ops/sec", "Fairness", "CoV", "Min/thread", "Max/thread"));
+        for (Row row : rows) {
+            sb.append(String.format("%n  %-26s %14.0f %9.3f %8.3f %14d %14d",
+                row.strategy, row.opsPerSecond, row.jainIndex, row.coefficientOfVariation,
+                row.minThreadOps, row.maxThreadOps));
+            if (!row.consistent) {
+                sb.append("  (lost updates)");
+            }
+        }
+        sb.append(String.format("%n  Fairness = Jain's index of per-thread op counts (1.000 = even, %.3f = one thread only)",
+            threadCount > 0 ? 1.0 / threadCount : 0));
+        return sb.toString();
+    }
+
+    @Override
+    public String toJson() {
+        List<String> rowJson = new ArrayList<>();
+        for (Row row : rows) {
+            rowJson.add(row.toJson());
+        }
+        return Json.object()
+            .put("type", type())
+            .put("threadCount", threadCount)
+            .put("secondsPerStrategy", secondsPerStrategy)
+            .put("readPercent", readPercent)
+            .put("keys", keys)
+            .putRaw("rows", Json.array(rowJson))
+            .put("cancelled", cancelled)
+            .toString();
+    }
+}
@@ -0,0 +1,383 @@
+package dev.threadgaugexp.core;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * N platform threads hammer a small shared table of counters through each selected lock
+ * strategy in turn. Every operation picks a random key and either reads it or increments it,
+ * according to the read ratio. Reports throughput and how evenly the operations were spread
+ * over the threads (Jain's fairness index), and checks that no increment was lost.
+ */
+public class LockContentionTest extends TestEngine<LockContentionResult> {
+    private static final long POLL_MILLIS = 100;
+    private static final int STRIPES = 16;
+
+    private final int threadCount;
+    private final int secondsPerStrategy;
+    private final int readPercent;
+    private final int keys;
+    private final Set<LockStrategy> strategies;
+
+    /**
+     * @param secondsPerStrategy measured time for each strategy, after a short warm-up
+     * @param readPercent        share of operations that only read, 0-100
+     * @param keys               size of the shared table; fewer keys means more contention per key
+     */
+    public LockContentionTest(int threadCount, int secondsPerStrategy, int readPercent, int keys,
+                              Set<LockStrategy> strategies) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("thread count must be >= 1");
+        }
+        if (readPercent < 0 || readPercent > 100) {
+            throw new IllegalArgumentException("read percentage must be between 0 and 100");
+        }
+        if (keys < 1) {
+            throw new IllegalArgumentException("key count must be >= 1");
+        }
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("no lock strategy selected");
+        }
+        this.threadCount = threadCount;
+        this.secondsPerStrategy = secondsPerStrategy;
+        this.readPercent = readPercent;
+        this.keys = keys;
+        this.strategies = EnumSet.copyOf(strategies);
+    }
+
+    @Override
+    protected LockContentionResult execute() throws Exception {
+        publish(String.format("Lock contention: %d threads, %d%% reads, %d keys, %d s per strategy",
+                threadCount, readPercent, keys, secondsPerStrategy));
+
+        LockContentionResult result = new LockContentionResult();
+        result.threadCount = threadCount;
+        result.secondsPerStrategy = secondsPerStrategy;
+        result.readPercent = readPercent;
+        result.keys = keys;
+
+        for (LockStrategy strategy : strategies) {
+            if (isCancelled()) break;
+            setStatus("Lock contention: " + strategy);
+            // Warm-up so the JIT has compiled the loop and the lock has inflated before measuring
+            runPhase(strategy, Math.min(1000, secondsPerStrategy * 250L));
+            if (isCancelled()) break;
+            LockContentionResult.Row row = runPhase(strategy, secondsPerStrategy * 1000L);
+            if (row == null) break;
+            result.rows.add(row);
+            publish(String.format("%s: %.0f ops/sec, fairness %.3f, per-thread min/max %d/%d%s",
+                    strategy, row.opsPerSecond, row.jainIndex, row.minThreadOps, row.maxThreadOps,
+                    row.consistent ? "" : ", LOST UPDATES"));
+        }
+
+        result.cancelled = isCancelled();
+        return result;
+    }
+
+    /** Runs all threads against a fresh table for {@code millis}; null if cancelled meanwhile. */
+    private LockContentionResult.Row runPhase(LockStrategy strategy, long millis) throws InterruptedException {
+        SharedTable table = createTable(strategy);
+        long[] ops = new long[threadCount];
+        long[] writes = new long[threadCount];
+        long[] checksums = new long[threadCount];
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch go = new CountDownLatch(1);
+        StopFlag stop = new StopFlag();
+        Thread[] threads = new Thread[threadCount];
+        // Reads below this threshold of a 0-99 roll, writes at or above
+        int readThreshold = readPercent;
+
+        long start;
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                final int worker = i;
+                threads[i] = new Thread(() -> {
+                    long seed = 0x9E3779B97F4A7C15L * (worker + 1);
+                    long done = 0;
+                    long written = 0;
+                    long checksum = 0;
+                    ready.countDown();
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    while (!stop.stopped) {
+                        seed ^= seed << 13;
+                        seed ^= seed >>> 7;
+                        seed ^= seed << 17;
+                        int key = (int) Math.floorMod(seed, (long) keys);
+                        if (Math.floorMod(seed >>> 32, 100L) < readThreshold) {
+                            checksum += table.read(key);
+                        } else {
+                            table.increment(key);
+                            written++;
+                        }
+                        done++;
+                    }
+                    ops[worker] = done;
+                    writes[worker] = written;
+                    checksums[worker] = checksum; // keeps reads from being optimised away
+                }, "LockContention-" + i);
+                threads[i].start();
+            }
+
+            ready.await();
+            start = System.nanoTime();
+            go.countDown();
+            long deadline = start + millis * 1_000_000L;
+            while (System.nanoTime() < deadline && !isCancelled()) {
+                Thread.sleep(Math.max(1, Math.min(POLL_MILLIS, (deadline - System.nanoTime()) / 1_000_000L)));
+            }
+        } finally {
+            // Also when a start fails or the wait is interrupted, so no worker stays parked on go
+            stopWorkers(threads, go, stop);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (isCancelled()) return null;
+
+        long expectedWrites = 0;
+        for (long count : writes) {
+            expectedWrites += count;
+        }
+        return LockContentionResult.Row.of(strategy, ops, elapsed, table.total() == expectedWrites);
+    }
+
+    /** Releases the workers started so far, tells them to stop and joins them. */
+    private static void stopWorkers(Thread[] threads, CountDownLatch go, StopFlag stop) {
+        stop.stopped = true;
+        go.countDown();
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread != null) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Checked once per operation; its own object, so the flag does not share a line with the table. */
+    private static final class StopFlag {
+        volatile boolean stopped;
+    }
+
+    private SharedTable createTable(LockStrategy strategy) {
+        switch (strategy) {
+            case SYNCHRONIZED: return new SynchronizedTable(keys);
+            case REENTRANT_UNFAIR: return new LockedTable(keys, false);
+            case REENTRANT_FAIR: return new LockedTable(keys, true);
+            case STAMPED_OPTIMISTIC: return new StampedTable(keys);
+            case LONG_ADDER: return new AdderTable(keys);
+            default: return new StripedTable(keys);
+        }
+    }
+
+    private interface SharedTable {
+        long read(int key);
+
+        void increment(int key);
+
+        /** Sum of all counters, read after the workers have stopped. */
+        long total();
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    private static final class SynchronizedTable implements SharedTable {
+        private final long[] counters;
+
+        SynchronizedTable(int keys) {
+            counters = new long[keys];
+        }
+
+        @Override
+        public synchronized long read(int key) {
+            return counters[key];
+        }
+
+        @Override
+        public synchronized void increment(int key) {
+            counters[key]++;
+        }
+
+        @Override
+        public synchronized long total() {
+            return sum(counters);
+        }
+    }
+
+    private static final class LockedTable implements SharedTable {
+        private final long[] counters;
+        private final ReentrantLock lock;
+
+        LockedTable(int keys, boolean fair) {
+            counters = new long[keys];
+            lock = new ReentrantLock(fair);
+        }
+
+        @Override
+        public long read(int key) {
+            lock.lock();
+            try {
+                return counters[key];
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void increment(int key) {
+            lock.lock();
+            try {
+                counters[key]++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public long total() {
+            lock.lock();
+            try {
+                return sum(counters);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class StampedTable implements SharedTable {
+        private final long[] counters;
+        private final StampedLock lock = new StampedLock();
+
+        StampedTable(int keys) {
+            counters = new long[keys];
+        }
+
+        @Override
+        public long read(int key) {
+            long stamp = lock.tryOptimisticRead();
+            long value = counters[key];
+            if (lock.validate(stamp)) {
+                return value;
+            }
+            stamp = lock.readLock();
+            try {
+                return counters[key];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public void increment(int key) {
+            long stamp = lock.writeLock();
+            try {
+                counters[key]++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @Override
+        public long total() {
+            long stamp = lock.readLock();
+            try {
+                return sum(counters);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    private static final class AdderTable implements SharedTable {
+        private final LongAdder[] counters;
+
+        AdderTable(int keys) {
+            counters = new LongAdder[keys];
+            for (int i = 0; i < keys; i++) {
+                counters[i] = new LongAdder();
+            }
+        }
+
+        @Override
+        public long read(int key) {
+            return counters[key].sum();
+        }
+
+        @Override
+        public void increment(int key) {
+            counters[key].increment();
+        }
+
+        @Override
+        public long total() {
+            long sum = 0;
+            for (LongAdder adder : counters) {
+                sum += adder.sum();
+            }
+            return sum;
+        }
+    }
+
+    private static final class StripedTable implements SharedTable {
+        private final long[] counters;
+        private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+        StripedTable(int keys) {
+            counters = new long[keys];
+            for (int i = 0; i < STRIPES; i++) {
+                locks[i] = new ReentrantLock();
+            }
+        }
+
+        private ReentrantLock lockFor(int key) {
+            return locks[key % STRIPES];
+        }
+
+        @Override
+        public long read(int key) {
+            ReentrantLock lock = lockFor(key);
+            lock.lock();
+            try {
+                return counters[key];
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void increment(int key) {
+            ReentrantLock lock = lockFor(key);
+            lock.lock();
+            try {
+                counters[key]++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public long total() {
+            // Workers have been joined, so the plain reads are safe
+            return sum(counters);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package dev.threadgaugexp.core;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A shared-lock hotspot: every iteration does some private work, then updates shared state
+ * under one global lock. The critical section is a tenth of the work, so contention grows
+ * quickly with the thread count.
+ */
+public class LockHotspotWorkload implements Workload {
+    private static final int OUTSIDE_ITERATIONS = 900;
+    private static final int INSIDE_ITERATIONS = 100;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] shared = new long[8];
+
+    @Override
+    public String name() {
+        return "lock";
+    }
+
+    @Override
+    public String description() {
+        return OUTSIDE_ITERATIONS + " kernel iterations, then " + INSIDE_ITERATIONS + " under one shared lock";
+    }
+
+    @Override
+    public Worker newWorker(int workerIndex) {
+        return () -> {
+            double result = StressTest.computeKernel(OUTSIDE_ITERATIONS);
+            lock.lock();
+            try {
+                result += StressTest.computeKernel(INSIDE_ITERATIONS);
+                shared[workerIndex & 7]++;
+            } finally {
+                lock.unlock();
+            }
+            return result;
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Ways of guarding the shared table in the LockContentionTest engine.
+ */
+public enum LockStrategy {
+    /** One monitor around the whole table. */
+    SYNCHRONIZED("synchronized", "sync"),
+    /** One non-fair ReentrantLock; a releasing thread may barge ahead of queued ones. */
+    REENTRANT_UNFAIR("ReentrantLock (unfair)", "reentrant"),
+    /** One fair ReentrantLock; waiters acquire in FIFO order. */
+    REENTRANT_FAIR("ReentrantLock (fair)", "fair"),
+    /** StampedLock: optimistic reads validated afterwards, falling back to a read lock; write lock for writes. */
+    STAMPED_OPTIMISTIC("StampedLock (optimistic)", "stamped"),
+    /** One LongAdder per key, no lock; reads sum the adder's cells. */
+    LONG_ADDER("LongAdder", "adder"),
+    /** Keys hashed onto independent ReentrantLocks. */
+    STRIPED("Striped locks", "striped");
+
+    private final String label;
+    private final String cliName;
+
+    LockStrategy(String label, String cliName) {
+        this.label = label;
+        this.cliName = cliName;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /** Name used on the command line, e.g. {@code --locks sync,stamped}. */
+    public String getCliName() {
+        return cliName;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,22 @@
+package dev.threadgaugexp.core;
+
+/**
+ * What MemoryEstimator measures.
+ */
+public enum MemoryAccounting {
+    /** Java heap delta only (Runtime.totalMemory - freeMemory); misses thread stacks entirely. */
+    HEAP("Heap"),
+    /** Heap plus process RSS/VmData from /proc and committed thread stacks from native memory tracking. */
+    NATIVE("Native (RSS/NMT)");
+
+    private final String label;
+
+    MemoryAccounting(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,57 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Streams sequentially over a shared array much larger than the last-level cache, so throughput
+ * is bound by memory bandwidth rather than by the cores. Each worker starts at its own offset and
+ * reads one chunk per iteration.
+ */
+public class MemoryBandwidthWorkload implements Workload {
+    private static final int ARRAY_LONGS = 8 * 1024 * 1024;   // 64 MB
+    private static final int CHUNK_LONGS = 512 * 1024;        // 4 MB per iteration
+
+    private long[] data;
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public String description() {
+        return "sequential 4 MB reads over a shared 64 MB long[]";
+    }
+
+    @Override
+    public void setUp() {
+        data = new long[ARRAY_LONGS];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i;
+        }
+    }
+
+    @Override
+    public Worker newWorker(int workerIndex) {
+        long[] array = data;
+        int chunks = ARRAY_LONGS / CHUNK_LONGS;
+        return new Worker() {
+            private int chunk = workerIndex % chunks;
+
+            @Override
+            public double iterate() {
+                int from = chunk * CHUNK_LONGS;
+                int to = from + CHUNK_LONGS;
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += array[i];
+                }
+                chunk = (chunk + 1) % chunks;
+                return sum;
+            }
+        };
+    }
+
+    @Override
+    public void tearDown() {
+        data = null;
+    }
+}
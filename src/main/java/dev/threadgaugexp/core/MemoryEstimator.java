@@ -1,22 +1,49 @@
 package dev.threadgaugexp.core;
 
+import dev.threadgaugexp.util.Json;
+
 import java.util.ArrayList;
 import java.util.List;
 
-public class MemoryEstimator {
-    
-    public static MemoryResult estimateThreadMemory(int sampleSize, int stackSizeKB) throws InterruptedException {
+public class MemoryEstimator extends TestEngine<MemoryEstimator.MemoryResult> {
+    private int sampleSize;
+    private int stackSizeKB;
+    private MemoryAccounting accounting;
+
+    public MemoryEstimator(int sampleSize, int stackSizeKB) {
+        this(sampleSize, stackSizeKB, MemoryAccounting.HEAP);
+    }
+
+    public MemoryEstimator(int sampleSize, int stackSizeKB, MemoryAccounting accounting) {
+        this.sampleSize = sampleSize;
+        this.stackSizeKB = stackSizeKB;
+        this.accounting = accounting;
+    }
+
+    public static MemoryResult estimateThreadMemory(int sampleSize, int stackSizeKB) throws Exception {
+        return new MemoryEstimator(sampleSize, stackSizeKB).run(ProgressListener.NONE);
+    }
+
+    @Override
+    protected MemoryResult execute() throws Exception {
+        publish("Estimating memory per thread with " + sampleSize + " sample threads, stack size: " + stackSizeKB
+                + " KB, accounting: " + accounting);
+        setStatus("Estimating thread memory...");
         Runtime runtime = Runtime.getRuntime();
-        
+
         // Force garbage collection and wait
         System.gc();
         Thread.sleep(200);
-        
+
         long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
-        
+        NativeMemorySnapshot nativeBefore = accounting == MemoryAccounting.NATIVE ? NativeMemorySnapshot.capture() : null;
+        if (nativeBefore != null && !nativeBefore.hasNmt()) {
+            publish("Native memory tracking is off: start the JVM with -XX:NativeMemoryTracking=summary for committed stack figures");
+        }
+
         // Create sample threads
         List<Thread> threads = new ArrayList<>();
-        for (int i = 0; i < sampleSize; i++) {
+        for (int i = 0; i < sampleSize && !isCancelled(); i++) {
             Thread thread;
             if (stackSizeKB > 0) {
                 thread = new Thread(null, () -> {
@@ -39,42 +66,114 @@ public class MemoryEstimator {
                     }
                 });
             }
+            thread.setDaemon(true);
             thread.start();
             threads.add(thread);
         }
-        
+
         // Wait a bit for threads to stabilize
         Thread.sleep(200);
-        
+
         // Force garbage collection and measure
         System.gc();
         Thread.sleep(200);
-        
+
         long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
-        
+        NativeMemorySnapshot nativeAfter = nativeBefore != null ? NativeMemorySnapshot.capture() : null;
+
         // Cleanup
         for (Thread thread : threads) {
             thread.interrupt();
         }
-        
+
         for (Thread thread : threads) {
             thread.join(100);
         }
-        
+
+        int created = threads.size();
         long totalMemoryUsed = memoryAfter - memoryBefore;
-        long memoryPerThread = totalMemoryUsed / sampleSize;
-        
+        long memoryPerThread = created > 0 ? totalMemoryUsed / created : 0;
+
         MemoryResult result = new MemoryResult();
-        result.sampleSize = sampleSize;
+        result.sampleSize = created;
+        result.stackSizeKB = stackSizeKB;
         result.totalMemoryKB = totalMemoryUsed / 1024;
         result.memoryPerThreadKB = memoryPerThread / 1024;
-        
+        result.accounting = accounting;
+        if (nativeAfter != null) {
+            result.rssPerThreadKB = NativeMemorySnapshot.perThreadKB(nativeBefore.vmRssKB, nativeAfter.vmRssKB, created);
+            result.vmDataPerThreadKB = NativeMemorySnapshot.perThreadKB(nativeBefore.vmDataKB, nativeAfter.vmDataKB, created);
+            result.anonymousPerThreadKB = NativeMemorySnapshot.perThreadKB(nativeBefore.smapsAnonymousKB, nativeAfter.smapsAnonymousKB, created);
+            result.stackCommittedPerThreadKB = NativeMemorySnapshot.perThreadKB(nativeBefore.nmtStackCommittedKB, nativeAfter.nmtStackCommittedKB, created);
+            result.nmtThreadPerThreadKB = NativeMemorySnapshot.perThreadKB(nativeBefore.nmtThreadCommittedKB, nativeAfter.nmtThreadCommittedKB, created);
+        }
+        result.cancelled = isCancelled();
+
         return result;
     }
-    
-    public static class MemoryResult {
+
+    public static class MemoryResult implements RunResult {
         public int sampleSize;
+        public int stackSizeKB;
         public long totalMemoryKB;
         public long memoryPerThreadKB;
+        public MemoryAccounting accounting = MemoryAccounting.HEAP;
+        // Native figures (KB per thread); NaN when not measured or unavailable on this platform/JVM
+        public double rssPerThreadKB = Double.NaN;
+        public double vmDataPerThreadKB = Double.NaN;
+        public double anonymousPerThreadKB = Double.NaN;
+        public double stackCommittedPerThreadKB = Double.NaN;
+        public double nmtThreadPerThreadKB = Double.NaN;
+        public boolean cancelled;
+
+        @Override
+        public String type() {
+            return "memory-estimate";
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public String summary() {
+            String summary = String.format(
+                "Memory estimate (%d threads, stack size %d KB, %s accounting):\nTotal heap delta: %d KB\nHeap per thread: ~%d KB",
+                sampleSize, stackSizeKB, accounting, totalMemoryKB, memoryPerThreadKB
+            );
+            if (accounting != MemoryAccounting.NATIVE) {
+                return summary;
+            }
+            return summary
+                + "\nCommitted stack per thread: " + formatKB(stackCommittedPerThreadKB)
+                + (Double.isNaN(stackCommittedPerThreadKB) ? " (needs -XX:NativeMemoryTracking=summary)" : " (NMT)")
+                + "\nNMT Thread category per thread: " + formatKB(nmtThreadPerThreadKB)
+                + "\nRSS per thread: " + formatKB(rssPerThreadKB) + " (VmRSS)"
+                + "\nAnonymous per thread: " + formatKB(anonymousPerThreadKB) + " (smaps_rollup)"
+                + "\nVmData per thread: " + formatKB(vmDataPerThreadKB) + " (reserved, not resident)";
+        }
+
+        private static String formatKB(double kb) {
+            return Double.isNaN(kb) ? "N/A" : String.format("~%.1f KB", kb);
+        }
+
+        @Override
+        public String toJson() {
+            return Json.object()
+                .put("type", type())
+                .put("sampleSize", sampleSize)
+                .put("stackSizeKB", stackSizeKB)
+                .put("totalMemoryKB", totalMemoryKB)
+                .put("memoryPerThreadKB", memoryPerThreadKB)
+                .put("accounting", accounting.name())
+                .put("rssPerThreadKB", rssPerThreadKB)
+                .put("vmDataPerThreadKB", vmDataPerThreadKB)
+                .put("anonymousPerThreadKB", anonymousPerThreadKB)
+                .put("stackCommittedPerThreadKB", stackCommittedPerThreadKB)
+                .put("nmtThreadPerThreadKB", nmtThreadPerThreadKB)
+                .put("cancelled", cancelled)
+                .toString();
+        }
     }
 }
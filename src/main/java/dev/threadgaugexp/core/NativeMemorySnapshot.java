@@ -0,0 +1,150 @@
+package dev.threadgaugexp.core;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Point-in-time view of the process memory outside the Java heap. Linux figures come from
+ * /proc/self/status and /proc/self/smaps_rollup; thread figures come from native memory tracking
+ * (VM.native_memory summary via the DiagnosticCommand MBean) when the JVM runs with
+ * -XX:NativeMemoryTracking=summary or detail. Unavailable values are -1; per-thread deltas use NaN.
+ */
+public class NativeMemorySnapshot {
+    private static final Path PROC_STATUS = Paths.get("/proc/self/status");
+    private static final Path PROC_SMAPS_ROLLUP = Paths.get("/proc/self/smaps_rollup");
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+
+    private static final Pattern NMT_THREAD = Pattern.compile("^-\\s+Thread \\(reserved=(\\d+)KB, committed=(\\d+)KB\\)");
+    private static final Pattern NMT_THREAD_COUNT = Pattern.compile("\\(thread #(\\d+)\\)");
+    private static final Pattern NMT_STACK = Pattern.compile("\\(stack: reserved=(\\d+)KB, committed=(\\d+)KB\\)");
+
+    public long heapUsedBytes;
+    public long vmRssKB = -1;
+    public long vmDataKB = -1;
+    public long smapsRssKB = -1;
+    public long smapsAnonymousKB = -1;
+    public long nmtThreadCount = -1;
+    public long nmtThreadCommittedKB = -1;
+    public long nmtStackReservedKB = -1;
+    public long nmtStackCommittedKB = -1;
+
+    public static NativeMemorySnapshot capture() {
+        NativeMemorySnapshot snapshot = new NativeMemorySnapshot();
+        Runtime runtime = Runtime.getRuntime();
+        snapshot.heapUsedBytes = runtime.totalMemory() - runtime.freeMemory();
+        snapshot.readProcStatus();
+        snapshot.readSmapsRollup();
+        snapshot.readNmtThreads();
+        return snapshot;
+    }
+
+    public boolean hasRss() {
+        return vmRssKB >= 0;
+    }
+
+    public boolean hasNmt() {
+        return nmtStackCommittedKB >= 0;
+    }
+
+    private void readProcStatus() {
+        if (!Files.isReadable(PROC_STATUS)) return;
+        try (BufferedReader reader = Files.newBufferedReader(PROC_STATUS, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("VmRSS:")) {
+                    vmRssKB = parseKB(line);
+                } else if (line.startsWith("VmData:")) {
+                    vmDataKB = parseKB(line);
+                }
+            }
+        } catch (IOException ignored) {
+            // Leave values unavailable
+        }
+    }
+
+    private void readSmapsRollup() {
+        if (!Files.isReadable(PROC_SMAPS_ROLLUP)) return;
+        try (BufferedReader reader = Files.newBufferedReader(PROC_SMAPS_ROLLUP, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("Rss:")) {
+                    smapsRssKB = parseKB(line);
+                } else if (line.startsWith("Anonymous:")) {
+                    smapsAnonymousKB = parseKB(line);
+                }
+            }
+        } catch (IOException ignored) {
+            // Leave values unavailable
+        }
+    }
+
+    private void readNmtThreads() {
+        String output;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Object result = server.invoke(
+                new ObjectName(DIAGNOSTIC_COMMAND),
+                "vmNativeMemory",
+                new Object[]{new String[]{"summary", "scale=KB"}},
+                new String[]{String[].class.getName()}
+            );
+            output = result != null ? result.toString() : "";
+        } catch (Exception e) {
+            return;
+        }
+
+        boolean inThreadSection = false;
+        for (String raw : output.split("\\R")) {
+            String line = raw.trim();
+            Matcher thread = NMT_THREAD.matcher(line);
+            if (thread.find()) {
+                inThreadSection = true;
+                nmtThreadCommittedKB = Long.parseLong(thread.group(2));
+                continue;
+            }
+            if (!inThreadSection) continue;
+            if (line.startsWith("-")) break; // next category
+
+            Matcher count = NMT_THREAD_COUNT.matcher(line);
+            if (count.find()) {
+                nmtThreadCount = Long.parseLong(count.group(1));
+            }
+            Matcher stack = NMT_STACK.matcher(line);
+            if (stack.find()) {
+                nmtStackReservedKB = Long.parseLong(stack.group(1));
+                nmtStackCommittedKB = Long.parseLong(stack.group(2));
+            }
+        }
+    }
+
+    private static long parseKB(String line) {
+        // Format: "VmRSS:	   123456 kB"
+        long value = 0;
+        boolean digits = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits = true;
+            } else if (digits) {
+                break;
+            }
+        }
+        return digits ? value : -1;
+    }
+
+    /** Per-thread delta of a KB figure between two snapshots, or NaN if either side is unavailable. */
+    public static double perThreadKB(long beforeKB, long afterKB, int threads) {
+        if (beforeKB < 0 || afterKB < 0 || threads <= 0) return Double.NaN;
+        return (double) (afterKB - beforeKB) / threads;
+    }
+}
@@ -0,0 +1,75 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+import java.util.List;
+
+/**
+ * GC pauses and safepoints seen while the JVM had between fromThreads and toThreads - 1 live
+ * platform threads. GC figures come from GarbageCollectorMXBean notifications and from JFR
+ * (jdk.GarbageCollection); safepoint figures from JFR only (jdk.SafepointBegin / jdk.SafepointEnd).
+ */
+public class PauseBand {
+    public int fromThreads;
+    public int toThreads;
+    /** Collections reported by GarbageCollectorMXBean notifications (pausing collectors only). */
+    public long gcCount;
+    public long gcPauseTotalMillis;
+    public long gcPauseMaxMillis;
+    /** Collections reported by JFR, with their exact pause times. */
+    public long jfrGcCount;
+    public long jfrPauseTotalNanos;
+    public long jfrPauseMaxNanos;
+    public long safepoints;
+    /** Time to safepoint: from the safepoint request until every thread has stopped. */
+    public long ttspP50Nanos;
+    public long ttspP99Nanos;
+    public long ttspMaxNanos;
+    /** Whole safepoint, request to resume. */
+    public long safepointTotalNanos;
+    public long safepointMaxNanos;
+
+    public String label() {
+        return toThreads == Integer.MAX_VALUE ? fromThreads + "+" : fromThreads + "-" + (toThreads - 1);
+    }
+
+    /** One line per band: GC pauses (JFR when available, otherwise MXBean) and safepoint latency. */
+    public static String table(List<PauseBand> bands, boolean jfrAvailable) {
+        StringBuilder sb = new StringBuilder("GC pauses and safepoints by live platform threads:");
+        sb.append(String.format("%n  %-24s %8s %19s %12s %24s %23s", "Threads", "GCs", "Pause total/max ms",
+            "Safepoints", "TTSP p50/p99/max us", "In safepoint total/max ms"));
+        for (PauseBand band : bands) {
+            boolean jfr = band.jfrGcCount > 0 || band.safepoints > 0;
+            sb.append(String.format("%n  %-24s %8d %10.1f/%8.1f %12d %7.1f/%7.1f/%8.1f %14.1f/%8.1f",
+                band.label(),
+                jfr ? band.jfrGcCount : band.gcCount,
+                jfr ? band.jfrPauseTotalNanos / 1e6 : band.gcPauseTotalMillis,
+                jfr ? band.jfrPauseMaxNanos / 1e6 : band.gcPauseMaxMillis,
+                band.safepoints, band.ttspP50Nanos / 1000.0, band.ttspP99Nanos / 1000.0, band.ttspMaxNanos / 1000.0,
+                band.safepointTotalNanos / 1e6, band.safepointMaxNanos / 1e6));
+        }
+        if (!jfrAvailable) {
+            sb.append(String.format("%n  (JFR unavailable: GC pauses from MXBean notifications, no safepoint data)"));
+        }
+        return sb.toString();
+    }
+
+    public String toJson() {
+        return Json.object()
+            .put("fromThreads", fromThreads)
+            .put("toThreads", toThreads)
+            .put("gcCount", gcCount)
+            .put("gcPauseTotalMillis", gcPauseTotalMillis)
+            .put("gcPauseMaxMillis", gcPauseMaxMillis)
+            .put("jfrGcCount", jfrGcCount)
+            .put("jfrPauseTotalNanos", jfrPauseTotalNanos)
+            .put("jfrPauseMaxNanos", jfrPauseMaxNanos)
+            .put("safepoints", safepoints)
+            .put("ttspP50Nanos", ttspP50Nanos)
+            .put("ttspP99Nanos", ttspP99Nanos)
+            .put("ttspMaxNanos", ttspMaxNanos)
+            .put("safepointTotalNanos", safepointTotalNanos)
+            .put("safepointMaxNanos", safepointMaxNanos)
+            .toString();
+    }
+}
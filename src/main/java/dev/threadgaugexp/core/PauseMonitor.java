@@ -0,0 +1,196 @@
+package dev.threadgaugexp.core;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects GC pauses and safepoint latency while a test runs, grouped into bands of live platform
+ * threads (the same bands as the spawn latency table). Two sources are used:
+ * <ul>
+ *   <li>GarbageCollectorMXBean notifications, banded by the live thread count when they arrive</li>
+ *   <li>an in-process JFR stream of jdk.GarbageCollection, jdk.SafepointBegin and jdk.SafepointEnd.
+ *       SafepointBegin carries the thread count at the start of the safepoint, so safepoints (and the
+ *       collections that run inside them) are banded exactly even though JFR delivers about once a second</li>
+ * </ul>
+ * If JFR is unavailable only the MXBean figures are reported. Virtual threads are not platform
+ * threads and do not move the band.
+ */
+public class PauseMonitor implements AutoCloseable {
+    private static final int BANDS = SpawnLatencyRecorder.BAND_COUNT;
+
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final NotificationListener listener = this::onGcNotification;
+    private RecordingStream stream;
+
+    private final long[] gcCount = new long[BANDS];
+    private final long[] gcPauseTotalMillis = new long[BANDS];
+    private final long[] gcPauseMaxMillis = new long[BANDS];
+    private final long[] jfrGcCount = new long[BANDS];
+    private final long[] jfrPauseTotalNanos = new long[BANDS];
+    private final long[] jfrPauseMaxNanos = new long[BANDS];
+    private final LatencyHistogram[] timeToSafepoint = new LatencyHistogram[BANDS];
+    private final long[] safepointTotalNanos = new long[BANDS];
+    private final long[] safepointMaxNanos = new long[BANDS];
+
+    // JFR stream state; only touched by the stream's thread
+    private int lastSafepointBand;
+    private long openSafepointId = -1;
+    private long openSafepointStartNanos;
+
+    private PauseMonitor() {
+        for (int i = 0; i < BANDS; i++) {
+            timeToSafepoint[i] = new LatencyHistogram();
+        }
+    }
+
+    /** Subscribes to both sources; call {@link #finish()} to stop and read the bands. */
+    public static PauseMonitor start() {
+        PauseMonitor monitor = new PauseMonitor();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) gc;
+                emitter.addNotificationListener(monitor.listener, null, null);
+                monitor.emitters.add(emitter);
+            }
+        }
+        monitor.startJfr();
+        return monitor;
+    }
+
+    public boolean hasJfr() {
+        return stream != null;
+    }
+
+    private void startJfr() {
+        try {
+            RecordingStream rs = new RecordingStream();
+            rs.enable("jdk.GarbageCollection").withThreshold(Duration.ZERO);
+            rs.enable("jdk.SafepointBegin").withThreshold(Duration.ZERO);
+            rs.enable("jdk.SafepointEnd").withThreshold(Duration.ZERO);
+            rs.onEvent("jdk.SafepointBegin", this::onSafepointBegin);
+            rs.onEvent("jdk.SafepointEnd", this::onSafepointEnd);
+            rs.onEvent("jdk.GarbageCollection", this::onJfrGc);
+            rs.startAsync();
+            stream = rs;
+        } catch (RuntimeException | LinkageError e) {
+            // JFR disabled (-XX:-FlightRecorder), not in this runtime, or not permitted
+            stream = null;
+        }
+    }
+
+    /** Concurrent cycles (G1 Concurrent GC, ZGC Cycles, ...) run beside the application and are not pauses. */
+    public static boolean isPausingCollector(String name) {
+        return !name.contains("Concurrent") && !name.contains("Cycles");
+    }
+
+    private void onGcNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        if (!isPausingCollector(info.getGcName())) return;
+        long millis = info.getGcInfo().getDuration();
+        int band = SpawnLatencyRecorder.bandOf(threadBean.getThreadCount());
+        synchronized (this) {
+            gcCount[band]++;
+            gcPauseTotalMillis[band] += millis;
+            gcPauseMaxMillis[band] = Math.max(gcPauseMaxMillis[band], millis);
+        }
+    }
+
+    private void onSafepointBegin(RecordedEvent event) {
+        int band = SpawnLatencyRecorder.bandOf(event.getInt("totalThreadCount"));
+        lastSafepointBand = band;
+        openSafepointId = event.getLong("safepointId");
+        openSafepointStartNanos = toNanos(event.getStartTime());
+        synchronized (this) {
+            timeToSafepoint[band].record(event.getDuration().toNanos());
+        }
+    }
+
+    private void onSafepointEnd(RecordedEvent event) {
+        if (event.getLong("safepointId") != openSafepointId) return;
+        long nanos = toNanos(event.getEndTime()) - openSafepointStartNanos;
+        openSafepointId = -1;
+        if (nanos < 0) return;
+        synchronized (this) {
+            safepointTotalNanos[lastSafepointBand] += nanos;
+            safepointMaxNanos[lastSafepointBand] = Math.max(safepointMaxNanos[lastSafepointBand], nanos);
+        }
+    }
+
+    private void onJfrGc(RecordedEvent event) {
+        // The pauses of a collection run inside the safepoint that preceded it in the ordered stream
+        int band = lastSafepointBand;
+        long sum = event.getDuration("sumOfPauses").toNanos();
+        long longest = event.getDuration("longestPause").toNanos();
+        synchronized (this) {
+            jfrGcCount[band]++;
+            jfrPauseTotalNanos[band] += sum;
+            jfrPauseMaxNanos[band] = Math.max(jfrPauseMaxNanos[band], longest);
+        }
+    }
+
+    private static long toNanos(java.time.Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    /** Stops both sources, waiting for JFR to deliver what it has buffered, and returns the non-empty bands. */
+    public List<PauseBand> finish() {
+        close();
+        List<PauseBand> rows = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < BANDS; i++) {
+                if (gcCount[i] == 0 && jfrGcCount[i] == 0 && timeToSafepoint[i].getTotalCount() == 0) continue;
+                PauseBand row = new PauseBand();
+                row.fromThreads = SpawnLatencyRecorder.bandStart(i);
+                row.toThreads = i == BANDS - 1 ? Integer.MAX_VALUE : SpawnLatencyRecorder.bandStart(i + 1);
+                row.gcCount = gcCount[i];
+                row.gcPauseTotalMillis = gcPauseTotalMillis[i];
+                row.gcPauseMaxMillis = gcPauseMaxMillis[i];
+                row.jfrGcCount = jfrGcCount[i];
+                row.jfrPauseTotalNanos = jfrPauseTotalNanos[i];
+                row.jfrPauseMaxNanos = jfrPauseMaxNanos[i];
+                row.safepoints = timeToSafepoint[i].getTotalCount();
+                row.ttspP50Nanos = timeToSafepoint[i].valueAtPercentile(50);
+                row.ttspP99Nanos = timeToSafepoint[i].valueAtPercentile(99);
+                row.ttspMaxNanos = timeToSafepoint[i].getMax();
+                row.safepointTotalNanos = safepointTotalNanos[i];
+                row.safepointMaxNanos = safepointMaxNanos[i];
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(listener);
+            } catch (ListenerNotFoundException ignored) {
+                // Already removed
+            }
+        }
+        emitters.clear();
+        if (stream != null) {
+            // stop() flushes and waits until buffered events have been handled
+            stream.stop();
+            stream.close();
+            stream = null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+/**
+ * Result data for the PinningStressTest engine.
+ * Pinned event counts are -1 when JFR streaming is not available in this JVM.
+ */
+public class PinningResult implements RunResult {
+    public int threadCount;
+    public int lockStripes;
+    public double phaseDuration;
+    public int carrierCount;
+
+    public double monitorOpsPerSecond;
+    public double monitorCarrierUtilisation;
+    public long monitorPinnedEvents;
+
+    public double lockOpsPerSecond;
+    public double lockCarrierUtilisation;
+    public long lockPinnedEvents;
+
+    public boolean cancelled;
+
+    /** ReentrantLock throughput relative to synchronized (2.0 = twice as fast). */
+    public double lockSpeedup() {
+        return monitorOpsPerSecond > 0 ? lockOpsPerSecond / monitorOpsPerSecond : 0;
+    }
+
+    @Override
+    public String type() {
+        return "pinning";
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String summary() {
+        return String.format(
+            "Pinning test %s:\nVirtual threads: %d (%d lock stripes, %d carriers)\n"
+                + "synchronized: %.0f ops/s, carrier utilisation %.1f%%, pinned events %s\n"
+                + "ReentrantLock: %.0f ops/s, carrier utilisation %.1f%%, pinned events %s\n"
+                + "ReentrantLock vs synchronized: %.2fx",
+            cancelled ? "cancelled" : "completed", threadCount, lockStripes, carrierCount,
+            monitorOpsPerSecond, monitorCarrierUtilisation, formatEvents(monitorPinnedEvents),
+            lockOpsPerSecond, lockCarrierUtilisation, formatEvents(lockPinnedEvents),
+            lockSpeedup()
+        );
+    }
+
+    @Override
+    public String toJson() {
+        return Json.object()
+            .put("type", type())
+            .put("threadCount", threadCount)
+            .put("lockStripes", lockStripes)
+            .put("phaseDurationSec", phaseDuration)
+            .put("carrierCount", carrierCount)
+            .put("monitorOpsPerSec", monitorOpsPerSecond)
+            .put("monitorCarrierUtilisationPct", monitorCarrierUtilisation)
+            .put("monitorPinnedEvents", monitorPinnedEvents)
+            .put("lockOpsPerSec", lockOpsPerSecond)
+            .put("lockCarrierUtilisationPct", lockCarrierUtilisation)
+            .put("lockPinnedEvents", lockPinnedEvents)
+            .put("lockSpeedup", lockSpeedup())
+            .put("cancelled", cancelled)
+            .toString();
+    }
+
+    private static String formatEvents(long events) {
+        return events < 0 ? "N/A" : String.valueOf(events);
+    }
+}
@@ -0,0 +1,246 @@
+package dev.threadgaugexp.core;
+
+import jdk.jfr.consumer.RecordingStream;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the same virtual-thread workload twice: once guarding the blocking section with
+ * {@code synchronized} (pins the carrier while blocked) and once with {@code ReentrantLock}
+ * (the virtual thread unmounts). Each operation does a short compute burst followed by a
+ * 1 ms blocking section on one of {@link #LOCK_STRIPES} locks.
+ */
+public class PinningStressTest extends TestEngine<PinningResult> {
+    private static final int LOCK_STRIPES = 32;
+    private static final String CARRIER_THREAD_CLASS = "jdk.internal.misc.CarrierThread";
+    private static final long JOIN_TIMEOUT_MS = 200;
+
+    private int threadCount;
+    private int durationSeconds;
+    private volatile boolean phaseRunning;
+
+    private final Object[] monitors = new Object[LOCK_STRIPES];
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final long[] stripeCounters = new long[LOCK_STRIPES];
+
+    // Pinned events are attributed to a phase by their start time
+    private final AtomicLong monitorPinned = new AtomicLong();
+    private final AtomicLong lockPinned = new AtomicLong();
+    private volatile Instant monitorStart = Instant.MAX;
+    private volatile Instant monitorEnd = Instant.MAX;
+    private volatile Instant lockStart = Instant.MAX;
+    private volatile Instant lockEnd = Instant.MAX;
+
+    public PinningStressTest(int threadCount, int durationSeconds) {
+        this.threadCount = threadCount;
+        this.durationSeconds = durationSeconds;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            monitors[i] = new Object();
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    protected PinningResult execute() throws Exception {
+        long phaseMillis = Math.max(1000L, durationSeconds * 1000L / 2);
+        publish("Starting pinning test with " + threadCount + " virtual threads, "
+                + (phaseMillis / 1000.0) + " s per lock style");
+        setStatus("Running pinning test...");
+
+        RecordingStream pinnedStream = startPinnedStream();
+        if (pinnedStream == null) {
+            publish("JFR streaming unavailable: pinned event counts will not be reported");
+        }
+
+        PinningResult result = new PinningResult();
+        result.threadCount = threadCount;
+        result.lockStripes = LOCK_STRIPES;
+        result.phaseDuration = phaseMillis / 1000.0;
+
+        try {
+            publish("Phase 1/2: synchronized sections (carrier is pinned while blocked)");
+            monitorStart = Instant.now();
+            PhaseStats monitor = runPhase(true, phaseMillis);
+            monitorEnd = Instant.now();
+            result.monitorOpsPerSecond = monitor.opsPerSecond;
+            result.monitorCarrierUtilisation = monitor.carrierUtilisation;
+            result.carrierCount = monitor.carrierCount;
+
+            if (!isCancelled()) {
+                publish("Phase 2/2: ReentrantLock sections (virtual thread unmounts while blocked)");
+                lockStart = Instant.now();
+                PhaseStats lock = runPhase(false, phaseMillis);
+                lockEnd = Instant.now();
+                result.lockOpsPerSecond = lock.opsPerSecond;
+                result.lockCarrierUtilisation = lock.carrierUtilisation;
+                result.carrierCount = Math.max(result.carrierCount, lock.carrierCount);
+            }
+        } finally {
+            if (pinnedStream != null) {
+                try {
+                    // stop() flushes events still buffered in the recording
+                    pinnedStream.stop();
+                } catch (Exception ignored) {
+                    // Counts may be slightly low if the final flush fails
+                }
+                pinnedStream.close();
+            }
+        }
+
+        result.monitorPinnedEvents = pinnedStream != null ? monitorPinned.get() : -1;
+        result.lockPinnedEvents = pinnedStream != null ? lockPinned.get() : -1;
+        result.cancelled = isCancelled();
+        return result;
+    }
+
+    private RecordingStream startPinnedStream() {
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            stream.onEvent("jdk.VirtualThreadPinned", event -> {
+                Instant start = event.getStartTime();
+                if (!start.isBefore(monitorStart) && start.isBefore(monitorEnd)) {
+                    monitorPinned.incrementAndGet();
+                } else if (!start.isBefore(lockStart) && start.isBefore(lockEnd)) {
+                    lockPinned.incrementAndGet();
+                }
+            });
+            stream.startAsync();
+            return stream;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private PhaseStats runPhase(boolean useMonitor, long phaseMillis) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        List<Thread> threads = new ArrayList<>(threadCount);
+        Thread.Builder builder = Thread.ofVirtual().name(useMonitor ? "PinSync-" : "PinLock-", 0);
+        phaseRunning = true;
+
+        for (int i = 0; i < threadCount && !isCancelled(); i++) {
+            final int stripe = i % LOCK_STRIPES;
+            threads.add(builder.start(() -> {
+                while (phaseRunning && !Thread.currentThread().isInterrupted()) {
+                    // Light computational work outside the lock
+                    double result = 0;
+                    for (int j = 0; j < 1000; j++) {
+                        result += Math.sqrt(j) * Math.sin(j);
+                    }
+                    try {
+                        if (useMonitor) {
+                            synchronized (monitors[stripe]) {
+                                blockingSection(stripe, result);
+                            }
+                        } else {
+                            locks[stripe].lock();
+                            try {
+                                blockingSection(stripe, result);
+                            } finally {
+                                locks[stripe].unlock();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    ops.increment();
+                }
+            }));
+        }
+
+        // Let the scheduler settle before taking the carrier CPU baseline
+        Thread.sleep(100);
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Map<Long, Long> cpuBefore = carrierCpuTimes(threadBean);
+        long opsBefore = ops.sum();
+        long start = System.nanoTime();
+
+        long end = start + TimeUnit.MILLISECONDS.toNanos(phaseMillis);
+        while (System.nanoTime() < end && !isCancelled()) {
+            Thread.sleep(Math.min(500, Math.max(1, TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()))));
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long opsDone = ops.sum() - opsBefore;
+        Map<Long, Long> cpuAfter = carrierCpuTimes(threadBean);
+
+        phaseRunning = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        for (Thread thread : threads) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) break;
+            thread.join(Math.min(JOIN_TIMEOUT_MS, remainingMs));
+        }
+
+        // Carriers that appeared mid-phase are counted from zero
+        long carrierCpu = 0;
+        for (Map.Entry<Long, Long> entry : cpuAfter.entrySet()) {
+            carrierCpu += entry.getValue() - cpuBefore.getOrDefault(entry.getKey(), 0L);
+        }
+        int parallelism = schedulerParallelism();
+
+        PhaseStats stats = new PhaseStats();
+        stats.carrierCount = cpuAfter.size();
+        stats.opsPerSecond = elapsed > 0 ? opsDone * 1e9 / elapsed : 0;
+        stats.carrierUtilisation = elapsed > 0 ? 100.0 * carrierCpu / ((double) elapsed * parallelism) : 0;
+        publish(String.format("%s: %.0f ops/s, carrier utilisation %.1f%% (%d carriers)",
+                useMonitor ? "synchronized" : "ReentrantLock",
+                stats.opsPerSecond, stats.carrierUtilisation, stats.carrierCount));
+        return stats;
+    }
+
+    private void blockingSection(int stripe, double value) throws InterruptedException {
+        // Blocking while holding the lock: this is what pins a carrier under synchronized
+        Thread.sleep(1);
+        stripeCounters[stripe] += (long) value & 1;
+    }
+
+    private static Map<Long, Long> carrierCpuTimes(ThreadMXBean threadBean) {
+        Map<Long, Long> times = new HashMap<>();
+        if (!threadBean.isThreadCpuTimeSupported()) {
+            return times;
+        }
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (CARRIER_THREAD_CLASS.equals(thread.getClass().getName())) {
+                long cpu = threadBean.getThreadCpuTime(thread.threadId());
+                if (cpu >= 0) {
+                    times.put(thread.threadId(), cpu);
+                }
+            }
+        }
+        return times;
+    }
+
+    private static int schedulerParallelism() {
+        String configured = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+        if (configured != null) {
+            try {
+                return Math.max(1, Integer.parseInt(configured.trim()));
+            } catch (NumberFormatException ignored) {
+                // Fall back to the scheduler default
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private static class PhaseStats {
+        double opsPerSecond;
+        double carrierUtilisation;
+        int carrierCount;
+    }
+}
@@ -0,0 +1,456 @@
+package dev.threadgaugexp.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Linux scheduler telemetry for this process, read from /proc between two calls to
+ * {@link #sample()}:
+ * <ul>
+ *   <li>voluntary and involuntary context switches per second, summed over all threads
+ *       ({@code /proc/self/task/<tid>/status}; {@code /proc/self/status} only covers the main thread)</li>
+ *   <li>threads currently runnable, and the average number of threads waiting in a run queue,
+ *       from the run-queue wait time in {@code /proc/self/task/<tid>/schedstat}</li>
+ *   <li>load average and system-wide runnable tasks ({@code /proc/loadavg})</li>
+ *   <li>CPU pressure stall percentages ({@code /proc/pressure/cpu}, kernel 4.20+ with PSI enabled)</li>
+ * </ul>
+ * Files are parsed in place from one reusable buffer and stay open between samples, re-read from
+ * offset 0. The task directory is listed again only when the JVM started threads, a thread exited
+ * or every {@value #RELIST_SAMPLES} samples (for native threads), and only threads new since the
+ * last listing cost an open. Open per-thread files are capped at half the process descriptor
+ * limit; threads past the cap are opened on each sample. The per-thread reads still cost in the
+ * order of 25 ms per 1,000 threads (the kernel formats every status file), so they are skipped
+ * while their last cost exceeds {@value #MAX_TASK_DUTY_PCT}% of the time since they last ran:
+ * with thousands of threads the per-thread figures then cover several samples and repeat in
+ * between. Unavailable values are NaN (or -1 for counts).
+ */
+public class ProcSampler implements AutoCloseable {
+    private static final String TASK_DIR = "/proc/self/task";
+    private static final Path LOADAVG = Paths.get("/proc/loadavg");
+    private static final Path CPU_PRESSURE = Paths.get("/proc/pressure/cpu");
+    /** Samples between listings of the task directory when no Java thread was started. */
+    private static final int RELIST_SAMPLES = 10;
+    /** Open per-thread descriptors when the process limit is unknown. */
+    private static final long DEFAULT_DESCRIPTOR_BUDGET = 2048;
+    /** Largest share of wall time the per-thread reads may take. */
+    private static final int MAX_TASK_DUTY_PCT = 5;
+
+    private static final byte[] VOLUNTARY = "\nvoluntary_ctxt_switches:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NONVOLUNTARY = "\nnonvoluntary_ctxt_switches:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] STATE = "\nState:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TOTAL = "total=".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] bytes = new byte[16 * 1024];
+    private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    /** Valid bytes in the buffer after the last read. */
+    private int length;
+    private final long[] scratch = new long[3];
+    private FileChannel loadavg;
+    private FileChannel cpuPressure;
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    // Threads of the last listing, sorted by tid, with their files (null past the descriptor budget)
+    private int taskCount;
+    private int[] taskIds = new int[256];
+    private FileChannel[] taskStatus = new FileChannel[256];
+    private FileChannel[] taskSchedstat = new FileChannel[256];
+    private int openTaskFiles;
+    private long listedStartedThreads = -1;
+    private int samplesSinceListing;
+    private boolean taskExited;
+
+    // Per-thread counters of the previous and current sample, sorted by tid
+    private TaskCounters previous = new TaskCounters();
+    private TaskCounters current = new TaskCounters();
+    private long previousNanos;
+    private long previousTasksNanos;
+    /** Duration of the last per-thread read, without the listing. */
+    private long taskReadNanos;
+    private boolean tasksPrimed;
+    private boolean tasksRated;
+    private long previousSomeMicros = -1;
+    private long previousFullMicros = -1;
+    private boolean primed;
+
+    public double voluntarySwitchesPerSecond = Double.NaN;
+    public double involuntarySwitchesPerSecond = Double.NaN;
+    /** Threads of this process in state R at the last sample, -1 if unavailable. */
+    public int runnableThreads = -1;
+    /** Run-queue wait time of all threads divided by wall time: the average number of threads waiting for a CPU. */
+    public double runQueueWaitThreads = Double.NaN;
+    public double loadAverage1 = Double.NaN;
+    /** Runnable tasks on the whole system (fourth field of /proc/loadavg), -1 if unavailable. */
+    public int systemRunnable = -1;
+    /** Share of wall time in which at least one task waited for a CPU. */
+    public double cpuPressureSomePct = Double.NaN;
+    /** Share of wall time in which all non-idle tasks waited for a CPU (cgroup level; 0 system-wide). */
+    public double cpuPressureFullPct = Double.NaN;
+
+    public static boolean isSupported() {
+        return new File(TASK_DIR).isDirectory();
+    }
+
+    public ProcSampler() {
+        loadavg = open(LOADAVG);
+        cpuPressure = open(CPU_PRESSURE);
+    }
+
+    private static FileChannel open(Path path) {
+        try {
+            return FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads all sources and updates the public fields. Rates cover the time since the previous
+     * call (the per-thread ones since their previous read); after the first call they are still NaN.
+     */
+    public void sample() {
+        long now = System.nanoTime();
+        // The first two reads always run: the first one's cost is inflated by cold code
+        if (!tasksRated || (now - previousTasksNanos) * MAX_TASK_DUTY_PCT >= taskReadNanos * 100) {
+            sampleTasks(now);
+        }
+        readLoadAverage();
+        long someMicros = -1;
+        long fullMicros = -1;
+        if (cpuPressure != null && read(cpuPressure) > 0) {
+            int some = indexOf(TOTAL, 0);
+            int full = some >= 0 ? indexOf(TOTAL, some + TOTAL.length) : -1;
+            someMicros = some >= 0 ? parseLong(some + TOTAL.length) : -1;
+            fullMicros = full >= 0 ? parseLong(full + TOTAL.length) : -1;
+        }
+
+        if (primed) {
+            double seconds = (now - previousNanos) / 1e9;
+            cpuPressureSomePct = someMicros >= 0 && previousSomeMicros >= 0
+                    ? (someMicros - previousSomeMicros) / (seconds * 1e4) : Double.NaN;
+            cpuPressureFullPct = fullMicros >= 0 && previousFullMicros >= 0
+                    ? (fullMicros - previousFullMicros) / (seconds * 1e4) : Double.NaN;
+        }
+        previousNanos = now;
+        previousSomeMicros = someMicros;
+        previousFullMicros = fullMicros;
+        primed = true;
+    }
+
+    private void sampleTasks(long now) {
+        readTasks();
+        if (tasksPrimed) {
+            double seconds = (now - previousTasksNanos) / 1e9;
+            long[] delta = current.deltaSince(previous, scratch);
+            voluntarySwitchesPerSecond = current.size > 0 ? delta[0] / seconds : Double.NaN;
+            involuntarySwitchesPerSecond = current.size > 0 ? delta[1] / seconds : Double.NaN;
+            runQueueWaitThreads = current.size > 0 && current.hasWaitTime ? delta[2] / (seconds * 1e9) : Double.NaN;
+            tasksRated = true;
+        }
+        TaskCounters swap = previous;
+        previous = current;
+        current = swap;
+        previousTasksNanos = now;
+        tasksPrimed = true;
+    }
+
+    private void readTasks() {
+        current.clear();
+        runnableThreads = -1;
+        long started = threadBean.getTotalStartedThreadCount();
+        if (taskCount == 0 || taskExited || started != listedStartedThreads
+                || ++samplesSinceListing >= RELIST_SAMPLES) {
+            if (!listTasks()) return;
+            listedStartedThreads = started;
+            samplesSinceListing = 0;
+            taskExited = false;
+        }
+        int runnable = 0;
+        int kept = 0;
+        // Timed without the listing, whose opens are paid once per new thread
+        long readStart = System.nanoTime();
+        for (int i = 0; i < taskCount; i++) {
+            int id = taskIds[i];
+            // A thread that exited since the listing fails the read; it is dropped until the next listing
+            if (readTask(taskStatus[i], id, "/status") <= 0) {
+                closeTask(i);
+                taskExited = true;
+                continue;
+            }
+            long voluntary = fieldAfter(VOLUNTARY);
+            long involuntary = fieldAfter(NONVOLUNTARY);
+            int state = indexOf(STATE, 0);
+            if (state >= 0 && charAfter(state + STATE.length) == 'R') runnable++;
+            long wait = -1;
+            if (readTask(taskSchedstat[i], id, "/schedstat") > 0) {
+                // "<ns on cpu> <ns waiting on a run queue> <timeslices>"
+                int second = skipNumber(0);
+                wait = second >= 0 ? parseLong(second) : -1;
+            }
+            current.add(id, voluntary, involuntary, wait);
+            taskIds[kept] = id;
+            taskStatus[kept] = taskStatus[i];
+            taskSchedstat[kept] = taskSchedstat[i];
+            kept++;
+        }
+        for (int i = kept; i < taskCount; i++) {
+            taskStatus[i] = null;
+            taskSchedstat[i] = null;
+        }
+        taskCount = kept;
+        runnableThreads = runnable;
+        taskReadNanos = Math.max(1, System.nanoTime() - readStart);
+    }
+
+    /**
+     * Lists the task directory and merges it into the open task files: files of threads that are
+     * gone are closed, new threads get theirs opened while the descriptor budget lasts. This is
+     * the only place that allocates per thread.
+     */
+    private boolean listTasks() {
+        String[] names = new File(TASK_DIR).list();
+        if (names == null) return false;
+        int[] listed = new int[names.length];
+        int count = 0;
+        for (String name : names) {
+            try {
+                listed[count] = Integer.parseInt(name);
+                count++;
+            } catch (NumberFormatException e) {
+                // Not a thread
+            }
+        }
+        Arrays.sort(listed, 0, count);
+
+        int[] ids = new int[Math.max(256, count)];
+        FileChannel[] status = new FileChannel[ids.length];
+        FileChannel[] schedstat = new FileChannel[ids.length];
+        long budget = descriptorBudget();
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            int id = listed[i];
+            while (j < taskCount && taskIds[j] < id) {
+                closeTask(j++);
+            }
+            ids[i] = id;
+            if (j < taskCount && taskIds[j] == id) {
+                status[i] = taskStatus[j];
+                schedstat[i] = taskSchedstat[j];
+                j++;
+            } else if (openTaskFiles + 2 <= budget) {
+                status[i] = openTask(id, "/status");
+                schedstat[i] = openTask(id, "/schedstat");
+            }
+        }
+        while (j < taskCount) {
+            closeTask(j++);
+        }
+        taskIds = ids;
+        taskStatus = status;
+        taskSchedstat = schedstat;
+        taskCount = count;
+        return true;
+    }
+
+    /** Half the process descriptor limit, so the rest of the application keeps room for its own. */
+    private static long descriptorBudget() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            long max = ((com.sun.management.UnixOperatingSystemMXBean) os).getMaxFileDescriptorCount();
+            if (max > 0) return max / 2;
+        }
+        return DEFAULT_DESCRIPTOR_BUDGET;
+    }
+
+    private FileChannel openTask(int id, String file) {
+        FileChannel channel = open(Paths.get(TASK_DIR + "/" + id + file));
+        if (channel != null) openTaskFiles++;
+        return channel;
+    }
+
+    private void closeTask(int index) {
+        closeTaskFile(taskStatus[index]);
+        closeTaskFile(taskSchedstat[index]);
+        taskStatus[index] = null;
+        taskSchedstat[index] = null;
+    }
+
+    private void closeTaskFile(FileChannel channel) {
+        if (channel == null) return;
+        openTaskFiles--;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Read-only
+        }
+    }
+
+    /** Reads a per-thread file through its open channel, or by opening it past the descriptor budget. */
+    private int readTask(FileChannel channel, int id, String file) {
+        return channel != null ? read(channel) : readFile(TASK_DIR + "/" + id + file);
+    }
+
+    private void readLoadAverage() {
+        if (loadavg == null || read(loadavg) <= 0) return;
+        // "0.61 19.78 83.72 3/103 13129"
+        loadAverage1 = parseDecimal(0);
+        int pos = 0;
+        for (int field = 0; field < 3 && pos >= 0; field++) {
+            pos = skipNumber(pos);
+        }
+        systemRunnable = pos >= 0 ? (int) parseLong(pos) : -1;
+    }
+
+    /** Reads a whole file into the buffer; returns the byte count, or -1. */
+    private int readFile(String path) {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            return read(channel);
+        } catch (IOException | SecurityException e) {
+            return -1;
+        }
+    }
+
+    private int read(FileChannel channel) {
+        buffer.clear();
+        try {
+            long position = 0;
+            int n;
+            while (buffer.hasRemaining() && (n = channel.read(buffer, position)) > 0) {
+                position += n;
+            }
+        } catch (IOException e) {
+            length = 0;
+            return -1;
+        }
+        length = buffer.position();
+        return length;
+    }
+
+    private int indexOf(byte[] key, int from) {
+        outer:
+        for (int i = from; i <= length - key.length; i++) {
+            for (int j = 0; j < key.length; j++) {
+                if (bytes[i + j] != key[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private long fieldAfter(byte[] key) {
+        int at = indexOf(key, 0);
+        return at >= 0 ? parseLong(at + key.length) : -1;
+    }
+
+    private char charAfter(int pos) {
+        while (pos < length && (bytes[pos] == ' ' || bytes[pos] == '\t')) pos++;
+        return pos < length ? (char) bytes[pos] : 0;
+    }
+
+    /** Parses the unsigned integer starting at or after pos (leading blanks skipped); -1 if none. */
+    private long parseLong(int pos) {
+        while (pos < length && (bytes[pos] == ' ' || bytes[pos] == '\t')) pos++;
+        long value = 0;
+        boolean digits = false;
+        while (pos < length && bytes[pos] >= '0' && bytes[pos] <= '9') {
+            value = value * 10 + (bytes[pos++] - '0');
+            digits = true;
+        }
+        return digits ? value : -1;
+    }
+
+    private double parseDecimal(int pos) {
+        long whole = parseLong(pos);
+        if (whole < 0) return Double.NaN;
+        while (pos < length && bytes[pos] >= '0' && bytes[pos] <= '9') pos++;
+        if (pos >= length || bytes[pos] != '.') return whole;
+        double fraction = 0;
+        double scale = 0.1;
+        for (pos++; pos < length && bytes[pos] >= '0' && bytes[pos] <= '9'; pos++) {
+            fraction += (bytes[pos] - '0') * scale;
+            scale /= 10;
+        }
+        return whole + fraction;
+    }
+
+    /** Position of the token after the number-like token at pos, or -1 at the end. */
+    private int skipNumber(int pos) {
+        while (pos < length && bytes[pos] != ' ' && bytes[pos] != '\n') pos++;
+        while (pos < length && bytes[pos] == ' ') pos++;
+        return pos < length ? pos : -1;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (loadavg != null) loadavg.close();
+            if (cpuPressure != null) cpuPressure.close();
+        } catch (IOException ignored) {
+            // Nothing to release beyond the descriptors
+        }
+        for (int i = 0; i < taskCount; i++) {
+            closeTask(i);
+        }
+        taskCount = 0;
+    }
+
+    /** Growable, tid-sorted arrays of cumulative per-thread counters. */
+    private static final class TaskCounters {
+        int size;
+        int[] tids = new int[256];
+        long[] voluntary = new long[256];
+        long[] involuntary = new long[256];
+        long[] wait = new long[256];
+        boolean hasWaitTime;
+
+        void clear() {
+            size = 0;
+            hasWaitTime = false;
+        }
+
+        void add(int tid, long vol, long invol, long waitNanos) {
+            if (size == tids.length) {
+                int capacity = size * 2;
+                tids = Arrays.copyOf(tids, capacity);
+                voluntary = Arrays.copyOf(voluntary, capacity);
+                involuntary = Arrays.copyOf(involuntary, capacity);
+                wait = Arrays.copyOf(wait, capacity);
+            }
+            tids[size] = tid;
+            voluntary[size] = Math.max(0, vol);
+            involuntary[size] = Math.max(0, invol);
+            wait[size] = Math.max(0, waitNanos);
+            hasWaitTime |= waitNanos >= 0;
+            size++;
+        }
+
+        /**
+         * Sums of voluntary, involuntary and wait deltas into {@code out}. Threads new since
+         * {@code before} count in full; threads that exited in between are lost for that interval.
+         */
+        long[] deltaSince(TaskCounters before, long[] out) {
+            out[0] = 0;
+            out[1] = 0;
+            out[2] = 0;
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                while (j < before.size && before.tids[j] < tids[i]) j++;
+                boolean known = j < before.size && before.tids[j] == tids[i];
+                // A reused tid can make a delta negative; it then counts as a new thread
+                out[0] += known && voluntary[i] >= before.voluntary[j] ? voluntary[i] - before.voluntary[j] : voluntary[i];
+                out[1] += known && involuntary[i] >= before.involuntary[j] ? involuntary[i] - before.involuntary[j] : involuntary[i];
+                out[2] += known && wait[i] >= before.wait[j] ? wait[i] - before.wait[j] : wait[i];
+            }
+            return out;
+        }
+    }
+}
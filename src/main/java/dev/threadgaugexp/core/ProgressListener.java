@@ -0,0 +1,15 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Receives progress from a running {@link TestEngine}. Called on the engine's thread;
+ * implementations must hand off to their own thread (e.g. the EDT) if needed.
+ */
+public interface ProgressListener {
+
+    ProgressListener NONE = message -> { };
+
+    void onMessage(String message);
+
+    default void onStatus(String status) {
+    }
+}
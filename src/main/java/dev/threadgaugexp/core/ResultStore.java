@@ -0,0 +1,234 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only run history on local disk, shared by the GUI and the CLI. Two JSON-lines files:
+ * <ul>
+ *   <li>{@code results.jsonl}: one line per run with the {@link RunRecord} envelope and the full
+ *   result JSON under {@code "result"}</li>
+ *   <li>{@code results.jsonl.idx}: the envelope plus the byte offset and length of the data line,
+ *   so listing and comparing runs never parses full results</li>
+ * </ul>
+ * Appends hold an exclusive file lock, so several processes can record runs at once. If the index
+ * misses data lines (a crash between the two writes, or a deleted index) it is rebuilt from the
+ * data file on the next read.
+ */
+public class ResultStore {
+    private final Path dataFile;
+    private final Path indexFile;
+    private final List<RunRecord> records = new ArrayList<>();
+    /** Bytes of the index file already loaded into {@link #records}. */
+    private long indexBytesRead;
+    /** End of the last data line covered by the index. */
+    private long dataIndexedEnd;
+
+    public ResultStore(Path dataFile) {
+        this.dataFile = dataFile;
+        this.indexFile = dataFile.resolveSibling(dataFile.getFileName() + ".idx");
+    }
+
+    /** {@code ~/.threadgauge/results.jsonl}. */
+    public static Path defaultPath() {
+        return Paths.get(System.getProperty("user.home"), ".threadgauge", "results.jsonl");
+    }
+
+    public Path getDataFile() {
+        return dataFile;
+    }
+
+    /** Records a finished run and returns its index entry. */
+    public synchronized RunRecord append(RunResult result) throws IOException {
+        RunRecord record = RunRecord.of(result);
+        String resultJson = result.toJson();
+        Path parent = dataFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel data = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // Released when the channel closes
+            data.lock();
+            refresh(data);
+            long offset = data.size();
+            if (offset > 0 && !endsWithNewline(data, offset)) {
+                // A torn last line from a crashed writer: end it so this record starts on its own line
+                writeFully(data, ByteBuffer.wrap(new byte[] {'\n'}), offset);
+                offset++;
+            }
+            byte[] line = (record.envelope().putRaw("result", resultJson) + "\n").getBytes(StandardCharsets.UTF_8);
+            record.offset = offset;
+            record.length = line.length - 1;
+            writeFully(data, ByteBuffer.wrap(line), offset);
+            appendIndex(record);
+            dataIndexedEnd = offset + line.length;
+        }
+        return record;
+    }
+
+    /** All stored runs, oldest first, including runs appended by other processes since the last call. */
+    public synchronized List<RunRecord> list() throws IOException {
+        if (Files.exists(dataFile)) {
+            try (FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                data.lock();
+                refresh(data);
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(records));
+    }
+
+    /** The stored result JSON of a run. */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> readResult(RunRecord record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(record.length);
+        try (FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (data.read(buffer, record.offset + buffer.position()) < 0) {
+                    throw new IOException("run record at offset " + record.offset + " is truncated");
+                }
+            }
+        }
+        try {
+            Object result = Json.parseObject(new String(buffer.array(), StandardCharsets.UTF_8)).get("result");
+            return result instanceof Map ? (Map<String, Object>) result : Map.of();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("run record at offset " + record.offset + " is unreadable: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The newest run before {@code current} with the same type, settings and host that completed
+     * and has metrics, or null.
+     */
+    public static RunRecord baselineFor(RunRecord current, List<RunRecord> history) {
+        RunRecord best = null;
+        for (RunRecord candidate : history) {
+            if (candidate == current || candidate.cancelled || candidate.metrics.isEmpty()) continue;
+            if (candidate.timestampMillis > current.timestampMillis) continue;
+            if (candidate.offset == current.offset && current.offset >= 0) continue;
+            if (!candidate.isComparableTo(current)) continue;
+            if (best == null || candidate.timestampMillis >= best.timestampMillis) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /** Loads index lines written since the last call, then indexes data lines the index misses. */
+    private void refresh(FileChannel data) throws IOException {
+        if (Files.exists(indexFile)) {
+            long size = Files.size(indexFile);
+            if (size < indexBytesRead) {
+                // Index replaced under us: start over
+                records.clear();
+                indexBytesRead = 0;
+                dataIndexedEnd = 0;
+            }
+            if (size > indexBytesRead) {
+                try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                    indexBytesRead += readLines(index, indexBytesRead, (line, offset) -> {
+                        RunRecord record = parse(line);
+                        if (record != null && record.offset >= 0 && record.length >= 0) {
+                            records.add(record);
+                            dataIndexedEnd = Math.max(dataIndexedEnd, record.offset + record.length + 1);
+                        }
+                    });
+                }
+            }
+        }
+        if (data.size() > dataIndexedEnd) {
+            long start = dataIndexedEnd;
+            readLines(data, start, (line, offset) -> {
+                RunRecord record = parse(line);
+                if (record != null) {
+                    record.offset = offset;
+                    record.length = line.length;
+                    appendIndex(record);
+                }
+                dataIndexedEnd = offset + line.length + 1;
+            });
+        }
+    }
+
+    private void appendIndex(RunRecord record) throws IOException {
+        byte[] line = (record.toIndexJson() + "\n").getBytes(StandardCharsets.UTF_8);
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                index.write(buffer);
+            }
+        }
+        indexBytesRead += line.length;
+        records.add(record);
+    }
+
+    private static RunRecord parse(byte[] line) {
+        try {
+            return RunRecord.fromJson(Json.parseObject(new String(line, StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            return null; // torn or foreign line; skipped
+        }
+    }
+
+    private interface LineHandler {
+        void accept(byte[] line, long offset) throws IOException;
+    }
+
+    /**
+     * Calls {@code handler} for every complete line from {@code start} on, with the line's byte
+     * offset. A final line without a newline is still being written and is left alone. Returns
+     * the bytes consumed.
+     */
+    private static long readLines(FileChannel channel, long start, LineHandler handler) throws IOException {
+        long end = channel.size();
+        InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(start)), 64 * 1024);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long position = start;
+        long lineStart = start;
+        while (position < end) {
+            int b = in.read();
+            if (b < 0) break;
+            position++;
+            if (b == '\n') {
+                if (line.size() > 0) {
+                    handler.accept(line.toByteArray(), lineStart);
+                }
+                line.reset();
+                lineStart = position;
+            } else {
+                line.write(b);
+            }
+        }
+        return lineStart - start;
+    }
+
+    private static boolean endsWithNewline(FileChannel channel, long size) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        return last.get(0) == '\n';
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package dev.threadgaugexp.core;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headline metrics of one run against a baseline run. A metric regresses when it moved in the
+ * wrong direction by more than the threshold, in percent of the baseline value.
+ */
+public class RunComparison {
+    /** Change in percent that counts as a regression unless the user picks another threshold. */
+    public static final double DEFAULT_THRESHOLD_PCT = 5.0;
+
+    public final RunRecord baseline;
+    public final RunRecord current;
+    public final double thresholdPct;
+    public final List<Row> rows = new ArrayList<>();
+
+    public static class Row {
+        public RunMetric metric;
+        public double baselineValue;
+        public double currentValue;
+        /** Change relative to the baseline, in percent; NaN when the baseline is zero. */
+        public double changePct;
+        public boolean regression;
+    }
+
+    public RunComparison(RunRecord baseline, RunRecord current, double thresholdPct) {
+        this.baseline = baseline;
+        this.current = current;
+        this.thresholdPct = thresholdPct;
+        for (Map.Entry<RunMetric, Double> entry : current.metrics.entrySet()) {
+            Double before = baseline.metrics.get(entry.getKey());
+            if (before == null) continue;
+            Row row = new Row();
+            row.metric = entry.getKey();
+            row.baselineValue = before;
+            row.currentValue = entry.getValue();
+            row.changePct = before != 0 ? (row.currentValue - before) / Math.abs(before) * 100.0 : Double.NaN;
+            double worse = row.metric.isHigherBetter() ? -row.changePct : row.changePct;
+            row.regression = !Double.isNaN(worse) && worse > thresholdPct;
+            rows.add(row);
+        }
+    }
+
+    public boolean hasRegression() {
+        for (Row row : rows) {
+            if (row.regression) return true;
+        }
+        return false;
+    }
+
+    /** Whether the two runs differ in JVM or flags, which is often the point of the comparison. */
+    public String environmentChanges() {
+        List<String> changes = new ArrayList<>();
+        if (!String.valueOf(baseline.jvm).equals(String.valueOf(current.jvm))) {
+            changes.add("JVM " + baseline.jvm + " -> " + current.jvm);
+        }
+        if (!String.valueOf(baseline.flags).equals(String.valueOf(current.flags))) {
+            changes.add("flags [" + baseline.flags + "] -> [" + current.flags + "]");
+        }
+        return changes.isEmpty() ? "same JVM and flags" : String.join(", ", changes);
+    }
+
+    public String summary() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        StringBuilder sb = new StringBuilder(String.format("%s %s: %s vs baseline %s (threshold %.1f%%)%n  %s",
+            current.type, current.config, format.format(new Date(current.timestampMillis)),
+            format.format(new Date(baseline.timestampMillis)), thresholdPct, environmentChanges()));
+        if (rows.isEmpty()) {
+            sb.append(String.format("%n  No metrics in common"));
+        }
+        for (Row row : rows) {
+            sb.append(String.format("%n  %-34s %14.1f -> %14.1f  %s%s", row.metric.getLabel(), row.baselineValue,
+                row.currentValue, Double.isNaN(row.changePct) ? "n/a" : String.format("%+.1f%%", row.changePct),
+                row.regression ? "  REGRESSION" : ""));
+        }
+        return sb.toString();
+    }
+}
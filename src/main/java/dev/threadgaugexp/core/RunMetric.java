@@ -0,0 +1,52 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Headline figures kept in the run history index and compared between runs.
+ */
+public enum RunMetric {
+    MAX_THREADS("maxThreads", "Max threads", true),
+    HEAP_PER_THREAD_KB("heapPerThreadKB", "Heap per thread (KB)", false),
+    HEAP_PER_VIRTUAL_THREAD_BYTES("heapPerVirtualThreadBytes", "Heap per virtual thread (bytes)", false),
+    RSS_PER_THREAD_KB("rssPerThreadKB", "RSS per thread (KB)", false),
+    STACK_COMMITTED_PER_THREAD_KB("stackCommittedPerThreadKB", "Committed stack per thread (KB)", false),
+    OPS_PER_SECOND("opsPerSecond", "Throughput (ops/s)", true),
+    PEAK_OPS_PER_SECOND("peakOpsPerSecond", "Peak throughput (ops/s)", true);
+
+    private final String key;
+    private final String label;
+    private final boolean higherIsBetter;
+
+    RunMetric(String key, String label, boolean higherIsBetter) {
+        this.key = key;
+        this.label = label;
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    /** Field name in the stored JSON. */
+    public String getKey() {
+        return key;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isHigherBetter() {
+        return higherIsBetter;
+    }
+
+    /** The metric stored under {@code key}, or null for keys written by a newer version. */
+    public static RunMetric forKey(String key) {
+        for (RunMetric metric : values()) {
+            if (metric.key.equals(key)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,166 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One stored run as the history index sees it: where and on what JVM it ran, what was measured
+ * with which settings, and its headline metrics. The full result stays in the data file at
+ * {@link #offset} and is only read on demand.
+ */
+public class RunRecord {
+    public long timestampMillis;
+    public String host;
+    public String os;
+    public int processors;
+    /** Runtime version and vendor, e.g. {@code 21.0.1+12-LTS (Eclipse Adoptium)}. */
+    public String jvm;
+    /** JVM input arguments, space separated. */
+    public String flags;
+    public String type;
+    /** Settings that must match for two runs to be comparable, e.g. {@code threads=100 workload=cpu}. */
+    public String config;
+    public boolean cancelled;
+    public Map<RunMetric, Double> metrics = new EnumMap<>(RunMetric.class);
+    /** Byte offset and length of the full record line in the data file. */
+    public long offset;
+    public int length;
+
+    private static String cachedHost;
+
+    /** Describes a result of this JVM, timestamped now. */
+    public static RunRecord of(RunResult result) {
+        RunRecord record = new RunRecord();
+        record.timestampMillis = System.currentTimeMillis();
+        record.host = hostName();
+        record.os = System.getProperty("os.name") + " " + System.getProperty("os.version") + " " + System.getProperty("os.arch");
+        record.processors = Runtime.getRuntime().availableProcessors();
+        record.jvm = System.getProperty("java.runtime.version") + " (" + System.getProperty("java.vendor") + ")";
+        record.flags = String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments());
+        record.type = result.type();
+        record.cancelled = result.isCancelled();
+        describe(result, record);
+        return record;
+    }
+
+    private static void describe(RunResult result, RunRecord record) {
+        if (result instanceof TestResult) {
+            TestResult test = (TestResult) result;
+            record.config = (test.virtualThreads ? "virtual" : "platform stack=" + test.stackSizeKB + "KB")
+                + " search=" + test.searchStrategy.name().toLowerCase();
+            record.put(RunMetric.MAX_THREADS, test.maxThreads);
+            if (test.virtualThreads) {
+                record.put(RunMetric.HEAP_PER_VIRTUAL_THREAD_BYTES, test.heapPerThreadBytes);
+            } else {
+                record.put(RunMetric.HEAP_PER_THREAD_KB, test.memoryPerThreadKB);
+            }
+            record.put(RunMetric.RSS_PER_THREAD_KB, test.rssPerThreadKB);
+            record.put(RunMetric.STACK_COMMITTED_PER_THREAD_KB, test.stackCommittedPerThreadKB);
+        } else if (result instanceof MemoryEstimator.MemoryResult) {
+            MemoryEstimator.MemoryResult memory = (MemoryEstimator.MemoryResult) result;
+            record.config = "stack=" + memory.stackSizeKB + "KB samples=" + memory.sampleSize
+                + " accounting=" + memory.accounting.name().toLowerCase();
+            record.put(RunMetric.HEAP_PER_THREAD_KB, memory.memoryPerThreadKB);
+            record.put(RunMetric.RSS_PER_THREAD_KB, memory.rssPerThreadKB);
+            record.put(RunMetric.STACK_COMMITTED_PER_THREAD_KB, memory.stackCommittedPerThreadKB);
+        } else if (result instanceof StressResult) {
+            StressResult stress = (StressResult) result;
+            record.config = "threads=" + stress.threadCount + " duration=" + stress.plannedDuration
+                + "s workload=" + stress.workload;
+            record.put(RunMetric.OPS_PER_SECOND, stress.opsPerSecond);
+        } else if (result instanceof ScalingResult) {
+            ScalingResult scaling = (ScalingResult) result;
+            double peak = Double.NaN;
+            int minThreads = Integer.MAX_VALUE;
+            int maxThreads = 0;
+            for (ScalingResult.Point point : scaling.points) {
+                peak = Double.isNaN(peak) ? point.opsPerSecond : Math.max(peak, point.opsPerSecond);
+                minThreads = Math.min(minThreads, point.threads);
+                maxThreads = Math.max(maxThreads, point.threads);
+            }
+            record.config = "threads=" + (maxThreads > 0 ? minThreads + "-" + maxThreads : "none")
+                + " duration=" + scaling.durationSeconds + "s workload=" + scaling.workload;
+            record.put(RunMetric.PEAK_OPS_PER_SECOND, peak);
+        } else {
+            // Stored for the record, but without headline metrics to compare
+            record.config = "";
+        }
+    }
+
+    private void put(RunMetric metric, double value) {
+        if (!Double.isNaN(value)) {
+            metrics.put(metric, value);
+        }
+    }
+
+    private static synchronized String hostName() {
+        if (cachedHost == null) {
+            try {
+                cachedHost = InetAddress.getLocalHost().getHostName();
+            } catch (Exception e) {
+                cachedHost = "unknown";
+            }
+        }
+        return cachedHost;
+    }
+
+    /** Same kind of run with the same settings on the same host. */
+    public boolean isComparableTo(RunRecord other) {
+        return type.equals(other.type) && config.equals(other.config) && host.equals(other.host);
+    }
+
+    /** The envelope fields, open for the caller to add the index position or the full result. */
+    Json.ObjectBuilder envelope() {
+        Json.ObjectBuilder metricJson = Json.object();
+        for (Map.Entry<RunMetric, Double> entry : metrics.entrySet()) {
+            metricJson.put(entry.getKey().getKey(), entry.getValue());
+        }
+        return Json.object()
+            .put("timestamp", timestampMillis)
+            .put("host", host)
+            .put("os", os)
+            .put("processors", processors)
+            .put("jvm", jvm)
+            .put("flags", flags)
+            .put("type", type)
+            .put("config", config)
+            .put("cancelled", cancelled)
+            .putRaw("metrics", metricJson.toString());
+    }
+
+    /** Index line: the envelope plus where the full record is. */
+    String toIndexJson() {
+        return envelope().put("offset", offset).put("length", length).toString();
+    }
+
+    /** Reads the envelope of an index or data line; offset and length are left to the caller when absent. */
+    @SuppressWarnings("unchecked")
+    static RunRecord fromJson(Map<String, Object> json) {
+        RunRecord record = new RunRecord();
+        record.timestampMillis = Json.getLong(json, "timestamp", 0);
+        record.host = String.valueOf(Json.getString(json, "host"));
+        record.os = Json.getString(json, "os");
+        record.processors = (int) Json.getLong(json, "processors", 0);
+        record.jvm = Json.getString(json, "jvm");
+        record.flags = Json.getString(json, "flags");
+        record.type = String.valueOf(Json.getString(json, "type"));
+        record.config = String.valueOf(Json.getString(json, "config"));
+        record.cancelled = Boolean.TRUE.equals(json.get("cancelled"));
+        Object metricJson = json.get("metrics");
+        if (metricJson instanceof Map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) metricJson).entrySet()) {
+                RunMetric metric = RunMetric.forKey(entry.getKey());
+                if (metric != null && entry.getValue() instanceof Number) {
+                    record.metrics.put(metric, ((Number) entry.getValue()).doubleValue());
+                }
+            }
+        }
+        record.offset = Json.getLong(json, "offset", -1);
+        record.length = (int) Json.getLong(json, "length", -1);
+        return record;
+    }
+}
@@ -0,0 +1,18 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Common view over the result of any {@link TestEngine}, used by the GUI dialog and the headless runner.
+ */
+public interface RunResult {
+
+    /** Short machine-friendly test type, e.g. {@code max-threads}. */
+    String type();
+
+    boolean isCancelled();
+
+    /** Multi-line human-readable summary. */
+    String summary();
+
+    /** Single-line JSON record. */
+    String toJson();
+}
@@ -0,0 +1,81 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+/**
+ * Mean, sample standard deviation and two-sided 95% confidence interval (Student t) of one
+ * metric across repeated trials.
+ */
+public class SampleStats {
+    // Two-sided 95% critical values of Student's t for 1..30 degrees of freedom
+    private static final double[] T_95 = {
+        12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+        2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+        2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    public String name;
+    public int n;
+    public double mean = Double.NaN;
+    public double stddev = Double.NaN;
+    /** Half-width of the 95% confidence interval; NaN with fewer than two samples. */
+    public double ci95 = Double.NaN;
+    public double min = Double.NaN;
+    public double max = Double.NaN;
+
+    public static SampleStats of(String name, double[] values, int count) {
+        SampleStats stats = new SampleStats();
+        stats.name = name;
+        stats.n = count;
+        if (count == 0) return stats;
+
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            sum += values[i];
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+        stats.mean = sum / count;
+        stats.min = min;
+        stats.max = max;
+        if (count > 1) {
+            double squares = 0;
+            for (int i = 0; i < count; i++) {
+                double d = values[i] - stats.mean;
+                squares += d * d;
+            }
+            stats.stddev = Math.sqrt(squares / (count - 1));
+            stats.ci95 = tCritical95(count - 1) * stats.stddev / Math.sqrt(count);
+        }
+        return stats;
+    }
+
+    /** Two-sided 95% t critical value; table up to 30 df, then coarse steps towards 1.96. */
+    public static double tCritical95(int degreesOfFreedom) {
+        if (degreesOfFreedom < 1) return Double.NaN;
+        if (degreesOfFreedom <= T_95.length) return T_95[degreesOfFreedom - 1];
+        if (degreesOfFreedom <= 40) return 2.021;
+        if (degreesOfFreedom <= 60) return 2.000;
+        if (degreesOfFreedom <= 120) return 1.980;
+        return 1.960;
+    }
+
+    /** Half-width of the interval relative to the mean, in percent. */
+    public double relativeCiPercent() {
+        return mean != 0 ? 100.0 * ci95 / Math.abs(mean) : Double.NaN;
+    }
+
+    public String toJson() {
+        return Json.object()
+            .put("name", name)
+            .put("n", n)
+            .put("mean", mean)
+            .put("stddev", stddev)
+            .put("ci95", ci95)
+            .put("min", min)
+            .put("max", max)
+            .toString();
+    }
+}
@@ -0,0 +1,101 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result data for the ScalingSweep engine: throughput per thread count and the fitted USL model.
+ */
+public class ScalingResult implements RunResult {
+    public int durationSeconds;
+    public String workload = WorkloadMix.DEFAULT_SPEC;
+    public List<Point> points = new ArrayList<>();
+    /** Null when fewer than two steps completed. */
+    public UslModel model;
+    public boolean cancelled;
+
+    public static class Point {
+        public int threads;
+        public double opsPerSecond;
+        public double opsPerSecondPerThread;
+        public double predictedOpsPerSecond = Double.NaN;
+        public long latencyP99Nanos;
+        public double cpuLoad;
+
+        public String toJson() {
+            return Json.object()
+                .put("threads", threads)
+                .put("opsPerSecond", opsPerSecond)
+                .put("opsPerSecondPerThread", opsPerSecondPerThread)
+                .put("predictedOpsPerSecond", predictedOpsPerSecond)
+                .put("latencyP99Nanos", latencyP99Nanos)
+                .put("cpuLoadPct", cpuLoad)
+                .toString();
+        }
+    }
+
+    @Override
+    public String type() {
+        return "scaling";
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String summary() {
+        StringBuilder sb = new StringBuilder(String.format("Scaling sweep %s (%d s per step, workload %s):",
+            cancelled ? "cancelled" : "completed", durationSeconds, workload));
+        sb.append(String.format("%n  %8s %12s %12s %12s %10s %7s", "Threads", "Ops/sec", "USL fit", "Per thread", "p99 us", "CPU %"));
+        for (Point point : points) {
+            sb.append(String.format("%n  %8d %12.0f %12s %12.1f %10.1f %7.1f",
+                point.threads, point.opsPerSecond,
+                Double.isNaN(point.predictedOpsPerSecond) ? "N/A" : String.format("%.0f", point.predictedOpsPerSecond),
+                point.opsPerSecondPerThread, point.latencyP99Nanos / 1000.0, point.cpuLoad));
+        }
+        if (model == null) {
+            return sb.append("\nNot enough completed steps for a USL fit").toString();
+        }
+        double peak = model.peakConcurrency();
+        sb.append(String.format("%nUSL: lambda %.1f ops/sec per thread, contention sigma %.4f, coherency kappa %.6f (R^2 %.3f)",
+            model.lambda, model.sigma, model.kappa, model.rSquared));
+        sb.append(String.format("%nAmdahl: sigma %.4f", model.amdahlSigma));
+        if (Double.isInfinite(model.peakThroughput())) {
+            // sigma and kappa both fitted to 0: throughput kept growing with every thread measured
+            sb.append("\nPredicted peak: linear scaling, no peak within the measured range");
+        } else if (Double.isInfinite(peak)) {
+            sb.append(String.format("%nPredicted peak: no coherency loss measured, throughput approaches %.0f ops/sec",
+                model.peakThroughput()));
+        } else {
+            sb.append(String.format("%nPredicted peak: %.0f ops/sec at ~%d threads", model.peakThroughput(), Math.round(peak)));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toJson() {
+        List<String> pointJson = new ArrayList<>();
+        for (Point point : points) {
+            pointJson.add(point.toJson());
+        }
+        Json.ObjectBuilder json = Json.object()
+            .put("type", type())
+            .put("durationSec", durationSeconds)
+            .put("workload", workload)
+            .putRaw("points", Json.array(pointJson));
+        if (model != null) {
+            json.put("lambda", model.lambda)
+                .put("sigma", model.sigma)
+                .put("kappa", model.kappa)
+                .put("amdahlSigma", model.amdahlSigma)
+                .put("rSquared", model.rSquared)
+                .put("peakThreads", model.peakConcurrency())
+                .put("peakOpsPerSecond", model.peakThroughput());
+        }
+        return json.put("cancelled", cancelled).toString();
+    }
+}
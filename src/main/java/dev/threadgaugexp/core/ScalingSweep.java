@@ -0,0 +1,103 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Series;
+
+import java.util.List;
+
+/**
+ * Runs the stress workload at a geometric series of thread counts and fits the measured
+ * throughput to the Universal Scalability Law (and Amdahl's law) to predict peak concurrency.
+ */
+public class ScalingSweep extends TestEngine<ScalingResult> {
+    private static final long SETTLE_MILLIS = 1000;
+
+    private final int minThreads;
+    private final int maxThreads;
+    private final int steps;
+    private final int durationSeconds;
+    private final String workloadSpec;
+    private volatile StressTest current;
+
+    public ScalingSweep(int minThreads, int maxThreads, int steps, int durationSeconds) {
+        this(minThreads, maxThreads, steps, durationSeconds, WorkloadMix.DEFAULT_SPEC);
+    }
+
+    /** {@code workloadSpec} is parsed up front so a bad spec fails here, not midway through the sweep. */
+    public ScalingSweep(int minThreads, int maxThreads, int steps, int durationSeconds, String workloadSpec) {
+        if (minThreads < 1 || maxThreads < minThreads) {
+            throw new IllegalArgumentException("thread range must satisfy 1 <= min <= max");
+        }
+        if (steps < 2) {
+            throw new IllegalArgumentException("steps must be >= 2 to fit a curve");
+        }
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.steps = steps;
+        this.durationSeconds = durationSeconds;
+        this.workloadSpec = WorkloadMix.parse(workloadSpec).spec();
+    }
+
+    @Override
+    public void cancel() {
+        super.cancel();
+        StressTest running = current;
+        if (running != null) {
+            running.cancel();
+        }
+    }
+
+    @Override
+    protected ScalingResult execute() throws Exception {
+        List<Integer> counts = Series.geometric(minThreads, maxThreads, steps);
+        publish("Scaling sweep over " + counts + " threads, " + durationSeconds + " s each, workload " + workloadSpec);
+
+        ScalingResult result = new ScalingResult();
+        result.durationSeconds = durationSeconds;
+        result.workload = workloadSpec;
+
+        for (int i = 0; i < counts.size() && !isCancelled(); i++) {
+            int threads = counts.get(i);
+            setStatus("Scaling sweep " + (i + 1) + "/" + counts.size() + ": " + threads + " threads");
+            // A fresh mix per step: workloads hold shared state between setUp and tearDown
+            StressTest stress = new StressTest(threads, durationSeconds, WorkloadMix.parse(workloadSpec));
+            current = stress;
+            if (isCancelled()) break;
+            StressResult step = stress.run(message -> publish("  [" + threads + " threads] " + message));
+            current = null;
+            if (step.isCancelled()) break;
+
+            ScalingResult.Point point = new ScalingResult.Point();
+            point.threads = threads;
+            point.opsPerSecond = step.opsPerSecond;
+            point.opsPerSecondPerThread = step.opsPerSecondPerThread;
+            point.latencyP99Nanos = step.latencyP99Nanos;
+            point.cpuLoad = step.averageCpuLoad;
+            result.points.add(point);
+            publish(String.format("%d threads: %.0f ops/sec (%.1f per thread), iteration p99 %.1f us",
+                    threads, point.opsPerSecond, point.opsPerSecondPerThread, point.latencyP99Nanos / 1000.0));
+
+            // Let the previous step's threads die and their memory be reclaimed
+            System.gc();
+            Thread.sleep(SETTLE_MILLIS);
+        }
+
+        if (result.points.size() >= 2) {
+            int[] threads = new int[result.points.size()];
+            double[] throughput = new double[threads.length];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = result.points.get(i).threads;
+                throughput[i] = result.points.get(i).opsPerSecond;
+            }
+            try {
+                result.model = UslModel.fit(threads, throughput);
+                for (ScalingResult.Point point : result.points) {
+                    point.predictedOpsPerSecond = result.model.predict(point.threads);
+                }
+            } catch (IllegalArgumentException e) {
+                publish("USL fit skipped: " + e.getMessage());
+            }
+        }
+        result.cancelled = isCancelled();
+        return result;
+    }
+}
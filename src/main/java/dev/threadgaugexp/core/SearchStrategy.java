@@ -0,0 +1,30 @@
+package dev.threadgaugexp.core;
+
+/**
+ * How ThreadTester searches for the thread ceiling.
+ */
+public enum SearchStrategy {
+    /** Keep adding threads until creation fails or a limit is hit (one long climb). */
+    LINEAR("Linear"),
+    /**
+     * Double the probe size until a probe fails, then bisect between the most threads a probe
+     * reached (failed probes included) and the first failure. Every probe starts from zero
+     * threads and is torn down before the next one.
+     */
+    EXPONENTIAL_BISECT("Exponential + Bisect");
+
+    private final String label;
+
+    SearchStrategy(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
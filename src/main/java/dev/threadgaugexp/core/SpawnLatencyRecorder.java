@@ -0,0 +1,72 @@
+package dev.threadgaugexp.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records thread creation and start latency into per-band histograms, where a band is a range of
+ * live thread counts: [0, 1024), [1024, 2048), [2048, 4096), ... All histograms are allocated up
+ * front so recording inside the spawn loop does not allocate.
+ */
+public class SpawnLatencyRecorder {
+    private static final int FIRST_BAND_SIZE = 1024;
+    static final int BAND_COUNT = 24;
+
+    private final LatencyHistogram[] create = new LatencyHistogram[BAND_COUNT];
+    private final LatencyHistogram[] start = new LatencyHistogram[BAND_COUNT];
+
+    public SpawnLatencyRecorder() {
+        for (int i = 0; i < BAND_COUNT; i++) {
+            create[i] = new LatencyHistogram();
+            start[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * @param liveThreads number of test threads alive when this one was created
+     */
+    public void record(int liveThreads, long createNanos, long startNanos) {
+        int band = bandOf(liveThreads);
+        create[band].record(createNanos);
+        start[band].record(startNanos);
+    }
+
+    static int bandOf(int liveThreads) {
+        if (liveThreads < FIRST_BAND_SIZE) return 0;
+        int band = 64 - Long.numberOfLeadingZeros(liveThreads / FIRST_BAND_SIZE);
+        return Math.min(band, BAND_COUNT - 1);
+    }
+
+    static int bandStart(int band) {
+        return band == 0 ? 0 : FIRST_BAND_SIZE << (band - 1);
+    }
+
+    /** Histogram of start latency over all bands. */
+    public LatencyHistogram totalStart() {
+        LatencyHistogram total = new LatencyHistogram();
+        for (LatencyHistogram h : start) {
+            total.add(h);
+        }
+        return total;
+    }
+
+    /** Summary rows for every band that received samples. */
+    public List<LatencyBand> bands() {
+        List<LatencyBand> rows = new ArrayList<>();
+        for (int i = 0; i < BAND_COUNT; i++) {
+            if (start[i].getTotalCount() == 0) continue;
+            LatencyBand row = new LatencyBand();
+            row.fromThreads = bandStart(i);
+            row.toThreads = i == BAND_COUNT - 1 ? Integer.MAX_VALUE : bandStart(i + 1);
+            row.samples = start[i].getTotalCount();
+            row.createP50Nanos = create[i].valueAtPercentile(50);
+            row.createP99Nanos = create[i].valueAtPercentile(99);
+            row.createMaxNanos = create[i].getMax();
+            row.startP50Nanos = start[i].valueAtPercentile(50);
+            row.startP99Nanos = start[i].valueAtPercentile(99);
+            row.startMaxNanos = start[i].getMax();
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,106 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+import dev.threadgaugexp.util.Series;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the max threads probe and the native memory estimate across a geometric range of stack
+ * sizes. Every measurement runs in its own child JVM, so one stack size never inherits committed
+ * stacks, heap growth or exhausted native limits from the previous one.
+ */
+public class StackSizeSweep extends TestEngine<StackSweepResult> {
+    private final int minStackKB;
+    private final int maxStackKB;
+    private final int steps;
+    private final SearchStrategy strategy;
+    private final int memorySamples;
+
+    public StackSizeSweep(int minStackKB, int maxStackKB, int steps, SearchStrategy strategy, int memorySamples) {
+        if (minStackKB <= 0 || maxStackKB < minStackKB) {
+            throw new IllegalArgumentException("stack range must satisfy 0 < min <= max");
+        }
+        if (steps < 1) {
+            throw new IllegalArgumentException("steps must be >= 1");
+        }
+        this.minStackKB = minStackKB;
+        this.maxStackKB = maxStackKB;
+        this.steps = steps;
+        this.strategy = strategy;
+        this.memorySamples = memorySamples;
+    }
+
+    @Override
+    protected StackSweepResult execute() throws Exception {
+        List<Integer> sizes = Series.geometric(minStackKB, maxStackKB, steps);
+        publish("Stack size sweep: " + sizes + " KB, search " + strategy + ", " + memorySamples
+                + " memory samples, one child JVM per measurement");
+        long start = System.nanoTime();
+
+        StackSweepResult result = new StackSweepResult();
+        result.minStackKB = minStackKB;
+        result.maxStackKB = maxStackKB;
+        result.searchStrategy = strategy;
+        result.memorySamples = memorySamples;
+
+        for (int i = 0; i < sizes.size() && !isCancelled(); i++) {
+            int stackKB = sizes.get(i);
+            setStatus("Stack sweep " + (i + 1) + "/" + sizes.size() + ": " + stackKB + " KB");
+            StackSweepResult.Row row = new StackSweepResult.Row();
+            row.stackSizeKB = stackKB;
+            result.rows.add(row);
+
+            measureMaxThreads(row);
+            if (!isCancelled()) {
+                measureMemory(row);
+            }
+            publish(String.format("%d KB: max threads %s, RSS/thread %s KB, spawn p99 %s us",
+                stackKB,
+                row.maxThreads >= 0 ? Integer.toString(row.maxThreads) : "N/A",
+                Double.isNaN(row.rssPerThreadKB) ? "N/A" : String.format("%.1f", row.rssPerThreadKB),
+                row.spawnStartP99Nanos >= 0 ? String.format("%.1f", row.spawnStartP99Nanos / 1000.0) : "N/A"));
+        }
+
+        result.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        result.cancelled = isCancelled();
+        return result;
+    }
+
+    private void measureMaxThreads(StackSweepResult.Row row) throws InterruptedException {
+        List<String> args = List.of("max-threads", "--stack", Integer.toString(row.stackSizeKB),
+                "--search", strategy == SearchStrategy.LINEAR ? "linear" : "bisect");
+        Map<String, Object> json = runChild(row, List.of(), args);
+        if (json == null) return;
+        row.maxThreads = (int) Json.getLong(json, "maxThreads", -1);
+        row.stopReason = Json.getString(json, "stopReason");
+        row.spawnStartP50Nanos = Json.getLong(json, "spawnStartP50Nanos", -1);
+        row.spawnStartP99Nanos = Json.getLong(json, "spawnStartP99Nanos", -1);
+    }
+
+    private void measureMemory(StackSweepResult.Row row) throws InterruptedException {
+        // NMT only in this child: it slows thread creation and would skew the spawn latencies above
+        List<String> args = List.of("memory", "--samples", Integer.toString(memorySamples),
+                "--stack", Integer.toString(row.stackSizeKB), "--accounting", "native");
+        Map<String, Object> json = runChild(row, List.of("-XX:NativeMemoryTracking=summary"), args);
+        if (json == null) return;
+        row.rssPerThreadKB = Json.getDouble(json, "rssPerThreadKB");
+        row.stackCommittedPerThreadKB = Json.getDouble(json, "stackCommittedPerThreadKB");
+        row.heapPerThreadKB = Json.getLong(json, "memoryPerThreadKB", -1);
+    }
+
+    private Map<String, Object> runChild(StackSweepResult.Row row, List<String> jvmArgs, List<String> args)
+            throws InterruptedException {
+        String prefix = "  [" + row.stackSizeKB + " KB " + args.get(0) + "] ";
+        try {
+            return new ChildJvm(jvmArgs, args).run(message -> publish(prefix + message), this::isCancelled);
+        } catch (IOException e) {
+            publish(prefix + "failed: " + e.getMessage());
+            String error = args.get(0) + ": " + e.getMessage();
+            row.error = row.error == null ? error : row.error + "; " + error;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result data for the StackSizeSweep engine: one row per stack size, each measured in its own JVM.
+ */
+public class StackSweepResult implements RunResult {
+    public int minStackKB;
+    public int maxStackKB;
+    public SearchStrategy searchStrategy = SearchStrategy.EXPONENTIAL_BISECT;
+    public int memorySamples;
+    public List<Row> rows = new ArrayList<>();
+    public long elapsedMillis;
+    public boolean cancelled;
+
+    public static class Row {
+        public int stackSizeKB;
+        public int maxThreads = -1;
+        public String stopReason;
+        public long spawnStartP50Nanos = -1;
+        public long spawnStartP99Nanos = -1;
+        /** From the memory child; NaN when not measured or unavailable. */
+        public double rssPerThreadKB = Double.NaN;
+        public double stackCommittedPerThreadKB = Double.NaN;
+        public long heapPerThreadKB = -1;
+        /** Why a child did not produce a result, or null. */
+        public String error;
+
+        public String toJson() {
+            return Json.object()
+                .put("stackSizeKB", stackSizeKB)
+                .put("maxThreads", maxThreads)
+                .put("stopReason", stopReason)
+                .put("spawnStartP50Nanos", spawnStartP50Nanos)
+                .put("spawnStartP99Nanos", spawnStartP99Nanos)
+                .put("rssPerThreadKB", rssPerThreadKB)
+                .put("stackCommittedPerThreadKB", stackCommittedPerThreadKB)
+                .put("heapPerThreadKB", heapPerThreadKB)
+                .put("error", error)
+                .toString();
+        }
+    }
+
+    @Override
+    public String type() {
+        return "stack-sweep";
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String summary() {
+        StringBuilder sb = new StringBuilder(String.format(
+            "Stack size sweep %d-%d KB (%d sizes, %s, %d memory samples, %.1f s):",
+            minStackKB, maxStackKB, rows.size(), searchStrategy, memorySamples, elapsedMillis / 1000.0));
+        sb.append(String.format("%n  %9s %12s %14s %14s %14s", "Stack KB", "Max threads", "RSS/thread KB",
+            "Stack commit KB", "Spawn p99 us"));
+        for (Row row : rows) {
+            sb.append(String.format("%n  %9d %12s %14s %14s %14s",
+                row.stackSizeKB,
+                row.maxThreads >= 0 ? Integer.toString(row.maxThreads) : "N/A",
+                formatKB(row.rssPerThreadKB),
+                formatKB(row.stackCommittedPerThreadKB),
+                row.spawnStartP99Nanos >= 0 ? String.format("%.1f", row.spawnStartP99Nanos / 1000.0) : "N/A"));
+            if (row.error != null) {
+                sb.append("  (").append(row.error).append(')');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String formatKB(double kb) {
+        return Double.isNaN(kb) ? "N/A" : String.format("%.1f", kb);
+    }
+
+    @Override
+    public String toJson() {
+        List<String> rowJson = new ArrayList<>();
+        for (Row row : rows) {
+            rowJson.add(row.toJson());
+        }
+        return Json.object()
+            .put("type", type())
+            .put("minStackKB", minStackKB)
+            .put("maxStackKB", maxStackKB)
+            .put("searchStrategy", searchStrategy.name())
+            .put("memorySamples", memorySamples)
+            .put("elapsedMillis", elapsedMillis)
+            .putRaw("rows", Json.array(rowJson))
+            .put("cancelled", cancelled)
+            .toString();
+    }
+}
@@ -0,0 +1,74 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+/**
+ * Throughput and iteration latency of the stress workers over one sampling interval.
+ */
+public class StressInterval {
+    /** Interval end, seconds since the workers were started. */
+    public double elapsedSeconds;
+    public double opsPerSecond;
+    public long latencyP50Nanos;
+    public long latencyP99Nanos;
+    public long latencyMaxNanos;
+    /** Average CPU load over the interval in percent, NaN if unavailable. */
+    public double cpuLoad = Double.NaN;
+    /** Scheduler figures from {@link ProcSampler} over the interval; NaN/-1 when /proc is not available. */
+    public double voluntarySwitchesPerSecond = Double.NaN;
+    public double involuntarySwitchesPerSecond = Double.NaN;
+    public int runnableThreads = -1;
+    public double runQueueWaitThreads = Double.NaN;
+    public double loadAverage1 = Double.NaN;
+    public int systemRunnable = -1;
+    public double cpuPressureSomePct = Double.NaN;
+    public double cpuPressureFullPct = Double.NaN;
+
+    /** Per-worker CPU time as a percentage of the interval (ThreadMXBean); NaN when unavailable. */
+    public double cpuShareMinPct = Double.NaN;
+    public double cpuShareMedianPct = Double.NaN;
+    public double cpuShareMaxPct = Double.NaN;
+    public double cpuShareFairness = Double.NaN;
+
+    void copyCpuShare(ThreadCpuSampler.CpuShareStats stats) {
+        if (stats == null || stats.threads == 0) return;
+        cpuShareMinPct = stats.minPct;
+        cpuShareMedianPct = stats.medianPct;
+        cpuShareMaxPct = stats.maxPct;
+        cpuShareFairness = stats.jainIndex;
+    }
+
+    void copyScheduler(ProcSampler sampler) {
+        voluntarySwitchesPerSecond = sampler.voluntarySwitchesPerSecond;
+        involuntarySwitchesPerSecond = sampler.involuntarySwitchesPerSecond;
+        runnableThreads = sampler.runnableThreads;
+        runQueueWaitThreads = sampler.runQueueWaitThreads;
+        loadAverage1 = sampler.loadAverage1;
+        systemRunnable = sampler.systemRunnable;
+        cpuPressureSomePct = sampler.cpuPressureSomePct;
+        cpuPressureFullPct = sampler.cpuPressureFullPct;
+    }
+
+    public String toJson() {
+        return Json.object()
+            .put("elapsedSec", elapsedSeconds)
+            .put("opsPerSecond", opsPerSecond)
+            .put("latencyP50Nanos", latencyP50Nanos)
+            .put("latencyP99Nanos", latencyP99Nanos)
+            .put("latencyMaxNanos", latencyMaxNanos)
+            .put("cpuLoadPct", cpuLoad)
+            .put("cpuShareMinPct", cpuShareMinPct)
+            .put("cpuShareMedianPct", cpuShareMedianPct)
+            .put("cpuShareMaxPct", cpuShareMaxPct)
+            .put("cpuShareFairness", cpuShareFairness)
+            .put("voluntarySwitchesPerSecond", voluntarySwitchesPerSecond)
+            .put("involuntarySwitchesPerSecond", involuntarySwitchesPerSecond)
+            .put("runnableThreads", runnableThreads)
+            .put("runQueueWaitThreads", runQueueWaitThreads)
+            .put("loadAverage1", loadAverage1)
+            .put("systemRunnable", systemRunnable)
+            .put("cpuPressureSomePct", cpuPressureSomePct)
+            .put("cpuPressureFullPct", cpuPressureFullPct)
+            .toString();
+    }
+}
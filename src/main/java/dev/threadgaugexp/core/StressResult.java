@@ -1,12 +1,197 @@
 package dev.threadgaugexp.core;
 
+import dev.threadgaugexp.util.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Result data for the StressTest SwingWorker.
+ * Result data for the StressTest engine.
  */
-public class StressResult {
+public class StressResult implements RunResult {
     public int threadCount;
     public int plannedDuration;
     public double actualDuration;
     public double averageCpuLoad;
+    /** Workload spec, e.g. {@code light} or {@code cpu:3,io:1}. */
+    public String workload = WorkloadMix.DEFAULT_SPEC;
+    /** First exception thrown by a workload iteration, or null. */
+    public String workloadError;
+    /** Workload iterations completed by all workers during the measured window. */
+    public long totalOps;
+    public double opsPerSecond;
+    public double opsPerSecondPerThread;
+    public double minThreadOpsPerSecond;
+    public double maxThreadOpsPerSecond;
+    /** Wall time of one workload iteration, without the profile's think time. */
+    public long latencyP50Nanos;
+    public long latencyP90Nanos;
+    public long latencyP99Nanos;
+    public long latencyP999Nanos;
+    public long latencyMaxNanos;
+    /** Throughput and latency per sampling interval, in order. */
+    public List<StressInterval> intervals = new ArrayList<>();
+    /** GC pauses and safepoints per band of live platform threads. */
+    public List<PauseBand> pauseBands = new ArrayList<>();
+    /** Whether JFR supplied safepoint and exact pause data (otherwise GC MXBean notifications only). */
+    public boolean pauseJfr;
+    /** Per-worker CPU time over the measured window (ThreadMXBean); NaN when unavailable. */
+    public double workerCpuSeconds = Double.NaN;
+    public double measuredWallSeconds = Double.NaN;
+    public double cpuShareMinPct = Double.NaN;
+    public double cpuShareMedianPct = Double.NaN;
+    public double cpuShareMaxPct = Double.NaN;
+    public double cpuShareFairness = Double.NaN;
+    /** Interval averages of the /proc scheduler figures; NaN when not sampled (non-Linux). */
+    public double voluntarySwitchesPerSecond = Double.NaN;
+    public double involuntarySwitchesPerSecond = Double.NaN;
+    public double runQueueWaitThreads = Double.NaN;
+    public double cpuPressureSomePct = Double.NaN;
+    public double cpuPressureFullPct = Double.NaN;
+    /**
+     * Raw per-worker figures over the measured window, in worker order: completed operations and
+     * CPU nanoseconds (-1 when unavailable). Too large for the JSON result; the telemetry export
+     * writes them. Null when not measured.
+     */
+    public long[] workerOps;
+    public long[] workerCpuNanos;
     public boolean cancelled;
+
+    @Override
+    public String type() {
+        return "stress";
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String summary() {
+        return String.format(
+            "Stress test %s:\nThreads: %d\nWorkload: %s\nDuration: %.1f / %d seconds\nAverage CPU Load: %.1f%%"
+                + "\nThroughput: %.0f ops/sec (%.1f per thread, slowest %.1f, fastest %.1f)"
+                + "\nIteration latency (us): p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f",
+            cancelled ? "cancelled" : "completed", threadCount, workload, actualDuration, plannedDuration, averageCpuLoad,
+            opsPerSecond, opsPerSecondPerThread, minThreadOpsPerSecond, maxThreadOpsPerSecond,
+            latencyP50Nanos / 1000.0, latencyP90Nanos / 1000.0, latencyP99Nanos / 1000.0,
+            latencyP999Nanos / 1000.0, latencyMaxNanos / 1000.0
+        ) + (workloadError != null ? "\nWorkload error: " + workloadError : "") + cpuShareLine() + schedulerLine() + "\n" + intervalTable()
+            + (pauseBands.isEmpty() ? "" : "\n" + PauseBand.table(pauseBands, pauseJfr));
+    }
+
+    public void setCpuShare(ThreadCpuSampler.CpuShareStats stats) {
+        if (stats == null || stats.threads == 0) return;
+        workerCpuSeconds = stats.cpuSeconds;
+        measuredWallSeconds = stats.wallSeconds;
+        cpuShareMinPct = stats.minPct;
+        cpuShareMedianPct = stats.medianPct;
+        cpuShareMaxPct = stats.maxPct;
+        cpuShareFairness = stats.jainIndex;
+    }
+
+    private String cpuShareLine() {
+        if (Double.isNaN(workerCpuSeconds)) return "";
+        return String.format("%nWorker CPU: %.2f s CPU in %.2f s wall (%.2f cores busy, %.1f%% of thread time);"
+                + " per thread min %.1f%% / median %.1f%% / max %.1f%%, fairness %.3f",
+            workerCpuSeconds, measuredWallSeconds, workerCpuSeconds / measuredWallSeconds,
+            threadCount > 0 ? workerCpuSeconds * 100 / (measuredWallSeconds * threadCount) : 0,
+            cpuShareMinPct, cpuShareMedianPct, cpuShareMaxPct, cpuShareFairness);
+    }
+
+    private String schedulerLine() {
+        if (Double.isNaN(involuntarySwitchesPerSecond)) return "";
+        return String.format("%nScheduler: %.0f voluntary + %.0f involuntary switches/sec, %.2f threads waiting for a CPU,"
+                + " CPU pressure some %s / full %s",
+            voluntarySwitchesPerSecond, involuntarySwitchesPerSecond, runQueueWaitThreads,
+            formatPct(cpuPressureSomePct), formatPct(cpuPressureFullPct));
+    }
+
+    private static String formatPct(double pct) {
+        return Double.isNaN(pct) ? "N/A" : String.format("%.1f%%", pct);
+    }
+
+    /** Averages the scheduler figures of all intervals into the run-level fields. */
+    public void summarizeScheduler() {
+        voluntarySwitchesPerSecond = average(interval -> interval.voluntarySwitchesPerSecond);
+        involuntarySwitchesPerSecond = average(interval -> interval.involuntarySwitchesPerSecond);
+        runQueueWaitThreads = average(interval -> interval.runQueueWaitThreads);
+        cpuPressureSomePct = average(interval -> interval.cpuPressureSomePct);
+        cpuPressureFullPct = average(interval -> interval.cpuPressureFullPct);
+    }
+
+    private double average(java.util.function.ToDoubleFunction<StressInterval> field) {
+        double sum = 0;
+        int count = 0;
+        for (StressInterval interval : intervals) {
+            double value = field.applyAsDouble(interval);
+            if (!Double.isNaN(value)) {
+                sum += value;
+                count++;
+            }
+        }
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    /** Throughput and latency over time, one line per interval. */
+    public String intervalTable() {
+        StringBuilder sb = new StringBuilder(
+            "Over time    ops/sec    p50 us    p99 us     max us   CPU %  thread CPU % min/med/max  fair"
+                + "   vol cs/s invol cs/s  RQ wait  PSI some");
+        for (StressInterval interval : intervals) {
+            sb.append(String.format("%n  %6.1f s %10.0f %9.1f %9.1f %10.1f %7s %24s %5s %10s %10s %8s %9s",
+                interval.elapsedSeconds, interval.opsPerSecond, interval.latencyP50Nanos / 1000.0,
+                interval.latencyP99Nanos / 1000.0, interval.latencyMaxNanos / 1000.0,
+                format(interval.cpuLoad, "%.1f"),
+                Double.isNaN(interval.cpuShareMedianPct) ? "N/A" : String.format("%.1f/%.1f/%.1f",
+                    interval.cpuShareMinPct, interval.cpuShareMedianPct, interval.cpuShareMaxPct),
+                format(interval.cpuShareFairness, "%.2f"), format(interval.voluntarySwitchesPerSecond, "%.0f"),
+                format(interval.involuntarySwitchesPerSecond, "%.0f"), format(interval.runQueueWaitThreads, "%.2f"),
+                format(interval.cpuPressureSomePct, "%.1f")));
+        }
+        return sb.toString();
+    }
+
+    private static String format(double value, String pattern) {
+        return Double.isNaN(value) ? "N/A" : String.format(pattern, value);
+    }
+
+    @Override
+    public String toJson() {
+        return Json.object()
+            .put("type", type())
+            .put("threadCount", threadCount)
+            .put("workload", workload)
+            .put("workloadError", workloadError)
+            .put("plannedDurationSec", plannedDuration)
+            .put("actualDurationSec", actualDuration)
+            .put("averageCpuLoadPct", averageCpuLoad)
+            .put("totalOps", totalOps)
+            .put("opsPerSecond", opsPerSecond)
+            .put("opsPerSecondPerThread", opsPerSecondPerThread)
+            .put("minThreadOpsPerSecond", minThreadOpsPerSecond)
+            .put("maxThreadOpsPerSecond", maxThreadOpsPerSecond)
+            .put("latencyP50Nanos", latencyP50Nanos)
+            .put("latencyP90Nanos", latencyP90Nanos)
+            .put("latencyP99Nanos", latencyP99Nanos)
+            .put("latencyP999Nanos", latencyP999Nanos)
+            .put("latencyMaxNanos", latencyMaxNanos)
+            .put("workerCpuSeconds", workerCpuSeconds)
+            .put("measuredWallSeconds", measuredWallSeconds)
+            .put("cpuShareMinPct", cpuShareMinPct)
+            .put("cpuShareMedianPct", cpuShareMedianPct)
+            .put("cpuShareMaxPct", cpuShareMaxPct)
+            .put("cpuShareFairness", cpuShareFairness)
+            .put("voluntarySwitchesPerSecond", voluntarySwitchesPerSecond)
+            .put("involuntarySwitchesPerSecond", involuntarySwitchesPerSecond)
+            .put("runQueueWaitThreads", runQueueWaitThreads)
+            .put("cpuPressureSomePct", cpuPressureSomePct)
+            .put("cpuPressureFullPct", cpuPressureFullPct)
+            .putRaw("intervals", Json.array(intervals.stream().map(StressInterval::toJson).toList()))
+            .put("pauseJfr", pauseJfr)
+            .putRaw("pauseBands", Json.array(pauseBands.stream().map(PauseBand::toJson).toList()))
+            .put("cancelled", cancelled)
+            .toString();
+    }
 }
@@ -1,88 +1,71 @@
 package dev.threadgaugexp.core;
 
-import dev.threadgaugexp.MainWindow;
-
-import javax.swing.*;
 import java.lang.management.ManagementFactory;
 import java.lang.management.OperatingSystemMXBean;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class StressTest extends TestEngine<StressResult> {
+    /** Iterations of the compute kernel between sleeps in the default (light) workload. */
+    public static final int KERNEL_ITERATIONS = 1000;
+    /** Longs between two workers' counters: the padding the false sharing test measures. */
+    private static final int COUNTER_STRIDE = FalseSharingTest.PADDED_STRIDE;
+    /** Monitor ticks (500 ms each) per throughput/latency interval. */
+    private static final int INTERVAL_TICKS = 2;
 
-public class StressTest extends SwingWorker<StressResult, String> {
-    private MainWindow mainWindow;
     private int threadCount;
     private int durationSeconds;
+    private final WorkloadMix workload;
     private volatile boolean stopRequested = false;
 
-    public StressTest(MainWindow mainWindow, int threadCount, int durationSeconds) {
-        this.mainWindow = mainWindow;
+    public StressTest(int threadCount, int durationSeconds) {
+        this(threadCount, durationSeconds, WorkloadMix.defaultMix());
+    }
+
+    public StressTest(int threadCount, int durationSeconds, WorkloadMix workload) {
         this.threadCount = threadCount;
         this.durationSeconds = durationSeconds;
+        this.workload = workload;
     }
 
-    @Override
-    protected StressResult doInBackground() throws Exception {
-        publish("Starting stress test with " + threadCount + " threads for " + durationSeconds + " seconds");
-        mainWindow.setStatus("Running stress test...");
-
-        List<Thread> threads = new ArrayList<>();
-        List<Double> cpuSamples = new ArrayList<>();
-        long startTime = System.currentTimeMillis();
-
-        // Create worker threads
-        for (int i = 0; i < threadCount; i++) {
-            Thread thread = new Thread(() -> {
-                while (!Thread.currentThread().isInterrupted() && !stopRequested) {
-                    // Light computational work
-                    double result = 0;
-                    for (int j = 0; j < 1000; j++) {
-                        result += Math.sqrt(j) * Math.sin(j);
-                    }
-                    
-                    try {
-                        Thread.sleep(10); // Small sleep to avoid busy-spin
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            });
-            thread.setName("StressThread-" + i);
-            thread.start();
-            threads.add(thread);
+    private static long sumCounters(AtomicLongArray counters) {
+        long sum = 0;
+        for (int i = 0; i < counters.length(); i += COUNTER_STRIDE) {
+            sum += counters.get(i);
         }
+        return sum;
+    }
 
-        publish("All " + threadCount + " threads started. Monitoring...");
+    /** Merges every worker's interval histogram into {@code interval} (reset first) and {@code total}. */
+    private static StressInterval takeInterval(IntervalRecorder[] recorders, LatencyHistogram interval,
+                                               LatencyHistogram total, long ops, long nanos) {
+        interval.reset();
+        for (IntervalRecorder recorder : recorders) {
+            interval.add(recorder.takeInterval());
+        }
+        total.add(interval);
 
-        // Monitor CPU while test runs
-        OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
-        long endTime = startTime + (durationSeconds * 1000L);
-        
-        while (System.currentTimeMillis() < endTime && !isCancelled()) {
-            try {
-                if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
-                    com.sun.management.OperatingSystemMXBean sunOsBean = 
-                        (com.sun.management.OperatingSystemMXBean) osBean;
-                    double cpuLoad = sunOsBean.getCpuLoad();
-                    if (cpuLoad >= 0) {
-                        cpuSamples.add(cpuLoad * 100);
-                    }
-                }
-            } catch (Exception e) {
-                // Ignore CPU sampling errors
-            }
+        StressInterval sample = new StressInterval();
+        sample.opsPerSecond = nanos > 0 ? ops * 1e9 / nanos : 0;
+        sample.latencyP50Nanos = interval.valueAtPercentile(50);
+        sample.latencyP99Nanos = interval.valueAtPercentile(99);
+        sample.latencyMaxNanos = interval.getMax();
+        return sample;
+    }
 
-            long remaining = (endTime - System.currentTimeMillis()) / 1000;
-            if (remaining > 0 && remaining % 2 == 0) {
-                publish("Test running... " + remaining + " seconds remaining");
-            }
-            
-            Thread.sleep(500);
+    /** The compute kernel of the cpu, light and lock workloads; also benchmarked by the JMH source set. */
+    public static double computeKernel(int iterations) {
+        double result = 0;
+        for (int j = 0; j < iterations; j++) {
+            result += Math.sqrt(j) * Math.sin(j);
         }
+        return result;
+    }
 
-        long actualDuration = System.currentTimeMillis() - startTime;
-        
-        publish("Stopping threads...");
+    /** Stops the workers and waits briefly for each; calling it again is harmless. */
+    private void stopWorkers(List<Thread> threads) {
         stopRequested = true;
 
         // Stop all threads
@@ -98,63 +81,231 @@ public class StressTest extends SwingWorker<StressResult, String> {
                 // Continue cleanup
             }
         }
-
-        // Calculate average CPU
-        double avgCpu = 0;
-        if (!cpuSamples.isEmpty()) {
-            double sum = 0;
-            for (double sample : cpuSamples) {
-                sum += sample;
-            }
-            avgCpu = sum / cpuSamples.size();
-        }
-
-        StressResult result = new StressResult();
-        result.threadCount = threadCount;
-        result.plannedDuration = durationSeconds;
-        result.actualDuration = actualDuration / 1000.0;
-        result.averageCpuLoad = avgCpu;
-        result.cancelled = isCancelled();
-
-        return result;
     }
 
     @Override
-    protected void process(List<String> chunks) {
-        for (String message : chunks) {
-            mainWindow.getOutputPanel().log(message);
+    protected StressResult execute() throws Exception {
+        publish("Starting stress test with " + threadCount + " threads for " + durationSeconds + " seconds");
+        publish("Workload: " + workload.describe());
+        setStatus("Running stress test...");
+        workload.setUp();
+        PauseMonitor pauses = PauseMonitor.start();
+        LiveMetrics.stressStarted(threadCount);
+        try {
+            StressResult result = runWorkers();
+            result.pauseJfr = pauses.hasJfr();
+            result.pauseBands = pauses.finish();
+            return result;
+        } finally {
+            LiveMetrics.stressFinished();
+            pauses.close();
+            workload.tearDown();
         }
     }
 
-    @Override
-    protected void done() {
+    private StressResult runWorkers() throws Exception {
+
+        List<Thread> threads = new ArrayList<>();
+        List<Double> cpuSamples = new ArrayList<>();
+        List<StressInterval> intervals = new ArrayList<>();
+
+        // Each worker owns one counter slot, COUNTER_STRIDE longs apart so no two share a cache line
+        AtomicLongArray counters = new AtomicLongArray(threadCount * COUNTER_STRIDE);
+        IntervalRecorder[] recorders = new IntervalRecorder[threadCount];
+        double[] checksums = new double[threadCount];
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        ProcSampler scheduler = null;
         try {
-            StressResult result = get();
-            String status = result.cancelled ? "cancelled" : "completed";
-            String message = String.format(
-                "Stress test %s:\nThreads: %d\nDuration: %.1f / %d seconds\nAverage CPU Load: %.1f%%",
-                status, result.threadCount, result.actualDuration, result.plannedDuration, result.averageCpuLoad
-            );
-            
-            if (result.cancelled) {
-                mainWindow.getOutputPanel().logWarning(message);
-            } else {
-                mainWindow.getOutputPanel().logSuccess(message);
+            // Create worker threads
+            for (int i = 0; i < threadCount; i++) {
+                final int worker = i;
+                final IntervalRecorder recorder = new IntervalRecorder();
+                final WorkloadMix.Driver driver = workload.newDriver(worker);
+                recorders[i] = recorder;
+                Thread thread = new Thread(() -> {
+                    int slot = worker * COUNTER_STRIDE;
+                    long completed = 0;
+                    double checksum = 0;
+                    while (!Thread.currentThread().isInterrupted() && !stopRequested) {
+                        long begin = System.nanoTime();
+                        try {
+                            checksum += driver.iterate();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            break;
+                        } catch (Exception e) {
+                            if (!stopRequested) failure.compareAndSet(null, e);
+                            break;
+                        }
+                        recorder.record(System.nanoTime() - begin);
+                        counters.lazySet(slot, ++completed);
+
+                        long pause = driver.pauseMillis();
+                        if (pause > 0) {
+                            try {
+                                Thread.sleep(pause); // think time, outside the timed iteration
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                break;
+                            }
+                        }
+                    }
+                    checksums[worker] = checksum; // keeps the work from being optimised away
+                });
+                thread.setName("StressThread-" + i);
+                thread.start();
+                threads.add(thread);
+            }
+
+            publish("All " + threadCount + " threads started. Monitoring...");
+
+            // The measured window starts once every worker runs; iterations done during start-up are not counted
+            long startTime = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
+            long startOps = sumCounters(counters);
+            long[] perThreadOps = new long[threadCount];
+            for (int i = 0; i < threadCount; i++) {
+                perThreadOps[i] = -counters.get(i * COUNTER_STRIDE);
+            }
+            for (IntervalRecorder recorder : recorders) {
+                recorder.takeInterval();
+            }
+            // Context switches, run queue and CPU pressure on Linux; the first sample is the baseline
+            scheduler = ProcSampler.isSupported() ? new ProcSampler() : null;
+            if (scheduler != null) {
+                scheduler.sample();
             }
+            // Per-worker CPU time, one batched ThreadMXBean call per interval
+            long[] workerIds = new long[threadCount];
+            for (int i = 0; i < threadCount; i++) {
+                workerIds[i] = threads.get(i).threadId();
+            }
+            ThreadCpuSampler workerCpu = new ThreadCpuSampler(workerIds);
+            workerCpu.start();
+
+            // Monitor CPU while test runs; throughput and latency are taken every INTERVAL_TICKS samples
+            OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+            long endTime = startTime + (durationSeconds * 1000L);
+            LatencyHistogram total = new LatencyHistogram();
+            LatencyHistogram interval = new LatencyHistogram();
+            long lastOps = startOps;
+            long lastIntervalNanos = startNanos;
+            double intervalCpuSum = 0;
+            int intervalCpuSamples = 0;
+            int tick = 0;
+
+            while (System.currentTimeMillis() < endTime && !isCancelled()) {
+                try {
+                    if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+                        com.sun.management.OperatingSystemMXBean sunOsBean = 
+                            (com.sun.management.OperatingSystemMXBean) osBean;
+                        double cpuLoad = sunOsBean.getCpuLoad();
+                        if (cpuLoad >= 0) {
+                            cpuSamples.add(cpuLoad * 100);
+                            intervalCpuSum += cpuLoad * 100;
+                            intervalCpuSamples++;
+                        }
+                    }
+                } catch (Exception e) {
+                    // Ignore CPU sampling errors
+                }
+
+                if (++tick % INTERVAL_TICKS == 0) {
+                    long now = System.nanoTime();
+                    long ops = sumCounters(counters);
+                    StressInterval sample = takeInterval(recorders, interval, total, ops - lastOps, now - lastIntervalNanos);
+                    sample.elapsedSeconds = (now - startNanos) / 1e9;
+                    sample.cpuLoad = intervalCpuSamples > 0 ? intervalCpuSum / intervalCpuSamples : Double.NaN;
+                    if (scheduler != null) {
+                        scheduler.sample();
+                        sample.copyScheduler(scheduler);
+                    }
+                    sample.copyCpuShare(workerCpu.sampleInterval());
+                    intervals.add(sample);
+                    LiveMetrics.stressInterval(sample, ops - lastOps);
+                    lastOps = ops;
+                    lastIntervalNanos = now;
+                    intervalCpuSum = 0;
+                    intervalCpuSamples = 0;
+                }
+
+                long remaining = (endTime - System.currentTimeMillis()) / 1000;
+                if (remaining > 0 && remaining % 2 == 0 && !intervals.isEmpty()) {
+                    StressInterval last = intervals.get(intervals.size() - 1);
+                    publish(String.format("Test running... %d seconds remaining, %.0f ops/sec, iteration p99 %.1f us%s",
+                            remaining, last.opsPerSecond, last.latencyP99Nanos / 1000.0,
+                            Double.isNaN(last.involuntarySwitchesPerSecond) ? ""
+                                : String.format(", %.0f involuntary switches/sec", last.involuntarySwitchesPerSecond)));
+                }
             
-            JOptionPane.showMessageDialog(
-                mainWindow,
-                message,
-                "Stress Test " + (result.cancelled ? "Cancelled" : "Complete"),
-                JOptionPane.INFORMATION_MESSAGE
-            );
-        } catch (Exception e) {
-            mainWindow.getOutputPanel().logError("Stress test failed: " + e.getMessage());
+                Thread.sleep(500);
+            }
+
+            long actualDuration = System.currentTimeMillis() - startTime;
+            long measuredNanos = System.nanoTime() - startNanos;
+            long totalOps = sumCounters(counters) - startOps;
+            for (int i = 0; i < threadCount; i++) {
+                perThreadOps[i] += counters.get(i * COUNTER_STRIDE);
+            }
+            // Whatever was recorded since the last full interval still counts towards the totals
+            takeInterval(recorders, interval, total, 0, 1);
+            ThreadCpuSampler.CpuShareStats cpuShare = workerCpu.sampleTotal();
+        
+            publish("Stopping threads...");
+            stopWorkers(threads);
+
+            // Calculate average CPU
+            double avgCpu = 0;
+            if (!cpuSamples.isEmpty()) {
+                double sum = 0;
+                for (double sample : cpuSamples) {
+                    sum += sample;
+                }
+                avgCpu = sum / cpuSamples.size();
+            }
+
+            StressResult result = new StressResult();
+            result.threadCount = threadCount;
+            result.workload = workload.spec();
+            Exception workerFailure = failure.get();
+            if (workerFailure != null) {
+                result.workloadError = workerFailure.toString();
+                publish("Workload failed in a worker: " + workerFailure);
+            }
+            result.plannedDuration = durationSeconds;
+            result.actualDuration = actualDuration / 1000.0;
+            result.averageCpuLoad = avgCpu;
+            result.totalOps = totalOps;
+            result.opsPerSecond = measuredNanos > 0 ? totalOps * 1e9 / measuredNanos : 0;
+            result.opsPerSecondPerThread = threadCount > 0 ? result.opsPerSecond / threadCount : 0;
+            long minOps = Long.MAX_VALUE;
+            long maxOps = 0;
+            for (long ops : perThreadOps) {
+                minOps = Math.min(minOps, ops);
+                maxOps = Math.max(maxOps, ops);
+            }
+            result.minThreadOpsPerSecond = threadCount > 0 && measuredNanos > 0 ? minOps * 1e9 / measuredNanos : 0;
+            result.maxThreadOpsPerSecond = measuredNanos > 0 ? maxOps * 1e9 / measuredNanos : 0;
+            result.latencyP50Nanos = total.valueAtPercentile(50);
+            result.latencyP90Nanos = total.valueAtPercentile(90);
+            result.latencyP99Nanos = total.valueAtPercentile(99);
+            result.latencyP999Nanos = total.valueAtPercentile(99.9);
+            result.latencyMaxNanos = total.getMax();
+            result.intervals = intervals;
+            result.summarizeScheduler();
+            result.setCpuShare(cpuShare);
+            result.workerOps = perThreadOps;
+            result.workerCpuNanos = workerCpu.perThreadTotals();
+            result.cancelled = isCancelled();
+
+            return result;
         } finally {
-            mainWindow.setStatus("Ready");
-            mainWindow.getControlsPanel().testCompleted();
+            // Also on a failed start or an interrupt, so no worker is left spinning
+            stopWorkers(threads);
+            if (scheduler != null) {
+                scheduler.close();
+            }
         }
     }
-
-    
 }
@@ -0,0 +1,229 @@
+package dev.threadgaugexp.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps every sample of a {@link TelemetrySampler} on disk, so a session can be exported in full
+ * although the sampler's ring buffer only holds the last minute or so. A background thread drains
+ * the ring every {@value #DRAIN_PERIOD_MILLIS} ms into a temp file of fixed-size little-endian
+ * records; {@link #open()} then reads them back in batches without loading the file.
+ */
+public class TelemetryRecorder implements AutoCloseable {
+    static final long DRAIN_PERIOD_MILLIS = 250;
+    /** Time, live threads, started threads, heap used, heap committed, CPU load, GC time. */
+    static final int RECORD_BYTES = 8 + 4 + 8 + 8 + 8 + 8 + 8;
+    private static final int DRAIN_BATCH = 1024;
+    private static final int READ_CHUNK = 4096;
+
+    private final TelemetrySampler sampler;
+    private final Path file;
+    private final FileChannel channel;
+    private final TelemetrySampler.Batch batch = new TelemetrySampler.Batch(DRAIN_BATCH);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(DRAIN_BATCH * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "ThreadGauge-TelemetryRecorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Time of the first recorded sample, set when it is drained. */
+    private volatile long startEpochMillis;
+    private volatile long startNanos;
+    /** Only touched by the recorder thread. */
+    private long readSequence;
+    private volatile long recorded;
+    private volatile long missed;
+    /** First write failure; recording stops there. Only touched by the recorder thread. */
+    private IOException failure;
+
+    private TelemetryRecorder(TelemetrySampler sampler, Path file) throws IOException {
+        this.sampler = sampler;
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.readSequence = sampler.sequence();
+    }
+
+    /** Records from now on into a new file named threadgauge-telemetry-*.bin in the temp directory. */
+    public static TelemetryRecorder openTemp(TelemetrySampler sampler) throws IOException {
+        TelemetryRecorder recorder = new TelemetryRecorder(sampler, Files.createTempFile("threadgauge-telemetry-", ".bin"));
+        recorder.executor.scheduleWithFixedDelay(recorder::drainQuietly, DRAIN_PERIOD_MILLIS, DRAIN_PERIOD_MILLIS,
+            TimeUnit.MILLISECONDS);
+        return recorder;
+    }
+
+    public TelemetrySampler getSampler() {
+        return sampler;
+    }
+
+    /** Wall-clock time of the first recorded sample; export times are relative to {@link #getStartNanos()}. */
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /** Samples on disk so far. */
+    public long sampleCount() {
+        return recorded;
+    }
+
+    /** Samples the ring overwrote before the recorder thread got to them. */
+    public long missedSamples() {
+        return missed;
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void drain() throws IOException {
+        if (failure != null) throw failure;
+        while (true) {
+            long next = sampler.readBatch(readSequence, batch);
+            if (batch.count == 0) {
+                readSequence = next;
+                return;
+            }
+            if (batch.firstSequence > readSequence) {
+                missed += batch.firstSequence - readSequence;
+            }
+            if (recorded == 0) {
+                startNanos = batch.timeNanos[0];
+                startEpochMillis = System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            }
+            buffer.clear();
+            for (int i = 0; i < batch.count; i++) {
+                buffer.putLong(batch.timeNanos[i])
+                    .putInt(batch.liveThreads[i])
+                    .putLong(batch.startedThreads[i])
+                    .putLong(batch.heapUsedBytes[i])
+                    .putLong(batch.heapCommittedBytes[i])
+                    .putDouble(batch.cpuLoadPct[i])
+                    .putLong(batch.gcTimeMillis[i]);
+            }
+            buffer.flip();
+            long position = recorded * RECORD_BYTES;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            recorded += batch.count;
+            readSequence = next;
+        }
+    }
+
+    /**
+     * Records everything sampled so far, then returns a reader over the samples up to this point.
+     * Recording carries on meanwhile; later samples are not visible to this reader.
+     */
+    public Reader open() throws IOException {
+        try {
+            executor.submit(() -> {
+                drain();
+                return null;
+            }).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while flushing " + file, e);
+        } catch (RejectedExecutionException e) {
+            throw new IOException("telemetry recorder is closed", e);
+        }
+        return new Reader(FileChannel.open(file, StandardOpenOption.READ), recorded);
+    }
+
+    /** Reads recorded samples in order, one batch at a time. */
+    public static class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private final long total;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_CHUNK * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        Reader(FileChannel channel, long total) {
+            this.channel = channel;
+            this.total = total;
+        }
+
+        /** Samples this reader returns in all. */
+        public long total() {
+            return total;
+        }
+
+        /** Samples returned so far. */
+        public long position() {
+            return position;
+        }
+
+        /**
+         * Fills {@code into} with the next samples, as many as fit. Returns the number read; 0
+         * at the end.
+         */
+        public int next(TelemetrySampler.Batch into) throws IOException {
+            int count = 0;
+            into.firstSequence = position;
+            int capacity = into.timeNanos.length;
+            while (count < capacity && position < total) {
+                int chunk = (int) Math.min(Math.min(capacity - count, total - position), buffer.capacity() / RECORD_BYTES);
+                buffer.clear().limit(chunk * RECORD_BYTES);
+                long offset = position * RECORD_BYTES;
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer, offset + buffer.position());
+                    if (read < 0) {
+                        throw new IOException("telemetry file ends before sample " + (position + buffer.position() / RECORD_BYTES));
+                    }
+                }
+                buffer.flip();
+                for (int i = 0; i < chunk; i++, count++) {
+                    into.timeNanos[count] = buffer.getLong();
+                    into.liveThreads[count] = buffer.getInt();
+                    into.startedThreads[count] = buffer.getLong();
+                    into.heapUsedBytes[count] = buffer.getLong();
+                    into.heapCommittedBytes[count] = buffer.getLong();
+                    into.cpuLoadPct[count] = buffer.getDouble();
+                    into.gcTimeMillis[count] = buffer.getLong();
+                }
+                position += chunk;
+            }
+            into.count = count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /** Stops recording and deletes the file, waiting up to two seconds for a drain in progress. */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Temp file; nothing left to report to
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package dev.threadgaugexp.core;
+
+import java.lang.invoke.VarHandle;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Samples live threads, threads started, heap, CPU load and GC pause time on its own daemon thread at a fixed rate (down to
+ * {@value #MIN_PERIOD_MILLIS} ms) into a preallocated ring buffer of primitives. There is one
+ * writer and any number of readers: a reader copies the slots it wants and then re-checks the
+ * write sequence, so it never sees a slot that was overwritten while it was reading. The oldest
+ * slot is never read, since the writer may be refilling it before it publishes. Sampling
+ * allocates nothing: the thread count is the JVM's live thread counter, not an enumeration of
+ * thread groups as in {@code Thread.activeCount()}.
+ */
+public class TelemetrySampler implements AutoCloseable {
+    public static final long MIN_PERIOD_MILLIS = 10;
+    public static final long DEFAULT_PERIOD_MILLIS = 100;
+    /** One minute of history at the fastest rate. */
+    public static final int DEFAULT_CAPACITY = 6000;
+
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.OperatingSystemMXBean osBean;
+    private final Runtime runtime = Runtime.getRuntime();
+    private final long heapMaxBytes = runtime.maxMemory();
+    private final GarbageCollectorMXBean[] pausingCollectors;
+
+    private final int capacity;
+    private final long[] timeNanos;
+    private final int[] liveThreads;
+    private final long[] startedThreads;
+    private final long[] heapUsedBytes;
+    private final long[] heapCommittedBytes;
+    private final double[] cpuLoad;
+    private final long[] gcTimeMillis;
+    /** Samples published so far; slot (n % capacity) holds sample n. */
+    private volatile long written;
+
+    private volatile long periodNanos;
+    private volatile boolean running;
+    private Thread thread;
+
+    /** The newest sample and aggregates over the samples read with it. */
+    public static class Snapshot {
+        /** Samples aggregated; 0 when there was nothing new to read. */
+        public int samples;
+        public long timeNanos;
+        public int liveThreads;
+        public int peakThreads;
+        public long heapUsedBytes;
+        public long heapCommittedBytes;
+        public long heapMaxBytes;
+        /** System CPU load in percent, averaged over the samples; NaN when the OS does not report it. */
+        public double cpuLoadPct = Double.NaN;
+    }
+
+    /** A copy of consecutive samples, for views that need every sample rather than aggregates. */
+    public static class Batch {
+        /** Sequence number of the first sample in the arrays. */
+        public long firstSequence;
+        public int count;
+        public final long[] timeNanos;
+        public final int[] liveThreads;
+        /** Platform threads started since JVM start (cumulative). */
+        public final long[] startedThreads;
+        public final long[] heapUsedBytes;
+        public final long[] heapCommittedBytes;
+        /** System CPU load in percent, NaN when not reported. */
+        public final double[] cpuLoadPct;
+        /** Time spent by pausing collectors since JVM start (cumulative). */
+        public final long[] gcTimeMillis;
+
+        public Batch(int size) {
+            timeNanos = new long[size];
+            liveThreads = new int[size];
+            startedThreads = new long[size];
+            heapUsedBytes = new long[size];
+            heapCommittedBytes = new long[size];
+            cpuLoadPct = new double[size];
+            gcTimeMillis = new long[size];
+        }
+    }
+
+    public TelemetrySampler() {
+        this(DEFAULT_CAPACITY, DEFAULT_PERIOD_MILLIS);
+    }
+
+    public TelemetrySampler(int capacity, long periodMillis) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be >= 2");
+        }
+        java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        this.osBean = os instanceof com.sun.management.OperatingSystemMXBean
+            ? (com.sun.management.OperatingSystemMXBean) os : null;
+        this.capacity = capacity;
+        this.timeNanos = new long[capacity];
+        this.liveThreads = new int[capacity];
+        this.startedThreads = new long[capacity];
+        this.heapUsedBytes = new long[capacity];
+        this.heapCommittedBytes = new long[capacity];
+        this.cpuLoad = new double[capacity];
+        this.gcTimeMillis = new long[capacity];
+        List<GarbageCollectorMXBean> collectors = new ArrayList<>();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (PauseMonitor.isPausingCollector(gc.getName())) {
+                collectors.add(gc);
+            }
+        }
+        this.pausingCollectors = collectors.toArray(new GarbageCollectorMXBean[0]);
+        setPeriodMillis(periodMillis);
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this::run, "ThreadGauge-Telemetry");
+        thread.setDaemon(true);
+        // Only honoured where the OS lets the JVM raise priorities, but costs nothing elsewhere
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /** Takes effect from the next sample. Periods below the minimum are raised to it. */
+    public void setPeriodMillis(long periodMillis) {
+        periodNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(MIN_PERIOD_MILLIS, periodMillis));
+    }
+
+    public long getPeriodMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(periodNanos);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Sequence number of the next sample to be written, i.e. the number of samples taken so far. */
+    public long sequence() {
+        return written;
+    }
+
+    private void run() {
+        long next = System.nanoTime();
+        while (running) {
+            sample();
+            next += periodNanos;
+            long now = System.nanoTime();
+            if (next - now < 0) {
+                // Fell behind (the thread was starved): skip the missed ticks instead of bursting
+                next = now;
+                continue;
+            }
+            LockSupport.parkNanos(next - now);
+        }
+    }
+
+    private void sample() {
+        long n = written;
+        int slot = (int) (n % capacity);
+        timeNanos[slot] = System.nanoTime();
+        liveThreads[slot] = threadBean.getThreadCount();
+        startedThreads[slot] = threadBean.getTotalStartedThreadCount();
+        long committed = runtime.totalMemory();
+        heapUsedBytes[slot] = committed - runtime.freeMemory();
+        heapCommittedBytes[slot] = committed;
+        double load = osBean != null ? osBean.getCpuLoad() : -1;
+        cpuLoad[slot] = load >= 0 ? load * 100.0 : Double.NaN;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : pausingCollectors) {
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        gcTimeMillis[slot] = gcMillis;
+        written = n + 1;
+    }
+
+    /**
+     * Aggregates the samples from sequence {@code from} (inclusive) up to the newest into
+     * {@code into}: the newest values, the thread peak and the mean CPU load. Samples older than
+     * the buffer holds are skipped. Returns the sequence to pass next time.
+     */
+    public long readSince(long from, Snapshot into) {
+        while (true) {
+            long end = written;
+            // The writer may be refilling the oldest sample's slot before it publishes; skip that one
+            long start = Math.max(Math.max(from, 0), end - capacity + 1);
+            into.samples = 0;
+            into.heapMaxBytes = heapMaxBytes;
+            if (start >= end) {
+                return end;
+            }
+            int peak = 0;
+            double loadSum = 0;
+            int loadSamples = 0;
+            for (long n = start; n < end; n++) {
+                int slot = (int) (n % capacity);
+                peak = Math.max(peak, liveThreads[slot]);
+                if (!Double.isNaN(cpuLoad[slot])) {
+                    loadSum += cpuLoad[slot];
+                    loadSamples++;
+                }
+            }
+            int last = (int) ((end - 1) % capacity);
+            long time = timeNanos[last];
+            int threads = liveThreads[last];
+            long used = heapUsedBytes[last];
+            long committed = heapCommittedBytes[last];
+            // The writer may have lapped the oldest slots while they were read; read again if so.
+            // The fence keeps the plain slot reads above from moving past this re-read of written.
+            VarHandle.acquireFence();
+            long now = written;
+            if (now - capacity >= start) {
+                from = now - capacity + 1;
+                continue;
+            }
+            into.samples = (int) (end - start);
+            into.timeNanos = time;
+            into.liveThreads = threads;
+            into.peakThreads = peak;
+            into.heapUsedBytes = used;
+            into.heapCommittedBytes = committed;
+            into.cpuLoadPct = loadSamples > 0 ? loadSum / loadSamples : Double.NaN;
+            return end;
+        }
+    }
+
+    /**
+     * Copies the samples from sequence {@code from} (inclusive) into {@code into}, oldest first and
+     * at most as many as the batch holds. Samples older than the buffer holds are skipped. Returns
+     * the sequence to pass next time; when it is below {@link #sequence()} there is more to read.
+     */
+    public long readBatch(long from, Batch into) {
+        while (true) {
+            long end = written;
+            long start = Math.max(Math.max(from, 0), end - capacity + 1);
+            int count = (int) Math.min(end - start, into.timeNanos.length);
+            into.firstSequence = start;
+            into.count = 0;
+            if (count <= 0) {
+                return Math.max(start, end);
+            }
+            int slot = (int) (start % capacity);
+            copy(timeNanos, slot, into.timeNanos, count);
+            copy(liveThreads, slot, into.liveThreads, count);
+            copy(startedThreads, slot, into.startedThreads, count);
+            copy(heapUsedBytes, slot, into.heapUsedBytes, count);
+            copy(heapCommittedBytes, slot, into.heapCommittedBytes, count);
+            copy(cpuLoad, slot, into.cpuLoadPct, count);
+            copy(gcTimeMillis, slot, into.gcTimeMillis, count);
+            // As in readSince: no slot read may move past the lap check
+            VarHandle.acquireFence();
+            long now = written;
+            if (now - capacity >= start) {
+                from = now - capacity + 1;
+                continue;
+            }
+            into.count = count;
+            return start + count;
+        }
+    }
+
+    /** Copies {@code count} ring slots from {@code slot} on, wrapping at the end of the buffer. */
+    private void copy(Object ring, int slot, Object target, int count) {
+        int first = Math.min(count, capacity - slot);
+        System.arraycopy(ring, slot, target, 0, first);
+        if (first < count) {
+            System.arraycopy(ring, 0, target, first, count - first);
+        }
+    }
+
+    /** The newest sample alone. Returns false when nothing has been sampled yet. */
+    public boolean latest(Snapshot into) {
+        long end = written;
+        readSince(end - 1, into);
+        return into.samples > 0;
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread = null;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Base class for the measurement engines. Engines run synchronously on the caller's thread and
+ * report progress through a {@link ProgressListener}, so they work both behind a SwingWorker
+ * and from the headless runner.
+ */
+public abstract class TestEngine<R extends RunResult> {
+    private volatile boolean cancelled = false;
+    private volatile ProgressListener listener = ProgressListener.NONE;
+
+    public final R run(ProgressListener listener) throws Exception {
+        this.listener = listener != null ? listener : ProgressListener.NONE;
+        return execute();
+    }
+
+    protected abstract R execute() throws Exception;
+
+    /** Requests a cooperative stop; the engine cleans up and returns a partial result. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    protected void publish(String message) {
+        listener.onMessage(message);
+    }
+
+    protected void setStatus(String status) {
+        listener.onStatus(status);
+    }
+}
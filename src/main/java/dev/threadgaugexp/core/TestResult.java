@@ -1,11 +1,112 @@
 package dev.threadgaugexp.core;
 
+import dev.threadgaugexp.util.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Result data for the ThreadTester SwingWorker.
+ * Result data for the ThreadTester engine.
  */
-public class TestResult {
+public class TestResult implements RunResult {
     public int maxThreads;
+    public boolean virtualThreads;
     public int stackSizeKB;
     public long memoryPerThreadKB;
+    /** Heap delta per thread in bytes; the only meaningful figure for virtual threads (well under 1 KB). */
+    public long heapPerThreadBytes;
+    /** Process RSS delta per thread (Linux only), NaN if unavailable. */
+    public double rssPerThreadKB = Double.NaN;
+    /** Committed thread stack per thread from native memory tracking, NaN if NMT is off. */
+    public double stackCommittedPerThreadKB = Double.NaN;
     public String stopReason;
+    public SearchStrategy searchStrategy = SearchStrategy.LINEAR;
+    /** Number of spawn-and-teardown probes (1 for the linear climb). */
+    public int probes;
+    public long searchMillis;
+    public long spawnStartP50Nanos;
+    public long spawnStartP99Nanos;
+    /** Creation/start latency percentiles per band of live thread counts. */
+    public List<LatencyBand> spawnLatencyBands = new ArrayList<>();
+    /** GC pauses and safepoints per band of live platform threads. */
+    public List<PauseBand> pauseBands = new ArrayList<>();
+    /** Whether JFR supplied safepoint and exact pause data (otherwise GC MXBean notifications only). */
+    public boolean pauseJfr;
+    public boolean cancelled;
+
+    @Override
+    public String type() {
+        return "max-threads";
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String summary() {
+        return headline() + "\n" + nativeLine() + "\n" + spawnLatencyTable()
+            + (pauseBands.isEmpty() ? "" : "\n" + PauseBand.table(pauseBands, pauseJfr));
+    }
+
+    private String nativeLine() {
+        return "Native per thread: RSS " + formatKB(rssPerThreadKB)
+            + ", committed stack " + formatKB(stackCommittedPerThreadKB)
+            + (Double.isNaN(stackCommittedPerThreadKB) ? " (needs -XX:NativeMemoryTracking=summary)" : " (NMT)");
+    }
+
+    private static String formatKB(double kb) {
+        return Double.isNaN(kb) ? "N/A" : String.format("~%.1f KB", kb);
+    }
+
+    private String headline() {
+        if (virtualThreads) {
+            return String.format(
+                "Max virtual threads reached: %d\nHeap per virtual thread: ~%d bytes\nReason: %s\nSearch: %s, %d probe(s), %.1f s",
+                maxThreads, heapPerThreadBytes, stopReason, searchStrategy, probes, searchMillis / 1000.0
+            );
+        }
+        return String.format(
+            "Max threads reached: %d\nStack size: %d KB\nMemory per thread: ~%d KB (%d bytes heap)\nReason: %s\nSearch: %s, %d probe(s), %.1f s",
+            maxThreads, stackSizeKB, memoryPerThreadKB, heapPerThreadBytes, stopReason,
+            searchStrategy, probes, searchMillis / 1000.0
+        );
+    }
+
+    /** Spawn latency per thread-count band, in microseconds. */
+    public String spawnLatencyTable() {
+        StringBuilder sb = new StringBuilder("Spawn latency (us)   create p50/p99/max      start p50/p99/max");
+        for (LatencyBand band : spawnLatencyBands) {
+            sb.append(String.format("%n  %-16s %8.1f/%8.1f/%9.1f  %8.1f/%8.1f/%9.1f",
+                band.label(),
+                band.createP50Nanos / 1000.0, band.createP99Nanos / 1000.0, band.createMaxNanos / 1000.0,
+                band.startP50Nanos / 1000.0, band.startP99Nanos / 1000.0, band.startMaxNanos / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toJson() {
+        return Json.object()
+            .put("type", type())
+            .put("threadType", virtualThreads ? "virtual" : "platform")
+            .put("maxThreads", maxThreads)
+            .put("stackSizeKB", stackSizeKB)
+            .put("memoryPerThreadKB", memoryPerThreadKB)
+            .put("heapPerThreadBytes", heapPerThreadBytes)
+            .put("rssPerThreadKB", rssPerThreadKB)
+            .put("stackCommittedPerThreadKB", stackCommittedPerThreadKB)
+            .put("stopReason", stopReason)
+            .put("searchStrategy", searchStrategy.name())
+            .put("probes", probes)
+            .put("searchMillis", searchMillis)
+            .put("spawnStartP50Nanos", spawnStartP50Nanos)
+            .put("spawnStartP99Nanos", spawnStartP99Nanos)
+            .putRaw("spawnLatencyBands", Json.array(spawnLatencyBands.stream().map(LatencyBand::toJson).toList()))
+            .put("pauseJfr", pauseJfr)
+            .putRaw("pauseBands", Json.array(pauseBands.stream().map(PauseBand::toJson).toList()))
+            .put("cancelled", cancelled)
+            .toString();
+    }
 }
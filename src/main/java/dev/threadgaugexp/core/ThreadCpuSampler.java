@@ -0,0 +1,137 @@
+package dev.threadgaugexp.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * CPU time of a fixed set of threads, read with one batched
+ * {@code com.sun.management.ThreadMXBean.getThreadCpuTime(long[])} call per sample. All buffers
+ * are sized once, so a sample costs one clock read per thread plus the result array of the batch call.
+ */
+public class ThreadCpuSampler {
+    private final com.sun.management.ThreadMXBean bean;
+    private final long[] ids;
+    private final long[] first;
+    private final long[] previous;
+    private final long[] deltas;
+    private final long[] scratch;
+    private long firstNanos;
+    private long previousNanos;
+    private long[] lastTotal;
+
+    public ThreadCpuSampler(long[] threadIds) {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean usable = threads instanceof com.sun.management.ThreadMXBean && threads.isThreadCpuTimeSupported();
+        if (usable && !threads.isThreadCpuTimeEnabled()) {
+            try {
+                threads.setThreadCpuTimeEnabled(true);
+            } catch (UnsupportedOperationException | SecurityException e) {
+                usable = false;
+            }
+        }
+        this.bean = usable ? (com.sun.management.ThreadMXBean) threads : null;
+        this.ids = threadIds.clone();
+        this.first = new long[ids.length];
+        this.previous = new long[ids.length];
+        this.deltas = new long[ids.length];
+        this.scratch = new long[ids.length];
+    }
+
+    public boolean isSupported() {
+        return bean != null;
+    }
+
+    /** Takes the baseline for both the interval and the whole-run figures. */
+    public void start() {
+        if (bean == null) return;
+        long[] now = bean.getThreadCpuTime(ids);
+        System.arraycopy(now, 0, first, 0, ids.length);
+        System.arraycopy(now, 0, previous, 0, ids.length);
+        firstNanos = System.nanoTime();
+        previousNanos = firstNanos;
+    }
+
+    /** CPU share of every thread since the previous sample (or {@link #start()}); null if unsupported. */
+    public CpuShareStats sampleInterval() {
+        if (bean == null) return null;
+        long[] now = bean.getThreadCpuTime(ids);
+        long wall = System.nanoTime();
+        CpuShareStats stats = stats(now, previous, wall - previousNanos);
+        System.arraycopy(now, 0, previous, 0, ids.length);
+        previousNanos = wall;
+        return stats;
+    }
+
+    /** CPU share of every thread since {@link #start()}, read fresh; null if unsupported. */
+    public CpuShareStats sampleTotal() {
+        if (bean == null) return null;
+        long[] now = bean.getThreadCpuTime(ids);
+        lastTotal = now;
+        return stats(now, first, System.nanoTime() - firstNanos);
+    }
+
+    /**
+     * CPU nanoseconds of each thread, in constructor order, as of the last {@link #sampleTotal()};
+     * -1 for threads whose time was unavailable. Null before the first call or if unsupported.
+     */
+    public long[] perThreadTotals() {
+        if (lastTotal == null) return null;
+        long[] totals = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            totals[i] = lastTotal[i] >= 0 && first[i] >= 0 ? lastTotal[i] - first[i] : -1;
+        }
+        return totals;
+    }
+
+    private CpuShareStats stats(long[] now, long[] before, long wallNanos) {
+        // -1 marks a thread that has terminated or whose time is unavailable; it is left out
+        int n = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (now[i] >= 0 && before[i] >= 0) {
+                deltas[n++] = now[i] - before[i];
+            }
+        }
+        return CpuShareStats.of(deltas, n, wallNanos, scratch);
+    }
+
+    /** Distribution of per-thread CPU time over one wall-clock window. */
+    public static class CpuShareStats {
+        public int threads;
+        public double wallSeconds;
+        /** CPU seconds of all threads together. */
+        public double cpuSeconds;
+        /** Per-thread CPU time as a percentage of the wall-clock window. */
+        public double minPct;
+        public double medianPct;
+        public double maxPct;
+        /** Jain's fairness index of per-thread CPU time: 1 = even, 1/N = one thread got it all. */
+        public double jainIndex = Double.NaN;
+
+        static CpuShareStats of(long[] deltas, int n, long wallNanos, long[] scratch) {
+            CpuShareStats stats = new CpuShareStats();
+            stats.threads = n;
+            stats.wallSeconds = wallNanos / 1e9;
+            if (n == 0 || wallNanos <= 0) return stats;
+            double sum = 0;
+            double sumSquares = 0;
+            for (int i = 0; i < n; i++) {
+                sum += deltas[i];
+                sumSquares += (double) deltas[i] * deltas[i];
+            }
+            System.arraycopy(deltas, 0, scratch, 0, n);
+            Arrays.sort(scratch, 0, n);
+            long median = n % 2 == 1 ? scratch[n / 2] : (scratch[n / 2 - 1] + scratch[n / 2]) / 2;
+            stats.cpuSeconds = sum / 1e9;
+            stats.minPct = scratch[0] * 100.0 / wallNanos;
+            stats.medianPct = median * 100.0 / wallNanos;
+            stats.maxPct = scratch[n - 1] * 100.0 / wallNanos;
+            stats.jainIndex = sumSquares > 0 ? sum * sum / (n * sumSquares) : Double.NaN;
+            return stats;
+        }
+
+        /** Average number of CPUs kept busy by these threads. */
+        public double coresUsed() {
+            return wallSeconds > 0 ? cpuSeconds / wallSeconds : 0;
+        }
+    }
+}
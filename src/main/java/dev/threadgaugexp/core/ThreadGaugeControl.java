@@ -0,0 +1,305 @@
+package dev.threadgaugexp.core;
+
+import javax.management.AttributeChangeNotification;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanServer;
+import javax.management.Notification;
+import javax.management.NotificationBroadcasterSupport;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@link ThreadGaugeMXBean}: builds engines for remote start requests and hands them to a
+ * {@link Launcher}, which runs them the way its host runs tests (the window's controls, or a
+ * background thread in {@code threadgauge-cli serve}). The host reports every run back through
+ * {@link #runStarted}, {@link #runMessage}, {@link #runFinished} and {@link #runFailed}, so the
+ * attributes and notifications cover runs started from the window too.
+ */
+public class ThreadGaugeControl extends NotificationBroadcasterSupport implements ThreadGaugeMXBean {
+    public static final String OBJECT_NAME = "dev.threadgaugexp:type=ThreadGauge";
+    /** A run finished, normally or cancelled; user data is the result JSON. */
+    public static final String RUN_COMPLETED = "threadgauge.run.completed";
+    /** A run threw; user data is the error message. */
+    public static final String RUN_FAILED = "threadgauge.run.failed";
+
+    /** Runs an engine the host's way. */
+    public interface Launcher {
+        /**
+         * Starts {@code engine} unless the host is busy; returns false if it did not start. The
+         * host calls {@link #runStarted} before returning true.
+         */
+        boolean launch(ThreadGaugeControl control, TestEngine<? extends RunResult> engine, String title);
+    }
+
+    private final Launcher launcher;
+    private final AtomicLong notificationSequence = new AtomicLong();
+    private ObjectName registeredName;
+
+    private TestEngine<?> current;
+    /** A remote start is being handed to the launcher. */
+    private boolean launching;
+    private String currentTitle = "";
+    private long runId;
+    private long startedNanos;
+    private long finishedNanos;
+    private volatile String lastMessage = "";
+    private volatile String status = "Idle";
+    private RunResult lastResult;
+    private String lastError = "";
+    private TestResult lastTestResult;
+    private StressResult lastStressResult;
+
+    public ThreadGaugeControl(Launcher launcher) {
+        super(new MBeanNotificationInfo[] {
+            new MBeanNotificationInfo(new String[] {RUN_COMPLETED, RUN_FAILED}, Notification.class.getName(),
+                "A ThreadGauge run finished or failed"),
+            new MBeanNotificationInfo(new String[] {AttributeChangeNotification.ATTRIBUTE_CHANGE},
+                AttributeChangeNotification.class.getName(), "Running changed")
+        });
+        this.launcher = launcher;
+    }
+
+    /** Registers with the platform MBean server under {@value #OBJECT_NAME}. */
+    public void register() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        try {
+            server.registerMBean(this, name);
+        } catch (InstanceAlreadyExistsException e) {
+            // A previous window of this JVM; the newest instance takes over
+            server.unregisterMBean(name);
+            server.registerMBean(this, name);
+        }
+        registeredName = name;
+    }
+
+    public void unregister() {
+        if (registeredName == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException ignored) {
+            // Already gone
+        }
+        registeredName = null;
+    }
+
+    @Override
+    public long startMaxThreads(int stackSizeKB, boolean virtualThreads, String search) {
+        if (stackSizeKB < 0) {
+            throw new IllegalArgumentException("stackSizeKB must be >= 0");
+        }
+        SearchStrategy strategy;
+        switch (search == null ? "linear" : search.toLowerCase()) {
+            case "linear":
+                strategy = SearchStrategy.LINEAR;
+                break;
+            case "bisect":
+                strategy = SearchStrategy.EXPONENTIAL_BISECT;
+                break;
+            default:
+                throw new IllegalArgumentException("search expects linear or bisect, got '" + search + "'");
+        }
+        return launch(new ThreadTester(stackSizeKB, virtualThreads, strategy), "Max Threads Test");
+    }
+
+    @Override
+    public long startStress(int threads, int durationSeconds, String workload) {
+        if (threads < 1 || durationSeconds < 1) {
+            throw new IllegalArgumentException("threads and durationSeconds must be >= 1");
+        }
+        WorkloadMix mix = WorkloadMix.parse(workload == null || workload.isBlank() ? WorkloadMix.DEFAULT_SPEC : workload);
+        return launch(new StressTest(threads, durationSeconds, mix), "Stress Test");
+    }
+
+    @Override
+    public long startMemoryEstimate(int samples, int stackSizeKB, String accounting) {
+        if (samples < 1 || stackSizeKB < 0) {
+            throw new IllegalArgumentException("samples must be >= 1 and stackSizeKB >= 0");
+        }
+        MemoryAccounting mode;
+        switch (accounting == null ? "heap" : accounting.toLowerCase()) {
+            case "heap":
+                mode = MemoryAccounting.HEAP;
+                break;
+            case "native":
+                mode = MemoryAccounting.NATIVE;
+                break;
+            default:
+                throw new IllegalArgumentException("accounting expects heap or native, got '" + accounting + "'");
+        }
+        return launch(new MemoryEstimator(samples, stackSizeKB, mode), "Memory Estimate");
+    }
+
+    private long launch(TestEngine<? extends RunResult> engine, String title) {
+        synchronized (this) {
+            if (current != null || launching) {
+                throw new IllegalStateException((current != null ? currentTitle : "Another test") + " is already running");
+            }
+            launching = true;
+        }
+        try {
+            if (!launcher.launch(this, engine, title)) {
+                throw new IllegalStateException("another test is running");
+            }
+            synchronized (this) {
+                return runId;
+            }
+        } finally {
+            synchronized (this) {
+                launching = false;
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean cancel() {
+        if (current == null) return false;
+        current.cancel();
+        status = "Stopping...";
+        return true;
+    }
+
+    /** A run begins; returns its id. */
+    public long runStarted(TestEngine<?> engine, String title) {
+        long id;
+        synchronized (this) {
+            current = engine;
+            currentTitle = title;
+            id = ++runId;
+            startedNanos = System.nanoTime();
+            lastMessage = "";
+            status = "Running " + title;
+        }
+        sendRunningChange(false, true);
+        return id;
+    }
+
+    public void runMessage(String message) {
+        lastMessage = message;
+    }
+
+    public void runStatus(String status) {
+        this.status = status;
+    }
+
+    public void runFinished(RunResult result) {
+        String json = result.toJson();
+        long id;
+        synchronized (this) {
+            id = runId;
+            lastResult = result;
+            lastError = "";
+            if (result instanceof TestResult) lastTestResult = (TestResult) result;
+            if (result instanceof StressResult) lastStressResult = (StressResult) result;
+            endRun(result.isCancelled() ? "Cancelled" : "Completed");
+        }
+        sendRunningChange(true, false);
+        Notification notification = new Notification(RUN_COMPLETED, this, notificationSequence.incrementAndGet(),
+            "Run " + id + " " + result.type() + (result.isCancelled() ? " cancelled" : " completed"));
+        notification.setUserData(json);
+        sendNotification(notification);
+    }
+
+    public void runFailed(Throwable cause) {
+        String message = String.valueOf(cause.getMessage() != null ? cause.getMessage() : cause);
+        long id;
+        String title;
+        synchronized (this) {
+            id = runId;
+            title = currentTitle;
+            lastError = message;
+            endRun("Failed");
+        }
+        sendRunningChange(true, false);
+        Notification notification = new Notification(RUN_FAILED, this, notificationSequence.incrementAndGet(),
+            "Run " + id + " " + title + " failed: " + message);
+        notification.setUserData(message);
+        sendNotification(notification);
+    }
+
+    private void endRun(String outcome) {
+        current = null;
+        currentTitle = "";
+        finishedNanos = System.nanoTime();
+        status = outcome;
+    }
+
+    private void sendRunningChange(boolean before, boolean after) {
+        sendNotification(new AttributeChangeNotification(this, notificationSequence.incrementAndGet(),
+            System.currentTimeMillis(), "Running changed", "Running", "boolean", before, after));
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return current != null;
+    }
+
+    @Override
+    public synchronized long getRunId() {
+        return runId;
+    }
+
+    @Override
+    public synchronized String getCurrentRun() {
+        return currentTitle;
+    }
+
+    @Override
+    public synchronized double getElapsedSeconds() {
+        if (runId == 0) return 0;
+        return ((current != null ? System.nanoTime() : finishedNanos) - startedNanos) / 1e9;
+    }
+
+    @Override
+    public String getLastMessage() {
+        return lastMessage;
+    }
+
+    @Override
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public synchronized String getLastResultType() {
+        return lastResult != null ? lastResult.type() : "";
+    }
+
+    @Override
+    public synchronized String getLastResultSummary() {
+        return lastResult != null ? lastResult.summary() : "";
+    }
+
+    @Override
+    public synchronized String getLastResultJson() {
+        return lastResult != null ? lastResult.toJson() : "";
+    }
+
+    @Override
+    public synchronized String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public synchronized String getLastTestResultJson() {
+        return lastTestResult != null ? lastTestResult.toJson() : "";
+    }
+
+    @Override
+    public synchronized int getLastMaxThreads() {
+        return lastTestResult != null ? lastTestResult.maxThreads : -1;
+    }
+
+    @Override
+    public synchronized String getLastStressResultJson() {
+        return lastStressResult != null ? lastStressResult.toJson() : "";
+    }
+
+    @Override
+    public synchronized double getLastStressOpsPerSecond() {
+        return lastStressResult != null ? lastStressResult.opsPerSecond : Double.NaN;
+    }
+}
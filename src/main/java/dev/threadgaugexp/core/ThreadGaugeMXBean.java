@@ -0,0 +1,69 @@
+package dev.threadgaugexp.core;
+
+/**
+ * JMX surface of a running ThreadGauge instance, registered as {@value ThreadGaugeControl#OBJECT_NAME}.
+ * One run at a time: a start operation fails with {@link IllegalStateException} while another run,
+ * started remotely or from the window, is in progress. Every finished run emits a notification.
+ */
+public interface ThreadGaugeMXBean {
+
+    /**
+     * @param stackSizeKB     platform thread stack size, 0 for the JVM default
+     * @param virtualThreads  count virtual instead of platform threads
+     * @param search          {@code linear} or {@code bisect}
+     * @return the id of the new run
+     */
+    long startMaxThreads(int stackSizeKB, boolean virtualThreads, String search);
+
+    /**
+     * @param workload profile or ratio mix, e.g. {@code cpu} or {@code cpu:3,io:1}
+     * @return the id of the new run
+     */
+    long startStress(int threads, int durationSeconds, String workload);
+
+    /**
+     * @param accounting {@code heap} or {@code native}
+     * @return the id of the new run
+     */
+    long startMemoryEstimate(int samples, int stackSizeKB, String accounting);
+
+    /** Asks the current run to stop; it still completes with a partial result. False when idle. */
+    boolean cancel();
+
+    boolean isRunning();
+
+    /** Id of the current run, or of the last one when idle; 0 before the first run. */
+    long getRunId();
+
+    /** Title of the current run, e.g. {@code Stress Test}; empty when idle. */
+    String getCurrentRun();
+
+    double getElapsedSeconds();
+
+    /** Newest progress message of the current or last run. */
+    String getLastMessage();
+
+    String getStatus();
+
+    /** Type of the last finished run, e.g. {@code stress}; empty before the first. */
+    String getLastResultType();
+
+    String getLastResultSummary();
+
+    String getLastResultJson();
+
+    /** Failure message of the last run, empty when it finished normally. */
+    String getLastError();
+
+    /** JSON of the last max-threads result; empty before the first. */
+    String getLastTestResultJson();
+
+    /** Max threads reached by the last max-threads run; -1 before the first. */
+    int getLastMaxThreads();
+
+    /** JSON of the last stress result; empty before the first. */
+    String getLastStressResultJson();
+
+    /** Throughput of the last stress run; NaN before the first. */
+    double getLastStressOpsPerSecond();
+}
@@ -1,123 +1,342 @@
 package dev.threadgaugexp.core;
 
-import dev.threadgaugexp.MainWindow;
-
-import javax.swing.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 
-public class ThreadTester extends SwingWorker<TestResult, String> {
-    private MainWindow mainWindow;
+public class ThreadTester extends TestEngine<TestResult> {
     private int stackSizeKB;
+    private boolean virtualThreads;
+    private SearchStrategy strategy;
     private static final int SAFETY_CAP = 50000;
     private static final int BATCH_SIZE = 100;
+    // Parked virtual threads only cost a small heap-allocated stack chunk, so the ceiling is far higher
+    private static final int VIRTUAL_SAFETY_CAP = 2_000_000;
+    private static final int VIRTUAL_BATCH_SIZE = 1000;
     private static final long MIN_FREE_HEAP_MB = 50;
     private static final long JOIN_TIMEOUT_MS = 200; // avoid indefinite waits during cleanup
 
+    // Adaptive batching: size each batch so it takes about this long at the observed creation latency
+    private static final long TARGET_BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final int MIN_BATCH_SIZE = 10;
+    private static final int MAX_BATCH_FACTOR = 10;
+
+    // Exponential ramp starts here and doubles; bisection stops once the bracket is within 0.5%
+    private static final int INITIAL_PROBE = 1000;
+    private static final int VIRTUAL_INITIAL_PROBE = 10_000;
+    private static final double BISECT_RESOLUTION = 0.005;
+
+    // Low-impact idle loop that responds quickly to interrupts
+    private final Runnable worker = () -> {
+        while (!Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(1_000_000L); // ~1ms
+        }
+    };
+    // Virtual threads park indefinitely: a 1ms wake-up per thread would keep the carriers busy at high counts
+    private final Runnable virtualWorker = () -> {
+        while (!Thread.currentThread().isInterrupted()) {
+            LockSupport.park();
+        }
+    };
+    private final Thread.Builder virtualBuilder = Thread.ofVirtual().name("VirtualTestThread-", 0);
+
+    private final SpawnLatencyRecorder spawnLatency = new SpawnLatencyRecorder();
+
+    private boolean defaultedStackOnWindows = false;
+    private int batchSize;
+    private int maxBatchSize;
+    private double nanosPerThread;
+    private long memoryBefore;
+    private NativeMemorySnapshot nativeBefore;
+
     private static boolean isWindows() {
         String os = System.getProperty("os.name", "").toLowerCase();
         return os.contains("win");
     }
 
-    public ThreadTester(MainWindow mainWindow, int stackSizeKB) {
-        this.mainWindow = mainWindow;
+    public ThreadTester(int stackSizeKB) {
+        this(stackSizeKB, false);
+    }
+
+    public ThreadTester(int stackSizeKB, boolean virtualThreads) {
+        this(stackSizeKB, virtualThreads, SearchStrategy.LINEAR);
+    }
+
+    public ThreadTester(int stackSizeKB, boolean virtualThreads, SearchStrategy strategy) {
         this.stackSizeKB = stackSizeKB;
+        this.virtualThreads = virtualThreads;
+        this.strategy = strategy;
     }
 
     @Override
-    protected TestResult doInBackground() throws Exception {
-        publish("Starting max thread test with stack size: " + stackSizeKB + " KB");
-        mainWindow.setStatus("Testing max threads...");
+    protected TestResult execute() throws Exception {
+        if (virtualThreads) {
+            publish("Starting max virtual thread test (stack size not applicable), search: " + strategy);
+        } else {
+            publish("Starting max thread test with stack size: " + stackSizeKB + " KB, search: " + strategy);
+        }
+        setStatus("Testing max threads...");
 
-    List<Thread> threads = new ArrayList<>();
-        int threadCount = 0;
-        boolean limitReached = false;
-        String stopReason = "";
+        int safetyCap = virtualThreads ? VIRTUAL_SAFETY_CAP : SAFETY_CAP;
+        batchSize = virtualThreads ? VIRTUAL_BATCH_SIZE : BATCH_SIZE;
+        maxBatchSize = batchSize * MAX_BATCH_FACTOR;
+        nanosPerThread = 0;
 
         // Measure memory before
         System.gc();
         Thread.sleep(100);
         Runtime runtime = Runtime.getRuntime();
-        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
-
-        boolean defaultedStackOnWindows = false;
-        try {
-            while (!isCancelled() && threadCount < SAFETY_CAP) {
-                // Check available heap
-                long freeHeap = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
-                if (freeHeap < MIN_FREE_HEAP_MB * 1024 * 1024) {
-                    stopReason = "Low heap memory (< " + MIN_FREE_HEAP_MB + " MB free)";
-                    break;
-                }
+        memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        nativeBefore = NativeMemorySnapshot.capture();
 
-                // Create batch of threads
-                for (int i = 0; i < BATCH_SIZE && threadCount < SAFETY_CAP; i++) {
-                    try {
-                        Thread thread;
-                        Runnable worker = () -> {
-                            // Low-impact idle loop that responds quickly to interrupts
-                            while (!Thread.currentThread().isInterrupted()) {
-                                LockSupport.parkNanos(1_000_000L); // ~1ms
-                            }
-                        };
-
-                        boolean useCustomStack = (stackSizeKB > 0) && !(isWindows() && stackSizeKB == 512);
-                        if (!useCustomStack && stackSizeKB > 0 && isWindows()) {
-                            defaultedStackOnWindows = true;
-                        }
-                        thread = useCustomStack
-                                ? new Thread(null, worker, "TestThread-" + threadCount, stackSizeKB * 1024L)
-                                : new Thread(worker, "TestThread-" + threadCount);
-
-                        // Ensure these threads never block JVM shutdown and are easy to reap
-                        thread.setDaemon(true);
-                        thread.start();
-                        threads.add(thread);
-                        threadCount++;
-                    } catch (OutOfMemoryError e) {
-                        limitReached = true;
-                        stopReason = "OutOfMemoryError caught";
-                        break;
-                    } catch (Throwable t) {
-                        // Catch other failures like unable to create native thread
-                        limitReached = true;
-                        stopReason = "Thread creation failed: " + t.getClass().getSimpleName();
-                        break;
-                    }
-                }
+        long searchStart = System.nanoTime();
+        TestResult result;
+        try (PauseMonitor pauses = PauseMonitor.start()) {
+            result = strategy == SearchStrategy.EXPONENTIAL_BISECT
+                    ? exponentialBisectSearch(safetyCap)
+                    : linearSearch(safetyCap);
+            result.pauseJfr = pauses.hasJfr();
+            result.pauseBands = pauses.finish();
+        }
+        result.searchStrategy = strategy;
+        result.searchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - searchStart);
+        result.virtualThreads = virtualThreads;
+        result.stackSizeKB = virtualThreads ? 0 : stackSizeKB;
+        result.memoryPerThreadKB = result.heapPerThreadBytes / 1024;
+        LatencyHistogram totalStart = spawnLatency.totalStart();
+        result.spawnStartP50Nanos = totalStart.valueAtPercentile(50);
+        result.spawnStartP99Nanos = totalStart.valueAtPercentile(99);
+        result.spawnLatencyBands = spawnLatency.bands();
+        result.cancelled = isCancelled();
+        if (defaultedStackOnWindows) {
+            result.stopReason = result.stopReason + " | Note: used JVM default stack on Windows (requested " + stackSizeKB + " KB)";
+        }
 
-                if (limitReached) {
-                    break;
-                }
+        return result;
+    }
 
-                if (threadCount % 500 == 0) {
-                    publish("Created " + threadCount + " threads so far...");
-                }
+    private TestResult linearSearch(int safetyCap) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        String failure = spawnUpTo(threads, safetyCap, true);
+        int threadCount = threads.size();
+
+        TestResult result = new TestResult();
+        result.maxThreads = threadCount;
+        result.probes = 1;
+        if (isCancelled()) {
+            result.stopReason = "Test cancelled by user";
+        } else if (failure != null) {
+            result.stopReason = failure;
+        } else {
+            result.stopReason = "Safety cap reached (" + safetyCap + " threads)";
+        }
+
+        // Measure memory after, while the threads are still alive
+        measureFootprint(threadCount).applyTo(result);
+
+        publish("Test complete. Cleaning up threads...");
+        teardown(threads);
+        return result;
+    }
+
+    private TestResult exponentialBisectSearch(int safetyCap) throws InterruptedException {
+        int lastGood = 0;
+        int firstBad = 0; // 0 = no failing probe yet
+        String failure = null;
+        Footprint footprint = new Footprint();
+        int probes = 0;
+
+        // Phase 1: exponential ramp until a probe fails or the cap is reached
+        int target = Math.min(virtualThreads ? VIRTUAL_INITIAL_PROBE : INITIAL_PROBE, safetyCap);
+        while (!isCancelled()) {
+            ProbeOutcome probe = probe(target, ++probes);
+            if (probe.cancelled) break;
+            if (probe.failure == null) {
+                lastGood = target;
+                footprint = probe.footprint;
+                if (target >= safetyCap) break;
+                target = (int) Math.min(target * 2L, safetyCap);
+            } else {
+                // The threads the failing probe did start are a proven lower bound
+                lastGood = Math.max(lastGood, probe.reached);
+                firstBad = target;
+                failure = probe.failure;
+                break;
+            }
+        }
 
-                // brief yield between batches
-                LockSupport.parkNanos(1_000_000L);
+        // Phase 2: bisect between the most threads reached and the first failure
+        while (firstBad > 0 && !isCancelled()) {
+            int resolution = Math.max(MIN_BATCH_SIZE, (int) (lastGood * BISECT_RESOLUTION));
+            if (firstBad - lastGood <= resolution) break;
+            int mid = lastGood + (firstBad - lastGood) / 2;
+            ProbeOutcome probe = probe(mid, ++probes);
+            if (probe.cancelled) break;
+            if (probe.failure == null) {
+                lastGood = mid;
+                footprint = probe.footprint;
+            } else {
+                lastGood = Math.max(lastGood, probe.reached);
+                firstBad = mid;
+                failure = probe.failure;
             }
-        } catch (OutOfMemoryError e) {
-            limitReached = true;
-            stopReason = "OutOfMemoryError: " + e.getMessage();
         }
 
+        publish("Search complete after " + probes + " probes.");
+
+        TestResult result = new TestResult();
+        result.maxThreads = lastGood;
+        result.probes = probes;
+        footprint.applyTo(result);
         if (isCancelled()) {
-            stopReason = "Test cancelled by user";
-        } else if (threadCount >= SAFETY_CAP) {
-            stopReason = "Safety cap reached (" + SAFETY_CAP + " threads)";
+            result.stopReason = "Test cancelled by user";
+        } else if (firstBad > 0) {
+            result.stopReason = failure + " (ceiling between " + lastGood + " and " + firstBad + " threads)";
+        } else {
+            result.stopReason = "Safety cap reached (" + safetyCap + " threads)";
+        }
+        return result;
+    }
+
+    /** Spawns {@code target} threads from scratch, measures heap if all started, then tears them down. */
+    private ProbeOutcome probe(int target, int probeNumber) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>(target);
+        long start = System.nanoTime();
+        String failure = spawnUpTo(threads, target, false);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        ProbeOutcome outcome = new ProbeOutcome();
+        outcome.cancelled = isCancelled();
+        outcome.failure = failure;
+        outcome.reached = threads.size();
+        if (failure == null && !outcome.cancelled) {
+            outcome.footprint = measureFootprint(threads.size());
+            publish("Probe " + probeNumber + ": " + target + " threads OK (" + elapsedMs + " ms)");
+        } else if (failure != null) {
+            publish("Probe " + probeNumber + ": " + target + " threads failed at " + threads.size() + " - " + failure);
+        }
+        teardown(threads);
+        // Reclaim the torn-down threads so the next probe starts from the same heap baseline
+        System.gc();
+        Thread.sleep(50);
+        return outcome;
+    }
+
+    private static class ProbeOutcome {
+        String failure;
+        /** Threads started before the probe stopped; the target when it succeeded. */
+        int reached;
+        Footprint footprint;
+        boolean cancelled;
+    }
+
+    /**
+     * Adds threads to {@code threads} until it holds {@code target} of them.
+     * Returns the failure reason, or null if the target was reached or the test was cancelled.
+     */
+    private String spawnUpTo(List<Thread> threads, int target, boolean reportProgress) {
+        Runtime runtime = Runtime.getRuntime();
+        int reportEvery = (virtualThreads ? VIRTUAL_BATCH_SIZE : BATCH_SIZE) * 5;
+        while (!isCancelled() && threads.size() < target) {
+            // Check available heap
+            long freeHeap = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+            if (freeHeap < MIN_FREE_HEAP_MB * 1024 * 1024) {
+                return "Low heap memory (< " + MIN_FREE_HEAP_MB + " MB free)";
+            }
+
+            // Create batch of threads
+            int before = threads.size();
+            int batch = Math.min(batchSize, target - before);
+            long batchStart = System.nanoTime();
+            for (int i = 0; i < batch; i++) {
+                try {
+                    threads.add(startThread(threads.size()));
+                } catch (OutOfMemoryError e) {
+                    return "OutOfMemoryError caught";
+                } catch (Throwable t) {
+                    // Catch other failures like unable to create native thread
+                    return "Thread creation failed: " + t.getClass().getSimpleName();
+                }
+            }
+            adaptBatchSize(System.nanoTime() - batchStart, threads.size() - before);
+
+            if (reportProgress && threads.size() / reportEvery != before / reportEvery) {
+                publish("Created " + threads.size() + " threads so far... (batch size " + batchSize + ")");
+            }
+
+            // brief yield between batches
+            LockSupport.parkNanos(1_000_000L);
+        }
+        return null;
+    }
+
+    /** Creates and starts one test thread, recording creation and start latency in the band for {@code index}. */
+    private Thread startThread(int index) {
+        long createStart = System.nanoTime();
+        Thread thread;
+        if (virtualThreads) {
+            // Virtual threads are always daemon threads
+            thread = virtualBuilder.unstarted(virtualWorker);
+        } else {
+            boolean useCustomStack = (stackSizeKB > 0) && !(isWindows() && stackSizeKB == 512);
+            if (!useCustomStack && stackSizeKB > 0 && isWindows()) {
+                defaultedStackOnWindows = true;
+            }
+            thread = useCustomStack
+                    ? new Thread(null, worker, "TestThread-" + index, stackSizeKB * 1024L)
+                    : new Thread(worker, "TestThread-" + index);
+
+            // Ensure these threads never block JVM shutdown and are easy to reap
+            thread.setDaemon(true);
         }
+        long startStart = System.nanoTime();
+        thread.start();
+        long started = System.nanoTime();
+        spawnLatency.record(index, startStart - createStart, started - startStart);
+        LiveMetrics.recordSpawn(startStart - createStart, started - startStart);
+        return thread;
+    }
+
+    /**
+     * Sizes the next batch from a smoothed per-thread creation latency: batches shrink as
+     * creation slows down near the limit, so heap checks and cancellation stay frequent there.
+     */
+    private void adaptBatchSize(long batchNanos, int created) {
+        if (created <= 0) return;
+        double perThread = (double) batchNanos / created;
+        nanosPerThread = nanosPerThread == 0 ? perThread : 0.8 * nanosPerThread + 0.2 * perThread;
+        long desired = (long) (TARGET_BATCH_NANOS / Math.max(1.0, nanosPerThread));
+        batchSize = (int) Math.max(MIN_BATCH_SIZE, Math.min(maxBatchSize, desired));
+    }
 
-        // Measure memory after
+    /** Heap and native cost per live thread relative to the snapshot taken before the search. */
+    private Footprint measureFootprint(int threadCount) throws InterruptedException {
+        Footprint footprint = new Footprint();
+        if (threadCount <= 0) return footprint;
         System.gc();
         Thread.sleep(100);
-        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
-        long memoryPerThread = threadCount > 0 ? (memoryAfter - memoryBefore) / threadCount : 0;
+        NativeMemorySnapshot after = NativeMemorySnapshot.capture();
+        footprint.heapPerThreadBytes = (after.heapUsedBytes - memoryBefore) / threadCount;
+        footprint.rssPerThreadKB = NativeMemorySnapshot.perThreadKB(nativeBefore.vmRssKB, after.vmRssKB, threadCount);
+        footprint.stackCommittedPerThreadKB = NativeMemorySnapshot.perThreadKB(
+                nativeBefore.nmtStackCommittedKB, after.nmtStackCommittedKB, threadCount);
+        return footprint;
+    }
 
-        publish("Test complete. Cleaning up threads...");
+    private static class Footprint {
+        long heapPerThreadBytes;
+        double rssPerThreadKB = Double.NaN;
+        double stackCommittedPerThreadKB = Double.NaN;
+
+        void applyTo(TestResult result) {
+            result.heapPerThreadBytes = heapPerThreadBytes;
+            result.rssPerThreadKB = rssPerThreadKB;
+            result.stackCommittedPerThreadKB = stackCommittedPerThreadKB;
+        }
+    }
 
+    private static void teardown(List<Thread> threads) {
         // Cleanup: interrupt and join with timeouts to avoid hangs
         for (Thread thread : threads) {
             try {
@@ -136,18 +355,7 @@ public class ThreadTester extends SwingWorker<TestResult, String> {
                 break;
             }
         }
-
-        TestResult result = new TestResult();
-        result.maxThreads = threadCount;
-        result.stackSizeKB = stackSizeKB;
-        result.memoryPerThreadKB = memoryPerThread / 1024;
-        if (defaultedStackOnWindows) {
-            result.stopReason = stopReason + " | Note: used JVM default stack on Windows (requested " + stackSizeKB + " KB)";
-        } else {
-            result.stopReason = stopReason;
-        }
-
-        return result;
+        threads.clear();
     }
 
     // Package-private helper used by tests: spawns N threads then cleans up deterministically.
@@ -183,41 +391,4 @@ public class ThreadTester extends SwingWorker<TestResult, String> {
         }
         return allStopped;
     }
-
-    @Override
-    protected void process(List<String> chunks) {
-        for (String message : chunks) {
-            mainWindow.getOutputPanel().log(message);
-        }
-    }
-
-    @Override
-    protected void done() {
-        try {
-            if (!isCancelled()) {
-                TestResult result = get();
-                String message = String.format(
-                    "Max threads reached: %d\nStack size: %d KB\nMemory per thread: ~%d KB\nReason: %s",
-                    result.maxThreads, result.stackSizeKB, result.memoryPerThreadKB, result.stopReason
-                );
-                mainWindow.getOutputPanel().logSuccess(message);
-                
-                JOptionPane.showMessageDialog(
-                    mainWindow,
-                    message,
-                    "Max Threads Test Complete",
-                    JOptionPane.INFORMATION_MESSAGE
-                );
-            } else {
-                mainWindow.getOutputPanel().logWarning("Max threads test was cancelled.");
-            }
-        } catch (Exception e) {
-            mainWindow.getOutputPanel().logError("Test failed: " + e.getMessage());
-        } finally {
-            mainWindow.setStatus("Ready");
-            mainWindow.getControlsPanel().testCompleted();
-        }
-    }
-
-    
 }
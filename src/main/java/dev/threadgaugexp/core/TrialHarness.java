@@ -0,0 +1,97 @@
+package dev.threadgaugexp.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repeats one headless command in a fresh child JVM per trial, so no trial sees the native heap,
+ * thread tables or warmed-up GC left behind by another. Every numeric top-level field of the
+ * child's JSON result is summarised as mean, standard deviation and 95% confidence interval.
+ */
+public class TrialHarness extends TestEngine<TrialResult> {
+    private final List<String> jvmArgs;
+    private final List<String> command;
+    private final int repetitions;
+
+    public TrialHarness(List<String> jvmArgs, List<String> command, int repetitions) {
+        if (command.isEmpty()) {
+            throw new IllegalArgumentException("no command to run");
+        }
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("repetitions must be >= 1");
+        }
+        this.jvmArgs = List.copyOf(jvmArgs);
+        this.command = List.copyOf(command);
+        this.repetitions = repetitions;
+    }
+
+    /**
+     * Child JVM flags for the given stack size, heap size and collector. Sizes use -Xss/-Xmx syntax
+     * (e.g. "512k", "1g"); null or blank leaves the JVM default. Extra flags are split on whitespace.
+     */
+    public static List<String> jvmArgs(String xss, String xmx, GarbageCollector gc, String extraFlags) {
+        List<String> args = new ArrayList<>();
+        if (xss != null && !xss.isBlank()) args.add("-Xss" + xss.trim());
+        if (xmx != null && !xmx.isBlank()) args.add("-Xmx" + xmx.trim());
+        if (gc != null && gc.getFlag() != null) args.add(gc.getFlag());
+        if (extraFlags != null && !extraFlags.isBlank()) {
+            for (String flag : extraFlags.trim().split("\\s+")) {
+                args.add(flag);
+            }
+        }
+        return args;
+    }
+
+    @Override
+    protected TrialResult execute() throws Exception {
+        publish("Running '" + String.join(" ", command) + "' " + repetitions + " time(s), one child JVM each"
+                + (jvmArgs.isEmpty() ? "" : ", JVM flags: " + String.join(" ", jvmArgs)));
+        long start = System.nanoTime();
+
+        TrialResult result = new TrialResult();
+        result.command = String.join(" ", command);
+        result.jvmArgs = String.join(" ", jvmArgs);
+        result.repetitions = repetitions;
+
+        // Metric name -> values in trial order; insertion order follows the child's JSON
+        Map<String, double[]> values = new LinkedHashMap<>();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+
+        for (int trial = 1; trial <= repetitions && !isCancelled(); trial++) {
+            setStatus("Trial " + trial + "/" + repetitions + ": " + command.get(0));
+            String prefix = "  [trial " + trial + "/" + repetitions + "] ";
+            Map<String, Object> json;
+            try {
+                json = new ChildJvm(jvmArgs, command).run(message -> publish(prefix + message), this::isCancelled);
+            } catch (IOException e) {
+                publish(prefix + "failed: " + e.getMessage());
+                result.failures++;
+                continue;
+            }
+            if (Boolean.TRUE.equals(json.get("cancelled"))) {
+                // A partial run would drag the statistics down; keep it out of the sample
+                publish(prefix + "cancelled, not counted");
+                continue;
+            }
+            result.completed++;
+            for (Map.Entry<String, Object> field : json.entrySet()) {
+                if (!(field.getValue() instanceof Number)) continue;
+                double[] series = values.computeIfAbsent(field.getKey(), k -> new double[repetitions]);
+                int count = counts.getOrDefault(field.getKey(), 0);
+                series[count] = ((Number) field.getValue()).doubleValue();
+                counts.put(field.getKey(), count + 1);
+            }
+            publish(prefix + "done");
+        }
+
+        for (Map.Entry<String, double[]> metric : values.entrySet()) {
+            result.metrics.add(SampleStats.of(metric.getKey(), metric.getValue(), counts.get(metric.getKey())));
+        }
+        result.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        result.cancelled = isCancelled();
+        return result;
+    }
+}
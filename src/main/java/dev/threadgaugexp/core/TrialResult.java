@@ -0,0 +1,69 @@
+package dev.threadgaugexp.core;
+
+import dev.threadgaugexp.util.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result data for the TrialHarness engine: per-metric statistics over the completed trials.
+ */
+public class TrialResult implements RunResult {
+    public String command;
+    public String jvmArgs;
+    public int repetitions;
+    public int completed;
+    public int failures;
+    public List<SampleStats> metrics = new ArrayList<>();
+    public long elapsedMillis;
+    public boolean cancelled;
+
+    @Override
+    public String type() {
+        return "trials";
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String summary() {
+        StringBuilder sb = new StringBuilder(String.format(
+            "Forked trials: %s\nJVM flags: %s\nTrials: %d of %d completed, %d failed (%.1f s)",
+            command, jvmArgs.isEmpty() ? "(default)" : jvmArgs, completed, repetitions, failures, elapsedMillis / 1000.0));
+        sb.append(String.format("%n  %-28s %4s %14s %14s %12s %14s %14s",
+            "Metric", "n", "Mean", "95% CI +/-", "Stddev", "Min", "Max"));
+        for (SampleStats stats : metrics) {
+            sb.append(String.format("%n  %-28s %4d %14s %14s %12s %14s %14s",
+                stats.name, stats.n, format(stats.mean), format(stats.ci95), format(stats.stddev),
+                format(stats.min), format(stats.max)));
+        }
+        return sb.toString();
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) return "N/A";
+        return Math.abs(value) >= 1000 ? String.format("%.0f", value) : String.format("%.2f", value);
+    }
+
+    @Override
+    public String toJson() {
+        List<String> metricJson = new ArrayList<>();
+        for (SampleStats stats : metrics) {
+            metricJson.add(stats.toJson());
+        }
+        return Json.object()
+            .put("type", type())
+            .put("command", command)
+            .put("jvmArgs", jvmArgs)
+            .put("repetitions", repetitions)
+            .put("completed", completed)
+            .put("failures", failures)
+            .put("elapsedMillis", elapsedMillis)
+            .putRaw("metrics", Json.array(metricJson))
+            .put("cancelled", cancelled)
+            .toString();
+    }
+}
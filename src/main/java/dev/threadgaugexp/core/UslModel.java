@@ -0,0 +1,129 @@
+package dev.threadgaugexp.core;
+
+/**
+ * Universal Scalability Law fit of throughput against concurrency:
+ * X(N) = lambda * N / (1 + sigma * (N - 1) + kappa * N * (N - 1)),
+ * where sigma is contention (serialised fraction, Amdahl) and kappa is coherency (crosstalk).
+ *
+ * The fit is least squares on the linearised form N / C(N) - 1 = sigma * (N - 1) + kappa * N * (N - 1),
+ * with C(N) = X(N) / lambda. Lambda (single-thread throughput) is taken from the smallest N measured
+ * and refined with the fitted coefficients when N = 1 was not part of the sweep.
+ */
+public class UslModel {
+    private static final int LAMBDA_REFINEMENTS = 20;
+
+    public double lambda;
+    public double sigma;
+    public double kappa;
+    /** Amdahl-only fit (kappa forced to zero) on the same data, for comparison. */
+    public double amdahlSigma;
+    /** Coefficient of determination of the USL curve against the measured throughput. */
+    public double rSquared = Double.NaN;
+
+    /**
+     * @param threads    concurrency levels, at least two distinct values
+     * @param throughput measured throughput at each level (same units as the returned predictions)
+     * @throws IllegalArgumentException with fewer than two usable points
+     */
+    public static UslModel fit(int[] threads, double[] throughput) {
+        int minIndex = -1;
+        int usable = 0;
+        for (int i = 0; i < threads.length; i++) {
+            if (threads[i] < 1 || !(throughput[i] > 0)) continue;
+            usable++;
+            if (minIndex < 0 || threads[i] < threads[minIndex]) minIndex = i;
+        }
+        if (usable < 2) {
+            throw new IllegalArgumentException("need at least two measurements with positive throughput");
+        }
+
+        UslModel model = new UslModel();
+        int n0 = threads[minIndex];
+        model.lambda = throughput[minIndex] / n0;
+        int rounds = n0 == 1 ? 1 : LAMBDA_REFINEMENTS;
+        for (int round = 0; round < rounds; round++) {
+            model.fitCoefficients(threads, throughput);
+            // X(n0) = lambda * n0 / D(n0)  =>  lambda = X(n0) * D(n0) / n0
+            model.lambda = throughput[minIndex] * model.denominator(n0) / n0;
+        }
+        model.fitCoefficients(threads, throughput);
+        model.rSquared = model.rSquared(threads, throughput);
+        return model;
+    }
+
+    private void fitCoefficients(int[] threads, double[] throughput) {
+        // Regress y = N / C - 1 on a = N - 1 and b = N (N - 1) through the origin
+        double saa = 0, sab = 0, sbb = 0, say = 0, sby = 0;
+        for (int i = 0; i < threads.length; i++) {
+            if (threads[i] < 1 || !(throughput[i] > 0)) continue;
+            double n = threads[i];
+            double y = n / (throughput[i] / lambda) - 1;
+            double a = n - 1;
+            double b = n * (n - 1);
+            saa += a * a;
+            sab += a * b;
+            sbb += b * b;
+            say += a * y;
+            sby += b * y;
+        }
+        amdahlSigma = saa > 0 ? clamp(say / saa) : 0;
+
+        double det = saa * sbb - sab * sab;
+        double s = det != 0 ? (say * sbb - sby * sab) / det : amdahlSigma;
+        double k = det != 0 ? (saa * sby - sab * say) / det : 0;
+        // Negative coefficients have no physical meaning: refit with that term removed
+        if (k < 0) {
+            k = 0;
+            s = amdahlSigma;
+        } else if (s < 0) {
+            s = 0;
+            k = sbb > 0 ? Math.max(0, sby / sbb) : 0;
+        }
+        sigma = clamp(s);
+        kappa = k;
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+
+    private double denominator(double n) {
+        return 1 + sigma * (n - 1) + kappa * n * (n - 1);
+    }
+
+    public double predict(double n) {
+        return lambda * n / denominator(n);
+    }
+
+    /** Concurrency with the highest predicted throughput, sqrt((1 - sigma) / kappa); infinite when kappa is 0. */
+    public double peakConcurrency() {
+        return kappa > 0 ? Math.sqrt((1 - sigma) / kappa) : Double.POSITIVE_INFINITY;
+    }
+
+    /** Throughput at the peak, or the asymptote lambda / sigma without coherency loss. */
+    public double peakThroughput() {
+        double peak = peakConcurrency();
+        if (!Double.isInfinite(peak)) return predict(peak);
+        return sigma > 0 ? lambda / sigma : Double.POSITIVE_INFINITY;
+    }
+
+    private double rSquared(int[] threads, double[] throughput) {
+        double mean = 0;
+        int count = 0;
+        for (int i = 0; i < threads.length; i++) {
+            if (threads[i] < 1 || !(throughput[i] > 0)) continue;
+            mean += throughput[i];
+            count++;
+        }
+        mean /= count;
+        double residual = 0, totalVariance = 0;
+        for (int i = 0; i < threads.length; i++) {
+            if (threads[i] < 1 || !(throughput[i] > 0)) continue;
+            double error = throughput[i] - predict(threads[i]);
+            double spread = throughput[i] - mean;
+            residual += error * error;
+            totalVariance += spread * spread;
+        }
+        return totalVariance > 0 ? 1 - residual / totalVariance : Double.NaN;
+    }
+}
@@ -0,0 +1,41 @@
+package dev.threadgaugexp.core;
+
+/**
+ * A stress workload profile. StressTest calls {@link #setUp()} once, creates one {@link Worker}
+ * per thread and calls {@link Worker#iterate()} in a loop, timing each call as one iteration.
+ *
+ * Additional profiles can be plugged in with {@link java.util.ServiceLoader}: implement this
+ * interface with a public no-argument constructor and list the class in
+ * {@code META-INF/services/dev.threadgaugexp.core.Workload}. A new instance is created for every run.
+ */
+public interface Workload {
+
+    /** Short identifier used in workload specs, e.g. {@code cpu} or {@code io}. */
+    String name();
+
+    String description();
+
+    /** Prepares shared state (buffers, files) before any worker starts. */
+    default void setUp() throws Exception {
+    }
+
+    /** Per-thread state; called on the engine thread before the worker thread starts. */
+    Worker newWorker(int workerIndex);
+
+    /** Releases shared state after all workers have stopped. */
+    default void tearDown() {
+    }
+
+    /** Think time after each iteration, outside the timed part; 0 for back-to-back iterations. */
+    default long pauseMillis() {
+        return 0;
+    }
+
+    interface Worker {
+        /**
+         * Performs one unit of work. The returned value is accumulated by the caller so the
+         * JIT cannot eliminate the work.
+         */
+        double iterate() throws Exception;
+    }
+}
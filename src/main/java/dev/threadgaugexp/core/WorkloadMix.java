@@ -0,0 +1,227 @@
+package dev.threadgaugexp.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/**
+ * One or more workload profiles combined by ratio, parsed from a spec such as {@code cpu},
+ * {@code cpu:3,io:1} or {@code alloc:1,lock:1}. Each worker interleaves the profiles in a fixed,
+ * evenly spread order (smooth weighted round-robin), so every thread sees the same mix without
+ * sharing a random number generator.
+ */
+public class WorkloadMix {
+    public static final String DEFAULT_SPEC = "light";
+
+    private static final Map<String, Supplier<Workload>> BUILT_IN = new LinkedHashMap<>();
+
+    static {
+        BUILT_IN.put("light", LightWorkload::new);
+        BUILT_IN.put("cpu", CpuWorkload::new);
+        BUILT_IN.put("memory", MemoryBandwidthWorkload::new);
+        BUILT_IN.put("alloc", AllocationWorkload::new);
+        BUILT_IN.put("io", BlockingIoWorkload::new);
+        BUILT_IN.put("lock", LockHotspotWorkload::new);
+    }
+
+    private final List<Workload> workloads = new ArrayList<>();
+    private final List<Integer> weights = new ArrayList<>();
+    /** Index into {@code workloads} for every step of one round. */
+    private int[] schedule;
+
+    private WorkloadMix() {
+    }
+
+    public static WorkloadMix defaultMix() {
+        return parse(DEFAULT_SPEC);
+    }
+
+    /** Names of the built-in profiles followed by those found through ServiceLoader. */
+    public static List<String> availableNames() {
+        List<String> names = new ArrayList<>(BUILT_IN.keySet());
+        for (Workload workload : loadPlugins()) {
+            if (!names.contains(workload.name())) {
+                names.add(workload.name());
+            }
+        }
+        return names;
+    }
+
+    /** A fresh instance of the named profile. */
+    public static Workload create(String name) {
+        Supplier<Workload> builtIn = BUILT_IN.get(name);
+        if (builtIn != null) {
+            return builtIn.get();
+        }
+        for (Workload workload : loadPlugins()) {
+            if (workload.name().equals(name)) {
+                return workload;
+            }
+        }
+        throw new IllegalArgumentException("Unknown workload '" + name + "' (available: "
+                + String.join(", ", availableNames()) + ")");
+    }
+
+    private static List<Workload> loadPlugins() {
+        List<Workload> plugins = new ArrayList<>();
+        Iterator<Workload> iterator = ServiceLoader.load(Workload.class).iterator();
+        while (true) {
+            try {
+                if (!iterator.hasNext()) break;
+                plugins.add(iterator.next());
+            } catch (ServiceConfigurationError e) {
+                // A broken provider must not hide the others
+            }
+        }
+        return plugins;
+    }
+
+    /**
+     * Parses {@code name[:weight][,name[:weight]...]}; the weight defaults to 1.
+     *
+     * @throws IllegalArgumentException for unknown names, bad weights or repeated names
+     */
+    public static WorkloadMix parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            throw new IllegalArgumentException("Workload spec is empty");
+        }
+        WorkloadMix mix = new WorkloadMix();
+        List<String> seen = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String entry = part.trim();
+            String name = entry;
+            int weight = 1;
+            int colon = entry.indexOf(':');
+            if (colon >= 0) {
+                name = entry.substring(0, colon).trim();
+                try {
+                    weight = Integer.parseInt(entry.substring(colon + 1).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Bad weight in workload entry '" + entry + "'");
+                }
+            }
+            if (weight < 1 || weight > 100) {
+                throw new IllegalArgumentException("Workload weight must be 1-100: '" + entry + "'");
+            }
+            if (seen.contains(name)) {
+                throw new IllegalArgumentException("Workload '" + name + "' appears twice");
+            }
+            seen.add(name);
+            mix.workloads.add(create(name));
+            mix.weights.add(weight);
+        }
+        mix.schedule = smoothSchedule(mix.weights);
+        return mix;
+    }
+
+    /** Smooth weighted round-robin: weights 3,1 give 0,0,1,0 rather than 0,0,0,1. */
+    private static int[] smoothSchedule(List<Integer> weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int[] schedule = new int[total];
+        int[] current = new int[weights.size()];
+        for (int step = 0; step < total; step++) {
+            int best = 0;
+            for (int i = 0; i < current.length; i++) {
+                current[i] += weights.get(i);
+                if (current[i] > current[best]) best = i;
+            }
+            current[best] -= total;
+            schedule[step] = best;
+        }
+        return schedule;
+    }
+
+    /** Canonical spec, e.g. {@code cpu:3,io:1}; single profiles drop the weight. */
+    public String spec() {
+        if (workloads.size() == 1) {
+            return workloads.get(0).name();
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < workloads.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(workloads.get(i).name()).append(':').append(weights.get(i));
+        }
+        return sb.toString();
+    }
+
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < workloads.size(); i++) {
+            if (i > 0) sb.append("; ");
+            Workload workload = workloads.get(i);
+            sb.append(workload.name());
+            if (workloads.size() > 1) {
+                sb.append(" x").append(weights.get(i));
+            }
+            sb.append(" (").append(workload.description()).append(')');
+        }
+        return sb.toString();
+    }
+
+    /** Sets up every profile; profiles already set up are torn down again if a later one fails. */
+    public void setUp() throws Exception {
+        for (int i = 0; i < workloads.size(); i++) {
+            try {
+                workloads.get(i).setUp();
+            } catch (Exception e) {
+                for (int j = i - 1; j >= 0; j--) {
+                    workloads.get(j).tearDown();
+                }
+                throw e;
+            }
+        }
+    }
+
+    public void tearDown() {
+        for (Workload workload : workloads) {
+            workload.tearDown();
+        }
+    }
+
+    /** Per-thread driver: one worker per profile, stepped through the shared schedule. */
+    public Driver newDriver(int workerIndex) {
+        Workload.Worker[] workers = new Workload.Worker[workloads.size()];
+        long[] pauses = new long[workloads.size()];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = workloads.get(i).newWorker(workerIndex);
+            pauses[i] = workloads.get(i).pauseMillis();
+        }
+        // Offset the starting step so threads do not run the same profile in lockstep
+        return new Driver(workers, pauses, schedule, workerIndex % schedule.length);
+    }
+
+    public static final class Driver {
+        private final Workload.Worker[] workers;
+        private final long[] pauses;
+        private final int[] schedule;
+        private int step;
+        private int current;
+
+        private Driver(Workload.Worker[] workers, long[] pauses, int[] schedule, int step) {
+            this.workers = workers;
+            this.pauses = pauses;
+            this.schedule = schedule;
+            this.step = step;
+        }
+
+        /** Runs the next profile in the schedule for one iteration. */
+        public double iterate() throws Exception {
+            current = schedule[step];
+            step = step + 1 == schedule.length ? 0 : step + 1;
+            return workers[current].iterate();
+        }
+
+        /** Think time requested by the profile of the last iteration. */
+        public long pauseMillis() {
+            return pauses[current];
+        }
+    }
+}
@@ -1,8 +1,25 @@
 package dev.threadgaugexp.ui;
 
 import dev.threadgaugexp.MainWindow;
+import dev.threadgaugexp.core.ChildJvm;
+import dev.threadgaugexp.core.ExecutorComparison;
+import dev.threadgaugexp.core.ExecutorKind;
+import dev.threadgaugexp.core.FalseSharingTest;
+import dev.threadgaugexp.core.GarbageCollector;
+import dev.threadgaugexp.core.LockContentionTest;
+import dev.threadgaugexp.core.LockStrategy;
+import dev.threadgaugexp.core.MemoryAccounting;
+import dev.threadgaugexp.core.MemoryEstimator;
+import dev.threadgaugexp.core.PinningStressTest;
+import dev.threadgaugexp.core.RunResult;
+import dev.threadgaugexp.core.ScalingSweep;
+import dev.threadgaugexp.core.SearchStrategy;
+import dev.threadgaugexp.core.StackSizeSweep;
 import dev.threadgaugexp.core.StressTest;
+import dev.threadgaugexp.core.TestEngine;
 import dev.threadgaugexp.core.ThreadTester;
+import dev.threadgaugexp.core.TrialHarness;
+import dev.threadgaugexp.core.WorkloadMix;
 import dev.threadgaugexp.util.ExportUtil;
 
 import javax.swing.*;
@@ -12,21 +29,43 @@ import java.awt.*;
 public class ControlsPanel extends JPanel {
     private MainWindow mainWindow;
     private JButton maxThreadsButton;
+    private JButton memoryEstimateButton;
+    private JButton stackSweepButton;
+    private JButton forkedTrialsButton;
     private JButton stopButton;
     private JButton stressTestButton;
+    private JButton pinningTestButton;
+    private JButton executorComparisonButton;
+    private JButton lockContentionButton;
+    private JButton falseSharingButton;
+    private JButton scalingSweepButton;
     private JButton exportButton;
+    private JButton exportTelemetryButton;
+    private JButton importJmhButton;
+    private JButton historyButton;
+    private JButton metricsButton;
     private JButton restartNoJavaDetectButton;
     private JButton restartDarkModeButton;
     private JSpinner stackSizeSpinner;
+    private JComboBox<String> threadTypeCombo;
+    private JComboBox<SearchStrategy> searchStrategyCombo;
+    private JComboBox<MemoryAccounting> memoryAccountingCombo;
     private JSpinner stressThreadsSpinner;
     private JSpinner stressDurationSpinner;
+    private JComboBox<String> stressWorkloadCombo;
     private JProgressBar progressBar;
     private JLabel animationLabel;
     
-    private ThreadTester threadTester;
-    private StressTest stressTest;
+    private EngineWorker<?> currentWorker;
     private boolean testRunning = false;
 
+    private static final int MEMORY_SAMPLE_THREADS = 200;
+    private static final int SWEEP_MIN_STACK_KB = 128;
+    private static final int SWEEP_MAX_STACK_KB = 8192;
+    private static final int SWEEP_STEPS = 7;
+    private static final int DEFAULT_TRIALS = 5;
+    private static final String[] TRIAL_TESTS = {"Max Threads", "Memory Estimate", "Stress Test", "Pinning Test"};
+
     public ControlsPanel(MainWindow mainWindow) {
         this.mainWindow = mainWindow;
         initializeUI();
@@ -59,6 +98,29 @@ public class ControlsPanel extends JPanel {
         innerPanel.add(stackSizeSpinner, gbc);
         row++;
 
+        // Thread type for the max threads probe
+        gbc.gridx = 0; gbc.gridy = row;
+    JLabel threadTypeLabel = new JLabel("Thread Type:");
+    threadTypeLabel.setToolTipText("Platform = thread del sistema operativo. Virtual = thread virtuali Java 21 (lo stack size non si applica).");
+    innerPanel.add(threadTypeLabel, gbc);
+        gbc.gridx = 1;
+    threadTypeCombo = new JComboBox<>(new String[]{"Platform", "Virtual"});
+    threadTypeCombo.setToolTipText("Tipo di thread creati dal test massimo.");
+    threadTypeCombo.addActionListener(e -> stackSizeSpinner.setEnabled(!isVirtualSelected()));
+        innerPanel.add(threadTypeCombo, gbc);
+        row++;
+
+        // Search strategy for the max threads probe
+        gbc.gridx = 0; gbc.gridy = row;
+    JLabel searchLabel = new JLabel("Search:");
+    searchLabel.setToolTipText("Linear = aggiunge thread fino al limite. Exponential + Bisect = raddoppia, poi bisezione tra ultimo successo e primo fallimento (più veloce, meno tempo al limite).");
+    innerPanel.add(searchLabel, gbc);
+        gbc.gridx = 1;
+    searchStrategyCombo = new JComboBox<>(SearchStrategy.values());
+    searchStrategyCombo.setToolTipText("Strategia di ricerca del numero massimo di thread.");
+        innerPanel.add(searchStrategyCombo, gbc);
+        row++;
+
         // Max threads button
         gbc.gridx = 0; gbc.gridy = row; gbc.gridwidth = 2;
     maxThreadsButton = createXPButton("Find Max Threads");
@@ -67,6 +129,34 @@ public class ControlsPanel extends JPanel {
         innerPanel.add(maxThreadsButton, gbc);
         row++;
 
+        // Memory estimate: accounting mode + button
+        gbc.gridwidth = 1;
+        gbc.gridx = 0; gbc.gridy = row;
+    JLabel accountingLabel = new JLabel("Memory Mode:");
+    accountingLabel.setToolTipText("Heap = solo delta dell'heap Java (gli stack dei thread sono fuori heap). Native = anche RSS da /proc e stack committed da NMT (-XX:NativeMemoryTracking=summary).");
+    innerPanel.add(accountingLabel, gbc);
+        gbc.gridx = 1;
+    memoryAccountingCombo = new JComboBox<>(MemoryAccounting.values());
+    memoryAccountingCombo.setSelectedItem(MemoryAccounting.NATIVE);
+    memoryAccountingCombo.setToolTipText("Modalità di misura della memoria per thread.");
+        innerPanel.add(memoryAccountingCombo, gbc);
+        row++;
+
+        gbc.gridx = 0; gbc.gridy = row; gbc.gridwidth = 2;
+    memoryEstimateButton = createXPButton("Estimate Memory/Thread");
+    memoryEstimateButton.setToolTipText("Crea " + MEMORY_SAMPLE_THREADS + " thread campione con lo stack size scelto e misura heap, stack committed e RSS per thread.");
+        memoryEstimateButton.addActionListener(e -> startMemoryEstimate());
+        innerPanel.add(memoryEstimateButton, gbc);
+        row++;
+
+        // Stack size sweep (each size in a fresh child JVM)
+        gbc.gridy = row;
+    stackSweepButton = createXPButton("Stack Size Sweep...");
+    stackSweepButton.setToolTipText("Per ogni stack size (scala geometrica) esegue Max Threads e stima memoria nativa in una JVM separata. Produce una matrice: thread massimi, RSS per thread, p99 di avvio.");
+        stackSweepButton.addActionListener(e -> startStackSweep());
+        innerPanel.add(stackSweepButton, gbc);
+        row++;
+
         // Separator
         gbc.gridy = row;
         innerPanel.add(new JSeparator(), gbc);
@@ -96,6 +186,19 @@ public class ControlsPanel extends JPanel {
         innerPanel.add(stressDurationSpinner, gbc);
         row++;
 
+        gbc.gridx = 0; gbc.gridy = row;
+    JLabel workloadLabel = new JLabel("Workload:");
+    workloadLabel.setToolTipText("Profilo di carico: light (calcolo + sleep), cpu, memory (banda di memoria), alloc (GC), io (I/O bloccante su file), lock (lock condiviso). Mix con pesi, es. cpu:3,io:1.");
+    innerPanel.add(workloadLabel, gbc);
+        gbc.gridx = 1;
+    java.util.List<String> workloads = new java.util.ArrayList<>(WorkloadMix.availableNames());
+    workloads.add("cpu:3,io:1");
+    stressWorkloadCombo = new JComboBox<>(workloads.toArray(new String[0]));
+    stressWorkloadCombo.setEditable(true);
+    stressWorkloadCombo.setToolTipText("Scegli un profilo o scrivi un mix nome:peso separato da virgole.");
+        innerPanel.add(stressWorkloadCombo, gbc);
+        row++;
+
         // Stress test button
         gbc.gridx = 0; gbc.gridy = row; gbc.gridwidth = 2;
     stressTestButton = createXPButton("Run Stress Test");
@@ -104,6 +207,54 @@ public class ControlsPanel extends JPanel {
         innerPanel.add(stressTestButton, gbc);
         row++;
 
+        // Pinning test button (virtual threads, same thread count and duration)
+        gbc.gridy = row;
+    pinningTestButton = createXPButton("Run Pinning Test");
+    pinningTestButton.setToolTipText("Thread virtuali: confronta sezioni synchronized (pinning del carrier) e ReentrantLock. Metà durata per ciascuna fase.");
+        pinningTestButton.addActionListener(e -> startPinningTest());
+        innerPanel.add(pinningTestButton, gbc);
+        row++;
+
+        // Scaling sweep (stress test at a geometric series of thread counts + USL fit)
+        gbc.gridy = row;
+    scalingSweepButton = createXPButton("Scaling Sweep...");
+    scalingSweepButton.setToolTipText("Esegue lo stress test con un numero di thread crescente (scala geometrica), misura il throughput e stima contesa/coerenza (USL) e la concorrenza di picco.");
+        scalingSweepButton.addActionListener(e -> startScalingSweep());
+        innerPanel.add(scalingSweepButton, gbc);
+        row++;
+
+        // Executor comparison (same task batch through each execution model)
+        gbc.gridy = row;
+    executorComparisonButton = createXPButton("Executor Comparison...");
+    executorComparisonButton.setToolTipText("Invia lo stesso lotto di task a ThreadPoolExecutor, ForkJoinPool e virtual thread per task. Confronta task/sec, attesa in coda e latenza di completamento (percentili).");
+        executorComparisonButton.addActionListener(e -> startExecutorComparison());
+        innerPanel.add(executorComparisonButton, gbc);
+        row++;
+
+        // Lock contention suite (shared table through each lock strategy)
+        gbc.gridy = row;
+    lockContentionButton = createXPButton("Lock Contention...");
+    lockContentionButton.setToolTipText("N thread leggono/scrivono una tabella condivisa con synchronized, ReentrantLock (fair/unfair), StampedLock, LongAdder e lock a strisce. Confronta throughput ed equità (indice di Jain).");
+        lockContentionButton.addActionListener(e -> startLockContention());
+        innerPanel.add(lockContentionButton, gbc);
+        row++;
+
+        // False sharing sweep (adjacent vs padded per-thread counters)
+        gbc.gridy = row;
+    falseSharingButton = createXPButton("False Sharing...");
+    falseSharingButton.setToolTipText("Contatori per thread adiacenti (stessa cache line) contro slot distanziati di 128 byte, da 1 thread al numero di processori. Riporta il rapporto di throughput.");
+        falseSharingButton.addActionListener(e -> startFalseSharing());
+        innerPanel.add(falseSharingButton, gbc);
+        row++;
+
+        // Forked trials (repeat a test in fresh child JVMs)
+        gbc.gridy = row;
+    forkedTrialsButton = createXPButton("Forked Trials...");
+    forkedTrialsButton.setToolTipText("Ripete un test N volte, ognuna in una JVM nuova con -Xss/-Xmx/GC configurabili. Riporta media, deviazione standard e intervallo di confidenza al 95%.");
+        forkedTrialsButton.addActionListener(e -> startForkedTrials());
+        innerPanel.add(forkedTrialsButton, gbc);
+        row++;
+
         // Stop button
         gbc.gridy = row;
         stopButton = createXPButton("Stop Test");
@@ -131,6 +282,27 @@ public class ControlsPanel extends JPanel {
         innerPanel.add(exportButton, gbc);
         row++;
 
+        gbc.gridy = row;
+    exportTelemetryButton = createXPButton("Export Telemetry...");
+    exportTelemetryButton.setToolTipText("Esporta tutti i campioni di telemetria della sessione e i dati per thread dell'ultimo stress test (CSV, JSON lines o binario a colonne).");
+        exportTelemetryButton.addActionListener(e -> ExportUtil.exportTelemetry(mainWindow));
+        innerPanel.add(exportTelemetryButton, gbc);
+        row++;
+
+        gbc.gridy = row;
+    importJmhButton = createXPButton("Import JMH Results...");
+    importJmhButton.setToolTipText("Carica un file JSON di JMH (./gradlew jmh) nella sessione, per confrontarlo con le stime dell'app ed esportarlo insieme.");
+        importJmhButton.addActionListener(e -> ExportUtil.importJmhResults(mainWindow));
+        innerPanel.add(importJmhButton, gbc);
+        row++;
+
+        gbc.gridy = row;
+    historyButton = createXPButton("Run History...");
+    historyButton.setToolTipText("Storico di tutte le esecuzioni (GUI e CLI) con confronto rispetto a una baseline e segnalazione delle regressioni.");
+        historyButton.addActionListener(e -> new HistoryDialog(mainWindow, mainWindow.getResultStore()).setVisible(true));
+        innerPanel.add(historyButton, gbc);
+        row++;
+
     // App Controls section (distinct from test controls)
     gbc.gridy = row; gbc.gridwidth = 2;
     JPanel appPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
@@ -147,6 +319,17 @@ public class ControlsPanel extends JPanel {
     restartDarkModeButton.setToolTipText("Riavvia l'app nella modalità di visualizzazione selezionata");
     appPanel.add(restartDarkModeButton);
 
+    metricsButton = createXPButton(mainWindow.isMetricsRunning() ? "Stop Metrics" : "Start Metrics");
+    metricsButton.setToolTipText("Espone thread, heap, CPU, ops/sec, latenze di creazione thread, context switch e pause GC in formato OpenMetrics su /metrics (indirizzo con -Dtgxp.metrics=[host:]porta, predefinito 127.0.0.1:9404).");
+    metricsButton.addActionListener(e -> {
+        if (mainWindow.isMetricsRunning()) {
+            mainWindow.stopMetrics();
+        } else {
+            mainWindow.startMetrics();
+        }
+    });
+    appPanel.add(metricsButton);
+
     // Wire actions after placement
     restartNoJavaDetectButton.addActionListener(e -> restartApp(false, null));
     restartDarkModeButton.addActionListener(e -> restartApp(true, !dark));
@@ -173,6 +356,11 @@ public class ControlsPanel extends JPanel {
         add(innerPanel, BorderLayout.NORTH);
     }
 
+    /** Matches the metrics button to whether the endpoint is running. */
+    public void updateMetricsButton() {
+        metricsButton.setText(mainWindow.isMetricsRunning() ? "Stop Metrics" : "Start Metrics");
+    }
+
     private JButton createXPButton(String text) {
         JButton button = new JButton(text);
         button.setFont(new Font("Tahoma", Font.PLAIN, 11));
@@ -212,39 +400,329 @@ public class ControlsPanel extends JPanel {
     }
 
     private void startMaxThreadsTest() {
-        if (testRunning) return;
-        
-        testRunning = true;
-        setControlsEnabled(false);
-        showProgress("Finding maximum threads...");
-        
         int stackSize = (Integer) stackSizeSpinner.getValue();
-        threadTester = new ThreadTester(mainWindow, stackSize);
-        threadTester.execute();
+        SearchStrategy strategy = (SearchStrategy) searchStrategyCombo.getSelectedItem();
+        startEngine(new ThreadTester(stackSize, isVirtualSelected(), strategy), "Max Threads Test", "Finding maximum threads...");
+    }
+
+    private void startMemoryEstimate() {
+        int stackSize = (Integer) stackSizeSpinner.getValue();
+        MemoryAccounting accounting = (MemoryAccounting) memoryAccountingCombo.getSelectedItem();
+        startEngine(new MemoryEstimator(MEMORY_SAMPLE_THREADS, stackSize, accounting), "Memory Estimate", "Estimating memory per thread...");
+    }
+
+    private void startStackSweep() {
+        JSpinner minSpinner = new JSpinner(new SpinnerNumberModel(SWEEP_MIN_STACK_KB, 128, 65536, 128));
+        JSpinner maxSpinner = new JSpinner(new SpinnerNumberModel(SWEEP_MAX_STACK_KB, 128, 65536, 128));
+        JSpinner stepsSpinner = new JSpinner(new SpinnerNumberModel(SWEEP_STEPS, 1, 20, 1));
+        styleSpinner(minSpinner);
+        styleSpinner(maxSpinner);
+        styleSpinner(stepsSpinner);
+
+        JPanel panel = new JPanel(new GridLayout(0, 2, 5, 5));
+        panel.add(new JLabel("Min Stack (KB):"));
+        panel.add(minSpinner);
+        panel.add(new JLabel("Max Stack (KB):"));
+        panel.add(maxSpinner);
+        panel.add(new JLabel("Steps:"));
+        panel.add(stepsSpinner);
+
+        int choice = JOptionPane.showConfirmDialog(mainWindow, panel, "Stack Size Sweep",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) return;
+
+        int min = (Integer) minSpinner.getValue();
+        int max = (Integer) maxSpinner.getValue();
+        if (max < min) {
+            JOptionPane.showMessageDialog(mainWindow, "Max stack must be >= min stack.", "Stack Size Sweep",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        SearchStrategy strategy = (SearchStrategy) searchStrategyCombo.getSelectedItem();
+        startEngine(new StackSizeSweep(min, max, (Integer) stepsSpinner.getValue(), strategy, MEMORY_SAMPLE_THREADS),
+                "Stack Size Sweep", "Sweeping stack sizes...");
+    }
+
+    private void startScalingSweep() {
+        JSpinner minSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 10_000, 1));
+        JSpinner maxSpinner = new JSpinner(new SpinnerNumberModel(256, 1, 10_000, 16));
+        JSpinner stepsSpinner = new JSpinner(new SpinnerNumberModel(9, 2, 30, 1));
+        JSpinner durationSpinner = new JSpinner(new SpinnerNumberModel((int) (Integer) stressDurationSpinner.getValue(), 1, 60, 1));
+        for (JSpinner spinner : new JSpinner[]{minSpinner, maxSpinner, stepsSpinner, durationSpinner}) {
+            styleSpinner(spinner);
+        }
+
+        JPanel panel = new JPanel(new GridLayout(0, 2, 5, 5));
+        panel.add(new JLabel("Min Threads:"));
+        panel.add(minSpinner);
+        panel.add(new JLabel("Max Threads:"));
+        panel.add(maxSpinner);
+        panel.add(new JLabel("Steps:"));
+        panel.add(stepsSpinner);
+        panel.add(new JLabel("Duration/Step (sec):"));
+        panel.add(durationSpinner);
+
+        int choice = JOptionPane.showConfirmDialog(mainWindow, panel, "Scaling Sweep",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) return;
+
+        int min = (Integer) minSpinner.getValue();
+        int max = (Integer) maxSpinner.getValue();
+        if (max < min) {
+            JOptionPane.showMessageDialog(mainWindow, "Max threads must be >= min threads.", "Scaling Sweep",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        String workload = selectedWorkload();
+        if (workload == null) return;
+        startEngine(new ScalingSweep(min, max, (Integer) stepsSpinner.getValue(), (Integer) durationSpinner.getValue(),
+                workload), "Scaling Sweep", "Running scaling sweep...");
+    }
+
+    private void startExecutorComparison() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        JSpinner tasksSpinner = new JSpinner(new SpinnerNumberModel(100_000, 1000, 1_000_000, 10_000));
+        JSpinner iterationsSpinner = new JSpinner(new SpinnerNumberModel(1000, 0, 1_000_000, 500));
+        JSpinner blockSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 1000, 1));
+        JSpinner poolSpinner = new JSpinner(new SpinnerNumberModel(processors, 1, 10_000, 1));
+        JSpinner parallelismSpinner = new JSpinner(new SpinnerNumberModel(processors, 1, 32_767, 1));
+        for (JSpinner spinner : new JSpinner[]{tasksSpinner, iterationsSpinner, blockSpinner, poolSpinner, parallelismSpinner}) {
+            styleSpinner(spinner);
+        }
+        blockSpinner.setToolTipText("Sleep per task dopo il calcolo: 0 = task solo CPU, >0 = task misto CPU/bloccante.");
+
+        JPanel panel = new JPanel(new GridLayout(0, 2, 5, 5));
+        panel.add(new JLabel("Tasks:"));
+        panel.add(tasksSpinner);
+        panel.add(new JLabel("Kernel Iterations/Task:"));
+        panel.add(iterationsSpinner);
+        panel.add(new JLabel("Sleep/Task (ms):"));
+        panel.add(blockSpinner);
+        panel.add(new JLabel("Pool Size:"));
+        panel.add(poolSpinner);
+        panel.add(new JLabel("ForkJoin Parallelism:"));
+        panel.add(parallelismSpinner);
+        java.util.Map<ExecutorKind, JCheckBox> checkBoxes = new java.util.EnumMap<>(ExecutorKind.class);
+        for (ExecutorKind kind : ExecutorKind.values()) {
+            JCheckBox checkBox = new JCheckBox(kind.getLabel(), true);
+            checkBoxes.put(kind, checkBox);
+            panel.add(checkBox);
+        }
+
+        int choice = JOptionPane.showConfirmDialog(mainWindow, panel, "Executor Comparison",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) return;
+
+        java.util.EnumSet<ExecutorKind> kinds = java.util.EnumSet.noneOf(ExecutorKind.class);
+        checkBoxes.forEach((kind, checkBox) -> {
+            if (checkBox.isSelected()) kinds.add(kind);
+        });
+        if (kinds.isEmpty()) {
+            JOptionPane.showMessageDialog(mainWindow, "Select at least one executor.", "Executor Comparison",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        startEngine(new ExecutorComparison((Integer) tasksSpinner.getValue(), (Integer) iterationsSpinner.getValue(),
+                (Integer) blockSpinner.getValue(), (Integer) poolSpinner.getValue(), (Integer) parallelismSpinner.getValue(), kinds),
+                "Executor Comparison", "Comparing executors...");
+    }
+
+    private void startLockContention() {
+        JSpinner threadsSpinner = new JSpinner(new SpinnerNumberModel(16, 1, 10_000, 1));
+        JSpinner durationSpinner = new JSpinner(new SpinnerNumberModel(3, 1, 60, 1));
+        JSpinner readSpinner = new JSpinner(new SpinnerNumberModel(80, 0, 100, 5));
+        JSpinner keysSpinner = new JSpinner(new SpinnerNumberModel(64, 1, 1_000_000, 16));
+        for (JSpinner spinner : new JSpinner[]{threadsSpinner, durationSpinner, readSpinner, keysSpinner}) {
+            styleSpinner(spinner);
+        }
+        readSpinner.setToolTipText("Percentuale di operazioni di sola lettura; il resto incrementa un contatore.");
+        keysSpinner.setToolTipText("Numero di contatori nella tabella condivisa: meno chiavi = più contesa per chiave.");
+
+        JPanel panel = new JPanel(new GridLayout(0, 2, 5, 5));
+        panel.add(new JLabel("Threads:"));
+        panel.add(threadsSpinner);
+        panel.add(new JLabel("Duration/Strategy (sec):"));
+        panel.add(durationSpinner);
+        panel.add(new JLabel("Reads (%):"));
+        panel.add(readSpinner);
+        panel.add(new JLabel("Keys:"));
+        panel.add(keysSpinner);
+        java.util.Map<LockStrategy, JCheckBox> checkBoxes = new java.util.EnumMap<>(LockStrategy.class);
+        for (LockStrategy strategy : LockStrategy.values()) {
+            JCheckBox checkBox = new JCheckBox(strategy.getLabel(), true);
+            checkBoxes.put(strategy, checkBox);
+            panel.add(checkBox);
+        }
+
+        int choice = JOptionPane.showConfirmDialog(mainWindow, panel, "Lock Contention",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) return;
+
+        java.util.EnumSet<LockStrategy> strategies = java.util.EnumSet.noneOf(LockStrategy.class);
+        checkBoxes.forEach((strategy, checkBox) -> {
+            if (checkBox.isSelected()) strategies.add(strategy);
+        });
+        if (strategies.isEmpty()) {
+            JOptionPane.showMessageDialog(mainWindow, "Select at least one lock strategy.", "Lock Contention",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        startEngine(new LockContentionTest((Integer) threadsSpinner.getValue(), (Integer) durationSpinner.getValue(),
+                (Integer) readSpinner.getValue(), (Integer) keysSpinner.getValue(), strategies),
+                "Lock Contention", "Comparing locks...");
+    }
+
+    private void startFalseSharing() {
+        JSpinner maxSpinner = new JSpinner(new SpinnerNumberModel(Runtime.getRuntime().availableProcessors(), 1, 4096, 1));
+        JSpinner phaseSpinner = new JSpinner(new SpinnerNumberModel(1000, 100, 60_000, 250));
+        styleSpinner(maxSpinner);
+        styleSpinner(phaseSpinner);
+        maxSpinner.setToolTipText("Numero massimo di thread (potenze di due fino a questo valore).");
+
+        JPanel panel = new JPanel(new GridLayout(0, 2, 5, 5));
+        panel.add(new JLabel("Max Threads:"));
+        panel.add(maxSpinner);
+        panel.add(new JLabel("Time/Layout (ms):"));
+        panel.add(phaseSpinner);
+
+        int choice = JOptionPane.showConfirmDialog(mainWindow, panel, "False Sharing",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) return;
+        startEngine(new FalseSharingTest((Integer) maxSpinner.getValue(), (Integer) phaseSpinner.getValue()),
+                "False Sharing", "Measuring false sharing...");
+    }
+
+    private void startForkedTrials() {
+        JComboBox<String> testCombo = new JComboBox<>(TRIAL_TESTS);
+        JSpinner repeatSpinner = new JSpinner(new SpinnerNumberModel(DEFAULT_TRIALS, 1, 100, 1));
+        styleSpinner(repeatSpinner);
+        JTextField xssField = new JTextField(8);
+        xssField.setToolTipText("Es. 512k, 1m. Vuoto = predefinito JVM.");
+        JTextField xmxField = new JTextField(8);
+        xmxField.setToolTipText("Es. 512m, 2g. Vuoto = predefinito JVM.");
+        JComboBox<GarbageCollector> gcCombo = new JComboBox<>(GarbageCollector.values());
+        JTextField extraField = new JTextField(16);
+        extraField.setToolTipText("Altri flag JVM separati da spazi, es. -XX:NativeMemoryTracking=summary");
+
+        JPanel panel = new JPanel(new GridLayout(0, 2, 5, 5));
+        panel.add(new JLabel("Test:"));
+        panel.add(testCombo);
+        panel.add(new JLabel("Repetitions:"));
+        panel.add(repeatSpinner);
+        panel.add(new JLabel("-Xss:"));
+        panel.add(xssField);
+        panel.add(new JLabel("-Xmx:"));
+        panel.add(xmxField);
+        panel.add(new JLabel("GC:"));
+        panel.add(gcCombo);
+        panel.add(new JLabel("Extra JVM Flags:"));
+        panel.add(extraField);
+
+        int choice = JOptionPane.showConfirmDialog(mainWindow, panel, "Forked Trials",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) return;
+
+        java.util.List<String> jvmArgs = TrialHarness.jvmArgs(xssField.getText(), xmxField.getText(),
+                (GarbageCollector) gcCombo.getSelectedItem(), extraField.getText());
+        startEngine(new TrialHarness(jvmArgs, trialCommand((String) testCombo.getSelectedItem()), (Integer) repeatSpinner.getValue()),
+                "Forked Trials", "Running forked trials...");
+    }
+
+    /** Headless command line for the chosen test, using the current panel settings. */
+    private java.util.List<String> trialCommand(String test) {
+        String stack = stackSizeSpinner.getValue().toString();
+        String threads = stressThreadsSpinner.getValue().toString();
+        String duration = stressDurationSpinner.getValue().toString();
+        switch (test) {
+            case "Memory Estimate":
+                return java.util.List.of("memory", "--samples", Integer.toString(MEMORY_SAMPLE_THREADS), "--stack", stack,
+                        "--accounting", memoryAccountingCombo.getSelectedItem() == MemoryAccounting.NATIVE ? "native" : "heap");
+            case "Stress Test":
+                return java.util.List.of("stress", "--threads", threads, "--duration", duration,
+                        "--workload", workloadText());
+            case "Pinning Test":
+                return java.util.List.of("pinning", "--threads", threads, "--duration", duration);
+            default:
+                java.util.List<String> cmd = new java.util.ArrayList<>(java.util.List.of("max-threads", "--stack", stack,
+                        "--search", searchStrategyCombo.getSelectedItem() == SearchStrategy.LINEAR ? "linear" : "bisect"));
+                if (isVirtualSelected()) {
+                    cmd.add("--virtual");
+                }
+                return cmd;
+        }
+    }
+
+    private boolean isVirtualSelected() {
+        return "Virtual".equals(threadTypeCombo.getSelectedItem());
     }
 
     private void startStressTest() {
-        if (testRunning) return;
-        
-        testRunning = true;
-        setControlsEnabled(false);
-        showProgress("Running stress test...");
-        
         int threads = (Integer) stressThreadsSpinner.getValue();
         int duration = (Integer) stressDurationSpinner.getValue();
-        
-        stressTest = new StressTest(mainWindow, threads, duration);
-        stressTest.execute();
+        String workload = selectedWorkload();
+        if (workload == null) return;
+        startEngine(new StressTest(threads, duration, WorkloadMix.parse(workload)), "Stress Test", "Running stress test...");
     }
 
-    private void stopCurrentTest() {
-        if (threadTester != null) {
-            threadTester.cancel(true);
+    private String workloadText() {
+        Object item = stressWorkloadCombo.getEditor().getItem();
+        String text = item != null ? item.toString().trim() : "";
+        return text.isEmpty() ? WorkloadMix.DEFAULT_SPEC : text;
+    }
+
+    /** The workload spec from the combo, or null (after telling the user) when it does not parse. */
+    private String selectedWorkload() {
+        String spec = workloadText();
+        try {
+            return WorkloadMix.parse(spec).spec();
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(mainWindow, e.getMessage(), "Workload", JOptionPane.WARNING_MESSAGE);
+            return null;
         }
-        if (stressTest != null) {
-            stressTest.cancel(true);
+    }
+
+    private void startPinningTest() {
+        int threads = (Integer) stressThreadsSpinner.getValue();
+        int duration = (Integer) stressDurationSpinner.getValue();
+        startEngine(new PinningStressTest(threads, duration), "Pinning Test", "Running pinning test...");
+    }
+
+    private <R extends RunResult> void startEngine(TestEngine<R> engine, String title, String progressMessage) {
+        startEngine(engine, title, progressMessage, false);
+    }
+
+    private <R extends RunResult> boolean startEngine(TestEngine<R> engine, String title, String progressMessage,
+                                                      boolean remote) {
+        if (testRunning) return false;
+
+        testRunning = true;
+        setControlsEnabled(false);
+        showProgress(progressMessage);
+
+        mainWindow.getControl().runStarted(engine, title);
+        EngineWorker<R> worker = new EngineWorker<>(mainWindow, engine, title, remote);
+        currentWorker = worker;
+        worker.execute();
+        return true;
+    }
+
+    /**
+     * Runs an engine started over JMX like one started from the buttons, without the closing
+     * dialog. Returns false while another test runs. EDT only.
+     */
+    public boolean startRemoteEngine(TestEngine<? extends RunResult> engine, String title) {
+        if (testRunning) return false;
+        mainWindow.getOutputPanel().log("Started over JMX: " + title);
+        return startEngine(engine, title, "Running " + title + " (JMX)...", true);
+    }
+
+    private void stopCurrentTest() {
+        // The worker's done() re-enables the controls once the engine has cleaned up
+        if (currentWorker != null) {
+            currentWorker.stop();
+            stopButton.setEnabled(false);
+            progressBar.setString("Stopping...");
         }
-        testCompleted();
     }
 
     private void exportResults() {
@@ -255,17 +733,31 @@ public class ControlsPanel extends JPanel {
         testRunning = false;
         setControlsEnabled(true);
         hideProgress();
-        threadTester = null;
-        stressTest = null;
+        currentWorker = null;
     }
 
     private void setControlsEnabled(boolean enabled) {
         maxThreadsButton.setEnabled(enabled);
+        memoryEstimateButton.setEnabled(enabled);
+        stackSweepButton.setEnabled(enabled);
+        forkedTrialsButton.setEnabled(enabled);
+        memoryAccountingCombo.setEnabled(enabled);
         stressTestButton.setEnabled(enabled);
+        pinningTestButton.setEnabled(enabled);
+        executorComparisonButton.setEnabled(enabled);
+        lockContentionButton.setEnabled(enabled);
+        falseSharingButton.setEnabled(enabled);
+        scalingSweepButton.setEnabled(enabled);
         exportButton.setEnabled(enabled);
-        stackSizeSpinner.setEnabled(enabled);
+        exportTelemetryButton.setEnabled(enabled);
+        importJmhButton.setEnabled(enabled);
+        historyButton.setEnabled(enabled);
+        stackSizeSpinner.setEnabled(enabled && !isVirtualSelected());
+        threadTypeCombo.setEnabled(enabled);
+        searchStrategyCombo.setEnabled(enabled);
         stressThreadsSpinner.setEnabled(enabled);
         stressDurationSpinner.setEnabled(enabled);
+        stressWorkloadCombo.setEnabled(enabled);
         stopButton.setEnabled(!enabled);
     }
 
@@ -301,15 +793,11 @@ public class ControlsPanel extends JPanel {
 
     private void restartApp(boolean toggleDarkMode, Boolean darkModeTarget) {
         try {
-            String javaHome = System.getProperty("java.home");
-            String sep = System.getProperty("file.separator");
-            String javaBin = javaHome + sep + "bin" + sep + (isWindows() ? "java.exe" : "java");
-
             java.util.List<String> cmd = new java.util.ArrayList<>();
-            cmd.add(javaBin);
+            cmd.add(ChildJvm.javaExecutable());
 
             // Preserve existing properties we care about
-            String classPath = System.getProperty("java.class.path", ".");
+            String classPath = ChildJvm.classPath();
             String detectProp = System.getProperty("tgxp.detectSystemJava", "true");
             String darkProp = System.getProperty("tgxp.darkMode", "false");
 
@@ -322,6 +810,10 @@ public class ControlsPanel extends JPanel {
                 cmd.add("-Dtgxp.detectSystemJava=false");
                 cmd.add("-Dtgxp.darkMode=" + darkProp);
             }
+            String metricsProp = System.getProperty("tgxp.metrics");
+            if (metricsProp != null) {
+                cmd.add("-Dtgxp.metrics=" + metricsProp);
+            }
 
             cmd.add("-cp");
             cmd.add(classPath);
@@ -336,11 +828,6 @@ public class ControlsPanel extends JPanel {
         }
     }
 
-    private static boolean isWindows() {
-        String os = System.getProperty("os.name", "").toLowerCase();
-        return os.contains("win");
-    }
-
     private TitledBorder createXPBorder(String title) {
         TitledBorder border = BorderFactory.createTitledBorder(
             BorderFactory.createLineBorder(dev.threadgaugexp.util.XPStyleManager.getBorderColor(), 2),
@@ -0,0 +1,123 @@
+package dev.threadgaugexp.ui;
+
+import dev.threadgaugexp.MainWindow;
+import dev.threadgaugexp.core.ProgressListener;
+import dev.threadgaugexp.core.ResultStore;
+import dev.threadgaugexp.core.RunComparison;
+import dev.threadgaugexp.core.RunRecord;
+import dev.threadgaugexp.core.RunResult;
+import dev.threadgaugexp.core.TestEngine;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Runs a {@link TestEngine} in the background and reports its progress and result to the main window.
+ */
+public class EngineWorker<R extends RunResult> extends SwingWorker<R, String> {
+    private final MainWindow mainWindow;
+    private final TestEngine<R> engine;
+    private final String title;
+    /** Started over JMX: the result is logged but not shown in a dialog. */
+    private final boolean remote;
+    /** Outcome of recording the result, set by doInBackground() and logged by done(). */
+    private RunComparison comparison;
+    private String recordError;
+
+    public EngineWorker(MainWindow mainWindow, TestEngine<R> engine, String title, boolean remote) {
+        this.mainWindow = mainWindow;
+        this.engine = engine;
+        this.title = title;
+        this.remote = remote;
+    }
+
+    /** Asks the engine to stop; done() still runs and reports the partial result. */
+    public void stop() {
+        engine.cancel();
+    }
+
+    @Override
+    protected R doInBackground() throws Exception {
+        R result = engine.run(new ProgressListener() {
+            @Override
+            public void onMessage(String message) {
+                mainWindow.getControl().runMessage(message);
+                publish(message);
+            }
+
+            @Override
+            public void onStatus(String status) {
+                mainWindow.getControl().runStatus(status);
+                mainWindow.setStatus(status);
+            }
+        });
+        record(result);
+        return result;
+    }
+
+    @Override
+    protected void process(List<String> chunks) {
+        for (String message : chunks) {
+            mainWindow.getOutputPanel().log(message);
+        }
+    }
+
+    /**
+     * Appends the result to the run history and compares it with the previous comparable run.
+     * Runs on the worker thread: the store may wait for a file lock held by a CLI run.
+     */
+    private void record(R result) {
+        ResultStore store = mainWindow.getResultStore();
+        try {
+            RunRecord record = store.append(result);
+            RunRecord baseline = ResultStore.baselineFor(record, store.list());
+            if (baseline != null) {
+                comparison = new RunComparison(baseline, record, RunComparison.DEFAULT_THRESHOLD_PCT);
+            }
+        } catch (IOException e) {
+            recordError = "Could not record the run in " + store.getDataFile() + ": " + e.getMessage();
+        }
+    }
+
+    private void logRecordOutcome() {
+        if (recordError != null) {
+            mainWindow.getOutputPanel().logWarning(recordError);
+        } else if (comparison != null && comparison.hasRegression()) {
+            mainWindow.getOutputPanel().logWarning("Regression against the previous run: " + comparison.summary());
+        } else if (comparison != null) {
+            mainWindow.getOutputPanel().log("Compared with the previous run: " + comparison.summary());
+        }
+    }
+
+    @Override
+    protected void done() {
+        try {
+            R result = get();
+            mainWindow.addResult(result);
+            mainWindow.getControl().runFinished(result);
+            logRecordOutcome();
+            String message = result.summary();
+            if (result.isCancelled()) {
+                mainWindow.getOutputPanel().logWarning(message);
+            } else {
+                mainWindow.getOutputPanel().logSuccess(message);
+            }
+            if (remote) return;
+
+            JOptionPane.showMessageDialog(
+                mainWindow,
+                message,
+                title + (result.isCancelled() ? " Cancelled" : " Complete"),
+                JOptionPane.INFORMATION_MESSAGE
+            );
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            mainWindow.getControl().runFailed(cause);
+            mainWindow.getOutputPanel().logError(title + " failed: " + cause.getMessage());
+        } finally {
+            mainWindow.setStatus("Ready");
+            mainWindow.getControlsPanel().testCompleted();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package dev.threadgaugexp.ui;
+
+import dev.threadgaugexp.core.ResultStore;
+import dev.threadgaugexp.core.RunComparison;
+import dev.threadgaugexp.core.RunMetric;
+import dev.threadgaugexp.core.RunRecord;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Stored runs, newest first. Selecting a run compares it with a baseline: the one picked with
+ * "Set as Baseline", or else the previous completed run with the same type, settings and host.
+ */
+public class HistoryDialog extends JDialog {
+    private static final String ALL_TYPES = "All";
+    private static final String[] COLUMNS = {"Time", "Type", "Settings", "Host", "JVM", "Flags", "Metrics"};
+
+    private final ResultStore store;
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    private List<RunRecord> all = new ArrayList<>();
+    /** Rows of the table, in table order. */
+    private final List<RunRecord> shown = new ArrayList<>();
+    private RunRecord pinnedBaseline;
+    /** Stored result of {@link #detailRun}, formatted; read once per selected run, off the EDT. */
+    private RunRecord detailRun;
+    private String detailText;
+    private RunRecord loadingRun;
+
+    private final DefaultTableModel model = new DefaultTableModel(COLUMNS, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    };
+    private final JTable table = new JTable(model);
+    private final JComboBox<String> typeCombo = new JComboBox<>();
+    private final JSpinner thresholdSpinner = new JSpinner(new SpinnerNumberModel(RunComparison.DEFAULT_THRESHOLD_PCT, 0.0, 100.0, 1.0));
+    private final JTextArea detailArea = new JTextArea();
+    private final JLabel baselineLabel = new JLabel();
+    private final JButton refreshButton = new JButton("Refresh");
+
+    public HistoryDialog(Frame owner, ResultStore store) {
+        super(owner, "Run History", false);
+        this.store = store;
+        initializeUI();
+        reload();
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout(5, 5));
+        getContentPane().setBackground(dev.threadgaugexp.util.XPStyleManager.getPanelBackground());
+
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        top.setOpaque(false);
+        top.add(new JLabel("Type:"));
+        typeCombo.setToolTipText("Mostra solo le esecuzioni di questo tipo.");
+        typeCombo.addActionListener(e -> fillTable());
+        top.add(typeCombo);
+        top.add(new JLabel("Threshold (%):"));
+        thresholdSpinner.setToolTipText("Variazione peggiorativa oltre la quale una metrica viene segnalata come regressione.");
+        thresholdSpinner.addChangeListener(e -> showSelection());
+        top.add(thresholdSpinner);
+        JButton pinButton = new JButton("Set as Baseline");
+        pinButton.setToolTipText("Usa l'esecuzione selezionata come riferimento per i confronti.");
+        pinButton.addActionListener(e -> {
+            RunRecord selected = selectedRun();
+            if (selected != null) {
+                pinnedBaseline = selected;
+                showSelection();
+            }
+        });
+        top.add(pinButton);
+        JButton autoButton = new JButton("Auto Baseline");
+        autoButton.setToolTipText("Confronta con l'esecuzione precedente con stesso tipo, impostazioni e host.");
+        autoButton.addActionListener(e -> {
+            pinnedBaseline = null;
+            showSelection();
+        });
+        top.add(autoButton);
+        refreshButton.setToolTipText("Rilegge lo storico, incluse le esecuzioni registrate dalla CLI.");
+        refreshButton.addActionListener(e -> reload());
+        top.add(refreshButton);
+        add(top, BorderLayout.NORTH);
+
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setAutoResizeMode(JTable.AUTO_RESIZE_LAST_COLUMN);
+        table.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) showSelection();
+        });
+        int[] widths = {130, 110, 220, 100, 170, 150, 300};
+        for (int i = 0; i < widths.length; i++) {
+            table.getColumnModel().getColumn(i).setPreferredWidth(widths[i]);
+        }
+
+        detailArea.setEditable(false);
+        detailArea.setFont(new Font("Consolas", Font.PLAIN, 11));
+        JPanel bottom = new JPanel(new BorderLayout());
+        bottom.setOpaque(false);
+        bottom.add(baselineLabel, BorderLayout.NORTH);
+        bottom.add(new JScrollPane(detailArea), BorderLayout.CENTER);
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(table), bottom);
+        split.setResizeWeight(0.55);
+        add(split, BorderLayout.CENTER);
+
+        JLabel fileLabel = new JLabel(" " + store.getDataFile());
+        fileLabel.setFont(new Font("Tahoma", Font.PLAIN, 10));
+        add(fileLabel, BorderLayout.SOUTH);
+
+        setSize(1000, 560);
+        setLocationRelativeTo(getOwner());
+    }
+
+    /** Reads the history in the background; the store may wait for a file lock held by a CLI run. */
+    private void reload() {
+        refreshButton.setEnabled(false);
+        detailArea.setText("Loading " + store.getDataFile() + "...");
+        new SwingWorker<List<RunRecord>, Void>() {
+            @Override
+            protected List<RunRecord> doInBackground() throws IOException {
+                return store.list();
+            }
+
+            @Override
+            protected void done() {
+                refreshButton.setEnabled(true);
+                try {
+                    all = get();
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    all = new ArrayList<>();
+                    showRuns();
+                    detailArea.setText("Cannot read " + store.getDataFile() + ": " + cause.getMessage());
+                    return;
+                }
+                showRuns();
+            }
+        }.execute();
+    }
+
+    private void showRuns() {
+        Object selectedType = typeCombo.getSelectedItem();
+        TreeSet<String> types = new TreeSet<>();
+        for (RunRecord run : all) {
+            types.add(run.type);
+        }
+        typeCombo.removeAllItems();
+        typeCombo.addItem(ALL_TYPES);
+        for (String type : types) {
+            typeCombo.addItem(type);
+        }
+        typeCombo.setSelectedItem(selectedType != null && types.contains(selectedType) ? selectedType : ALL_TYPES);
+        fillTable();
+    }
+
+    private void fillTable() {
+        Object type = typeCombo.getSelectedItem();
+        model.setRowCount(0);
+        shown.clear();
+        for (int i = all.size() - 1; i >= 0; i--) {
+            RunRecord run = all.get(i);
+            if (type != null && !ALL_TYPES.equals(type) && !type.equals(run.type)) continue;
+            shown.add(run);
+            model.addRow(new Object[] {
+                timeFormat.format(new Date(run.timestampMillis)) + (run.cancelled ? " (cancelled)" : ""),
+                run.type, run.config, run.host, run.jvm, run.flags, formatMetrics(run)
+            });
+        }
+        if (!shown.isEmpty()) {
+            table.setRowSelectionInterval(0, 0);
+        } else {
+            showSelection();
+        }
+    }
+
+    private RunRecord selectedRun() {
+        int row = table.getSelectedRow();
+        return row >= 0 && row < shown.size() ? shown.get(row) : null;
+    }
+
+    private void showSelection() {
+        RunRecord current = selectedRun();
+        String pinned = pinnedBaseline != null
+            ? "Baseline: " + timeFormat.format(new Date(pinnedBaseline.timestampMillis)) + " " + pinnedBaseline.type
+                + " " + pinnedBaseline.config
+            : "Baseline: previous comparable run";
+        baselineLabel.setText(" " + pinned);
+        if (current == null) {
+            detailArea.setText(all.isEmpty() ? "No runs recorded yet." : "");
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        RunRecord baseline = pinnedBaseline != null ? pinnedBaseline : ResultStore.baselineFor(current, all);
+        if (baseline == current) {
+            sb.append("Selected run is the baseline.");
+        } else if (baseline == null) {
+            sb.append("No earlier comparable run (same type, settings and host).");
+        } else {
+            if (!baseline.isComparableTo(current)) {
+                sb.append("Note: baseline has a different type, settings or host.\n");
+            }
+            double threshold = ((Number) thresholdSpinner.getValue()).doubleValue();
+            sb.append(new RunComparison(baseline, current, threshold).summary());
+        }
+        sb.append("\n\nStored result (").append(current.os).append(", ").append(current.processors).append(" CPUs):");
+        if (current == detailRun) {
+            sb.append(detailText);
+        } else {
+            sb.append("\n  loading...");
+            loadStoredResult(current);
+        }
+        detailArea.setText(sb.toString());
+        detailArea.setCaretPosition(0);
+    }
+
+    /** Reads a run's stored result in the background, then redraws if that run is still selected. */
+    private void loadStoredResult(RunRecord run) {
+        if (run == loadingRun) return;
+        loadingRun = run;
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                return formatStoredResult(run);
+            }
+
+            @Override
+            protected void done() {
+                if (loadingRun == run) loadingRun = null;
+                String text;
+                try {
+                    text = get();
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    text = "\n  unreadable: " + cause.getMessage();
+                }
+                if (selectedRun() != run) return;
+                detailRun = run;
+                detailText = text;
+                showSelection();
+            }
+        }.execute();
+    }
+
+    private String formatStoredResult(RunRecord run) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            for (Map.Entry<String, Object> entry : store.readResult(run).entrySet()) {
+                Object value = entry.getValue();
+                String text = value instanceof List ? "[" + ((List<?>) value).size() + " entries]"
+                    : value instanceof Map ? "{...}" : String.valueOf(value);
+                sb.append("\n  ").append(entry.getKey()).append(" = ").append(text);
+            }
+        } catch (IOException e) {
+            sb.append("\n  unreadable: ").append(e.getMessage());
+        }
+        return sb.toString();
+    }
+
+    private static String formatMetrics(RunRecord run) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<RunMetric, Double> entry : run.metrics.entrySet()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(entry.getKey().getLabel()).append(' ').append(String.format("%.1f", entry.getValue()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,105 @@
+package dev.threadgaugexp.ui;
+
+import java.util.Arrays;
+
+/**
+ * Time series kept as min/max per fixed-width time bucket, in a fixed number of buckets. When the
+ * buckets run out, neighbouring pairs are merged and the bucket width doubles, so memory stays
+ * constant however long the series runs, and reading it for display costs one pass over the
+ * buckets in view.
+ */
+public class MinMaxSeries {
+    private final double[] min;
+    private final double[] max;
+    private long bucketNanos;
+    private long originNanos;
+    private boolean started;
+    /** Buckets in use; empty buckets inside the range hold NaN. */
+    private int size;
+    private double last = Double.NaN;
+
+    public MinMaxSeries(int buckets, long initialBucketNanos) {
+        if (buckets < 2 || buckets % 2 != 0) {
+            throw new IllegalArgumentException("bucket count must be even and >= 2");
+        }
+        min = new double[buckets];
+        max = new double[buckets];
+        Arrays.fill(min, Double.NaN);
+        Arrays.fill(max, Double.NaN);
+        bucketNanos = initialBucketNanos;
+    }
+
+    /** Adds one value; times must not go backwards. NaN values are ignored. */
+    public void add(long timeNanos, double value) {
+        if (Double.isNaN(value)) return;
+        if (!started) {
+            started = true;
+            originNanos = timeNanos;
+        }
+        long index = (timeNanos - originNanos) / bucketNanos;
+        while (index >= min.length) {
+            compact();
+            index = (timeNanos - originNanos) / bucketNanos;
+        }
+        int i = (int) Math.max(0, index);
+        min[i] = Double.isNaN(min[i]) ? value : Math.min(min[i], value);
+        max[i] = Double.isNaN(max[i]) ? value : Math.max(max[i], value);
+        size = Math.max(size, i + 1);
+        last = value;
+    }
+
+    private void compact() {
+        int half = min.length / 2;
+        for (int i = 0; i < half; i++) {
+            min[i] = nanMin(min[2 * i], min[2 * i + 1]);
+            max[i] = nanMax(max[2 * i], max[2 * i + 1]);
+        }
+        Arrays.fill(min, half, min.length, Double.NaN);
+        Arrays.fill(max, half, max.length, Double.NaN);
+        size = (size + 1) / 2;
+        bucketNanos *= 2;
+    }
+
+    private static double nanMin(double a, double b) {
+        return Double.isNaN(a) ? b : Double.isNaN(b) ? a : Math.min(a, b);
+    }
+
+    private static double nanMax(double a, double b) {
+        return Double.isNaN(a) ? b : Double.isNaN(b) ? a : Math.max(a, b);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** The most recently added value, NaN before the first. */
+    public double last() {
+        return last;
+    }
+
+    public long startNanos() {
+        return originNanos;
+    }
+
+    /**
+     * Fills {@code columnMin}/{@code columnMax} with the min and max of each of {@code columns}
+     * equal slices of [fromNanos, toNanos); slices without data get NaN.
+     */
+    public void columns(long fromNanos, long toNanos, int columns, double[] columnMin, double[] columnMax) {
+        double span = (double) (toNanos - fromNanos) / columns;
+        for (int c = 0; c < columns; c++) {
+            long sliceStart = fromNanos + (long) (span * c);
+            long sliceEnd = Math.max(sliceStart + 1, fromNanos + (long) (span * (c + 1)));
+            long first = Math.max(0, Math.floorDiv(sliceStart - originNanos, bucketNanos));
+            long lastBucket = Math.min(size - 1, Math.floorDiv(sliceEnd - 1 - originNanos, bucketNanos));
+            double lo = Double.NaN;
+            double hi = Double.NaN;
+            for (long b = first; b <= lastBucket; b++) {
+                lo = nanMin(lo, min[(int) b]);
+                hi = nanMax(hi, max[(int) b]);
+            }
+            columnMin[c] = lo;
+            columnMax[c] = hi;
+        }
+    }
+}
@@ -1,18 +1,70 @@
 package dev.threadgaugexp.ui;
 
+import dev.threadgaugexp.util.LogSpool;
+
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
+import javax.swing.text.BadLocationException;
 import java.awt.*;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Session log. {@link #log(String)} only timestamps the message and adds it to a lock-free queue,
+ * so it is safe and cheap from any thread. The EDT drains the queue once per frame: the whole
+ * batch goes to a {@link LogSpool} file with the full history, and the text area keeps only the
+ * newest {@value #MAX_LINES} lines. At most {@value #MAX_PENDING} messages wait in the queue; a
+ * producer faster than the EDT loses the excess, and the log says how many were dropped.
+ */
 public class OutputPanel extends JPanel {
+    private static final int MAX_LINES = 5000;
+    private static final int FRAME_MILLIS = 100;
+    /** Keeps one frame short even if producers flood the queue; the rest waits for the next frame. */
+    private static final int MAX_ENTRIES_PER_FRAME = 5000;
+    /** Queued messages before new ones are dropped: ten frames' worth. */
+    private static final int MAX_PENDING = 10 * MAX_ENTRIES_PER_FRAME;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private static final class Entry {
+        final long timeMillis;
+        final String message;
+
+        Entry(long timeMillis, String message) {
+            this.timeMillis = timeMillis;
+            this.message = message;
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Entry> pending = new ConcurrentLinkedQueue<>();
+    /** Entries in {@link #pending}; the queue's own size() walks the whole list. */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final StringBuilder batch = new StringBuilder();
+    private final ZoneId zone = ZoneId.systemDefault();
+    private long stampSecond = Long.MIN_VALUE;
+    private String stamp;
+    private LogSpool spool;
     private JTextArea outputArea;
-    private SimpleDateFormat timeFormat;
+    private Timer drainTimer;
 
     public OutputPanel() {
-        timeFormat = new SimpleDateFormat("HH:mm:ss");
         initializeUI();
+        try {
+            spool = LogSpool.openTemp();
+            log("Full session log: " + spool.file());
+        } catch (IOException e) {
+            logWarning("Cannot create the session log file, only the last " + MAX_LINES + " lines are kept: "
+                + e.getMessage());
+        }
+        drainTimer = new Timer(FRAME_MILLIS, e -> drain());
+        drainTimer.start();
     }
 
     private void initializeUI() {
@@ -59,11 +111,61 @@ public class OutputPanel extends JPanel {
     }
 
     public void log(String message) {
-        SwingUtilities.invokeLater(() -> {
-            String timestamp = timeFormat.format(new Date());
-            outputArea.append("[" + timestamp + "] " + message + "\n");
-            outputArea.setCaretPosition(outputArea.getDocument().getLength());
-        });
+        if (pendingCount.incrementAndGet() > MAX_PENDING) {
+            pendingCount.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        pending.add(new Entry(System.currentTimeMillis(), message));
+    }
+
+    /** Moves queued messages to the spool file and the text area. Runs on the EDT. */
+    private void drain() {
+        long lost = dropped.sumThenReset();
+        if (pending.isEmpty() && lost == 0) return;
+        batch.setLength(0);
+        Entry entry;
+        for (int i = 0; i < MAX_ENTRIES_PER_FRAME && (entry = pending.poll()) != null; i++) {
+            pendingCount.decrementAndGet();
+            batch.append(timestamp(entry.timeMillis)).append(entry.message).append('\n');
+        }
+        if (lost > 0) {
+            batch.append(timestamp(System.currentTimeMillis()))
+                .append("WARNING: ").append(lost).append(" log messages dropped, the log could not keep up\n");
+        }
+        String text = batch.toString();
+        if (spool != null) {
+            spool.append(text);
+        }
+        outputArea.append(text.substring(startOfLastLines(text, MAX_LINES)));
+        int excess = outputArea.getLineCount() - 1 - MAX_LINES;
+        if (excess > 0) {
+            try {
+                outputArea.replaceRange("", 0, outputArea.getLineStartOffset(excess));
+            } catch (BadLocationException e) {
+                outputArea.setText("");
+            }
+        }
+        outputArea.setCaretPosition(outputArea.getDocument().getLength());
+    }
+
+    /** Offset where the last {@code lines} newline-terminated lines of {@code text} begin. */
+    private static int startOfLastLines(String text, int lines) {
+        int index = text.length() - 1;
+        for (int i = 0; i < lines && index >= 0; i++) {
+            index = text.lastIndexOf('\n', index - 1);
+        }
+        return index + 1;
+    }
+
+    /** "[HH:mm:ss] ", formatted once per second rather than once per line. */
+    private String timestamp(long timeMillis) {
+        long second = Math.floorDiv(timeMillis, 1000);
+        if (second != stampSecond) {
+            stampSecond = second;
+            stamp = "[" + LocalTime.ofInstant(Instant.ofEpochMilli(timeMillis), zone).format(TIME_FORMAT) + "] ";
+        }
+        return stamp;
     }
 
     public void logError(String message) {
@@ -78,13 +180,32 @@ public class OutputPanel extends JPanel {
         log("SUCCESS: " + message);
     }
 
+    /** Clears the text area; the session log file keeps everything. */
     public void clear() {
+        drain();
         outputArea.setText("");
         log("Log cleared.");
     }
 
-    public String getLogText() {
-        return outputArea.getText();
+    /** Writes the full session log, or the visible lines when there is no log file. Call on the EDT. */
+    public void copyLogTo(Writer out) throws IOException {
+        drain();
+        if (spool != null) {
+            spool.copyTo(out);
+        } else {
+            out.write(outputArea.getText());
+        }
+    }
+
+    /** Flushes pending messages and closes the session log file. */
+    public void stop() {
+        if (drainTimer != null) {
+            drainTimer.stop();
+        }
+        drain();
+        if (spool != null) {
+            spool.close();
+        }
     }
 
     private TitledBorder createXPBorder(String title) {
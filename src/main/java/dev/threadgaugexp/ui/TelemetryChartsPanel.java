@@ -0,0 +1,156 @@
+package dev.threadgaugexp.ui;
+
+import dev.threadgaugexp.core.TelemetrySampler;
+
+import javax.swing.*;
+import javax.swing.border.TitledBorder;
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scrolling charts of the telemetry history: live threads, thread starts per second, heap, CPU
+ * load and the share of time spent in GC pauses. Every display tick drains the new samples from
+ * the sampler's ring buffer into min/max series, so no sample is skipped at any sample rate.
+ */
+public class TelemetryChartsPanel extends JPanel {
+    private static final int DISPLAY_MILLIS = 250;
+    /** Enough for 10 ms samples over ~80 s before the first merge; after that the bucket width doubles. */
+    private static final int BUCKETS = 8192;
+    private static final long INITIAL_BUCKET_NANOS = TimeUnit.MILLISECONDS.toNanos(TelemetrySampler.MIN_PERIOD_MILLIS);
+    private static final String[] WINDOW_NAMES = {"1 min", "5 min", "15 min", "1 h", "All"};
+    private static final long[] WINDOW_SECONDS = {60, 300, 900, 3600, 0};
+    private static final Color PRIMARY = new Color(0, 78, 152);
+    private static final Color SECONDARY = new Color(230, 120, 0);
+
+    private final TelemetrySampler sampler;
+    private final TelemetrySampler.Batch batch = new TelemetrySampler.Batch(1024);
+    private long readSequence;
+    private boolean hasPrevious;
+    private long previousNanos;
+    private long previousStarted;
+    private long previousGcMillis;
+    private long newestNanos;
+
+    private final MinMaxSeries threads = newSeries();
+    private final MinMaxSeries startRate = newSeries();
+    private final MinMaxSeries heapUsed = newSeries();
+    private final MinMaxSeries heapCommitted = newSeries();
+    private final MinMaxSeries cpuLoad = newSeries();
+    private final MinMaxSeries gcTime = newSeries();
+    private final TimeSeriesChart[] charts;
+    private JComboBox<String> windowCombo;
+    private Timer updateTimer;
+
+    public TelemetryChartsPanel(TelemetrySampler sampler) {
+        this.sampler = sampler;
+        TimeSeriesChart threadChart = new TimeSeriesChart("Threads", "%.0f", Double.NaN);
+        threadChart.addSeries("live", PRIMARY, threads);
+        TimeSeriesChart startChart = new TimeSeriesChart("Thread Starts", "%.0f/s", Double.NaN);
+        startChart.addSeries("platform", PRIMARY, startRate);
+        TimeSeriesChart cpuChart = new TimeSeriesChart("CPU Load", "%.0f%%", 100);
+        cpuChart.addSeries("system", PRIMARY, cpuLoad);
+        TimeSeriesChart heapChart = new TimeSeriesChart("Heap", "%.0f MB", Double.NaN);
+        heapChart.addSeries("used", PRIMARY, heapUsed);
+        heapChart.addSeries("committed", SECONDARY, heapCommitted);
+        TimeSeriesChart gcChart = new TimeSeriesChart("GC Pauses", "%.1f%%", Double.NaN);
+        gcChart.addSeries("time in GC", PRIMARY, gcTime);
+        charts = new TimeSeriesChart[] {threadChart, startChart, cpuChart, heapChart, gcChart};
+        initializeUI();
+        updateTimer = new Timer(DISPLAY_MILLIS, e -> update());
+        updateTimer.start();
+    }
+
+    private static MinMaxSeries newSeries() {
+        return new MinMaxSeries(BUCKETS, INITIAL_BUCKET_NANOS);
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout());
+        setBorder(createXPBorder("Telemetry Charts"));
+        setBackground(dev.threadgaugexp.util.XPStyleManager.getPanelBackground());
+
+        JPanel header = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        header.setOpaque(false);
+        header.add(new JLabel("Window:"));
+        windowCombo = new JComboBox<>(WINDOW_NAMES);
+        windowCombo.setToolTipText("Intervallo di tempo mostrato. Ogni colonna di pixel mostra min e max dei campioni che copre.");
+        windowCombo.addActionListener(e -> repaintCharts());
+        header.add(windowCombo);
+        add(header, BorderLayout.NORTH);
+
+        // Three charts on the first row, two wider ones on the second
+        JPanel grid = new JPanel(new GridLayout(2, 1, 0, 4));
+        grid.setOpaque(false);
+        JPanel firstRow = new JPanel(new GridLayout(1, 3, 4, 0));
+        JPanel secondRow = new JPanel(new GridLayout(1, 2, 4, 0));
+        firstRow.setOpaque(false);
+        secondRow.setOpaque(false);
+        for (int i = 0; i < charts.length; i++) {
+            charts[i].setBorder(BorderFactory.createLineBorder(dev.threadgaugexp.util.XPStyleManager.getBorderColor()));
+            (i < 3 ? firstRow : secondRow).add(charts[i]);
+        }
+        grid.add(firstRow);
+        grid.add(secondRow);
+        add(grid, BorderLayout.CENTER);
+    }
+
+    private void update() {
+        // Drain everything sampled since the last tick, a batch at a time
+        do {
+            readSequence = sampler.readBatch(readSequence, batch);
+            for (int i = 0; i < batch.count; i++) {
+                ingest(i);
+            }
+        } while (batch.count == batch.timeNanos.length);
+        // repaint() is a no-op while the tab is hidden
+        repaintCharts();
+    }
+
+    private void ingest(int i) {
+        long t = batch.timeNanos[i];
+        threads.add(t, batch.liveThreads[i]);
+        heapUsed.add(t, batch.heapUsedBytes[i] / (1024.0 * 1024.0));
+        heapCommitted.add(t, batch.heapCommittedBytes[i] / (1024.0 * 1024.0));
+        cpuLoad.add(t, batch.cpuLoadPct[i]);
+        if (hasPrevious && t > previousNanos) {
+            double seconds = (t - previousNanos) / 1e9;
+            startRate.add(t, (batch.startedThreads[i] - previousStarted) / seconds);
+            // Collection time has millisecond resolution, so short periods can overshoot 100%
+            gcTime.add(t, Math.min(100.0, (batch.gcTimeMillis[i] - previousGcMillis) / (seconds * 10.0)));
+        }
+        hasPrevious = true;
+        previousNanos = t;
+        previousStarted = batch.startedThreads[i];
+        previousGcMillis = batch.gcTimeMillis[i];
+        newestNanos = t;
+    }
+
+    private void repaintCharts() {
+        if (threads.isEmpty()) return;
+        long windowSeconds = WINDOW_SECONDS[windowCombo.getSelectedIndex()];
+        long from = windowSeconds > 0
+            ? newestNanos - TimeUnit.SECONDS.toNanos(windowSeconds)
+            : threads.startNanos();
+        long to = Math.max(newestNanos, from + 1);
+        for (TimeSeriesChart chart : charts) {
+            chart.setWindow(from, to);
+            chart.repaint();
+        }
+    }
+
+    public void stop() {
+        if (updateTimer != null) {
+            updateTimer.stop();
+        }
+    }
+
+    private TitledBorder createXPBorder(String title) {
+        TitledBorder border = BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(dev.threadgaugexp.util.XPStyleManager.getBorderColor(), 2),
+            title
+        );
+        border.setTitleFont(new Font("Tahoma", Font.BOLD, 11));
+        border.setTitleColor(dev.threadgaugexp.util.XPStyleManager.getTitleColor());
+        return border;
+    }
+}
@@ -1,12 +1,23 @@
 package dev.threadgaugexp.ui;
 
+import dev.threadgaugexp.core.TelemetrySampler;
+
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
-import java.lang.management.ManagementFactory;
-import java.lang.management.OperatingSystemMXBean;
 
+/**
+ * Live JVM telemetry. Sampling runs on a {@link TelemetrySampler} thread at the chosen rate; the
+ * EDT only reads what was sampled since its last tick, at display rate, and touches a label
+ * only when its value changed.
+ */
 public class TelemetryPanel extends JPanel {
+    private static final int DISPLAY_MILLIS = 250;
+    private static final long[] SAMPLE_RATES_MILLIS = {10, 50, 100, 250, 500};
+    private static final Color LEVEL_HIGH = new Color(200, 0, 0);
+    private static final Color LEVEL_MEDIUM = new Color(200, 150, 0);
+    private static final Color LEVEL_LOW = new Color(0, 150, 0);
+
     private JLabel activeThreadsLabel;
     private JLabel heapUsedLabel;
     private JLabel heapMaxLabel;
@@ -14,8 +25,22 @@ public class TelemetryPanel extends JPanel {
     private JLabel cpuLoadLabel;
     private JProgressBar heapProgressBar;
     private JProgressBar cpuProgressBar;
+    private JComboBox<String> sampleRateCombo;
     private Timer updateTimer;
 
+    private final TelemetrySampler sampler = new TelemetrySampler();
+    private final TelemetrySampler.Snapshot snapshot = new TelemetrySampler.Snapshot();
+    private long readSequence;
+    // Last displayed values; -1 forces the first update
+    private int shownThreads = -1;
+    private int shownPeakThreads = -1;
+    private long shownUsedMB = -1;
+    private long shownCommittedMB = -1;
+    private long shownMaxMB = -1;
+    private int shownHeapPercent = -1;
+    private int shownUsedOfCommitted = -1;
+    private int shownCpuPercent = -1;
+
     public TelemetryPanel() {
         initializeUI();
         startTelemetry();
@@ -100,6 +125,24 @@ public class TelemetryPanel extends JPanel {
     cpuProgressBar.setToolTipText("Carico CPU di sistema.");
         add(cpuProgressBar, gbc);
         row++;
+
+        // Sample rate
+        gbc.gridwidth = 1;
+        gbc.gridx = 0; gbc.gridy = row;
+    add(new JLabel("Sample Rate:"), gbc);
+        gbc.gridx = 1;
+    String[] rates = new String[SAMPLE_RATES_MILLIS.length];
+    for (int i = 0; i < rates.length; i++) {
+        rates[i] = SAMPLE_RATES_MILLIS[i] + " ms";
+    }
+    sampleRateCombo = new JComboBox<>(rates);
+    sampleRateCombo.setSelectedItem(TelemetrySampler.DEFAULT_PERIOD_MILLIS + " ms");
+    sampleRateCombo.setToolTipText("Intervallo di campionamento del thread di telemetria. "
+        + "Il display si aggiorna ogni " + DISPLAY_MILLIS + " ms e mostra picco thread e CPU media del periodo.");
+    sampleRateCombo.addActionListener(e ->
+        sampler.setPeriodMillis(SAMPLE_RATES_MILLIS[sampleRateCombo.getSelectedIndex()]));
+        add(sampleRateCombo, gbc);
+        row++;
     }
 
     private JLabel createValueLabel() {
@@ -109,75 +152,86 @@ public class TelemetryPanel extends JPanel {
     }
 
     private void startTelemetry() {
-        updateTimer = new Timer(500, e -> updateTelemetry());
+        sampler.start();
+        updateTimer = new Timer(DISPLAY_MILLIS, e -> updateTelemetry());
         updateTimer.start();
     }
 
+    /** The sampler behind this panel, for views that want the sampled history. */
+    public TelemetrySampler getSampler() {
+        return sampler;
+    }
+
     private void updateTelemetry() {
-        // Active threads
-        int threadCount = Thread.activeCount();
-        activeThreadsLabel.setText(String.valueOf(threadCount));
+        readSequence = sampler.readSince(readSequence, snapshot);
+        if (snapshot.samples == 0) {
+            return;
+        }
+
+        // Active threads, with the peak between two display ticks when it was higher
+        if (snapshot.liveThreads != shownThreads || snapshot.peakThreads != shownPeakThreads) {
+            shownThreads = snapshot.liveThreads;
+            shownPeakThreads = snapshot.peakThreads;
+            activeThreadsLabel.setText(shownPeakThreads > shownThreads
+                ? shownThreads + " (peak " + shownPeakThreads + ")" : String.valueOf(shownThreads));
+        }
 
         // Heap memory
-    Runtime runtime = Runtime.getRuntime();
-    long committedMB = runtime.totalMemory() / (1024 * 1024);
-    long usedMB = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
-    long maxMB = runtime.maxMemory() / (1024 * 1024);
-        
-    heapUsedLabel.setText(usedMB + " MB");
-    heapMaxLabel.setText(maxMB + " MB");
-    heapCommittedLabel.setText(committedMB + " MB");
-        
-    int heapPercent = maxMB > 0 ? (int) ((usedMB * 100) / maxMB) : 0;
-    int usedOfCommitted = committedMB > 0 ? (int) ((usedMB * 100) / committedMB) : 0;
-        heapProgressBar.setValue(heapPercent);
-    heapProgressBar.setString("Heap: " + heapPercent + "% (" + usedOfCommitted + "% of committed)");
-        
-        // Set color based on usage
-        if (heapPercent > 80) {
-            heapProgressBar.setForeground(new Color(200, 0, 0));
-        } else if (heapPercent > 60) {
-            heapProgressBar.setForeground(new Color(200, 150, 0));
-        } else {
-            heapProgressBar.setForeground(new Color(0, 150, 0));
+        long committedMB = snapshot.heapCommittedBytes / (1024 * 1024);
+        long usedMB = snapshot.heapUsedBytes / (1024 * 1024);
+        long maxMB = snapshot.heapMaxBytes / (1024 * 1024);
+        if (usedMB != shownUsedMB) {
+            shownUsedMB = usedMB;
+            heapUsedLabel.setText(usedMB + " MB");
+        }
+        if (maxMB != shownMaxMB) {
+            shownMaxMB = maxMB;
+            heapMaxLabel.setText(maxMB + " MB");
+        }
+        if (committedMB != shownCommittedMB) {
+            shownCommittedMB = committedMB;
+            heapCommittedLabel.setText(committedMB + " MB");
         }
 
-        // CPU load
-        try {
-            OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
-            double cpuLoad = -1;
-            
-            if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
-                com.sun.management.OperatingSystemMXBean sunOsBean = 
-                    (com.sun.management.OperatingSystemMXBean) osBean;
-                cpuLoad = sunOsBean.getCpuLoad();
-            }
-            
-            if (cpuLoad >= 0) {
-                int cpuPercent = (int) (cpuLoad * 100);
+        int heapPercent = maxMB > 0 ? (int) ((usedMB * 100) / maxMB) : 0;
+        int usedOfCommitted = committedMB > 0 ? (int) ((usedMB * 100) / committedMB) : 0;
+        if (heapPercent != shownHeapPercent || usedOfCommitted != shownUsedOfCommitted) {
+            shownHeapPercent = heapPercent;
+            shownUsedOfCommitted = usedOfCommitted;
+            heapProgressBar.setValue(heapPercent);
+            heapProgressBar.setString("Heap: " + heapPercent + "% (" + usedOfCommitted + "% of committed)");
+            heapProgressBar.setForeground(levelColor(heapPercent));
+        }
+
+        // CPU load, averaged over the samples since the last tick
+        int cpuPercent = Double.isNaN(snapshot.cpuLoadPct) ? -2 : (int) snapshot.cpuLoadPct;
+        if (cpuPercent != shownCpuPercent) {
+            shownCpuPercent = cpuPercent;
+            if (cpuPercent >= 0) {
                 cpuLoadLabel.setText(cpuPercent + "%");
                 cpuProgressBar.setValue(cpuPercent);
                 cpuProgressBar.setString("CPU: " + cpuPercent + "%");
-                
-                if (cpuPercent > 80) {
-                    cpuProgressBar.setForeground(new Color(200, 0, 0));
-                } else if (cpuPercent > 60) {
-                    cpuProgressBar.setForeground(new Color(200, 150, 0));
-                } else {
-                    cpuProgressBar.setForeground(new Color(0, 150, 0));
-                }
+                cpuProgressBar.setForeground(levelColor(cpuPercent));
             } else {
                 cpuLoadLabel.setText("N/A");
             }
-        } catch (Exception ex) {
-            cpuLoadLabel.setText("N/A");
         }
     }
 
+    private static Color levelColor(int percent) {
+        if (percent > 80) {
+            return LEVEL_HIGH;
+        } else if (percent > 60) {
+            return LEVEL_MEDIUM;
+        }
+        return LEVEL_LOW;
+    }
+
     public void stopTelemetry() {
         if (updateTimer != null) {
             updateTimer.stop();
         }
+        sampler.close();
     }
 
     private TitledBorder createXPBorder(String title) {
@@ -0,0 +1,172 @@
+package dev.threadgaugexp.ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scrolling line chart drawn with plain Java2D. Each pixel column shows the min-max range of its
+ * slice of the time window, so a column costs the same whether it covers one sample or thousands.
+ */
+public class TimeSeriesChart extends JComponent {
+    private static final int LEFT = 44;
+    private static final int RIGHT = 6;
+    private static final int TOP = 18;
+    private static final int BOTTOM = 14;
+    private static final Color GRID = new Color(200, 208, 220);
+
+    private final String title;
+    private final String valueFormat;
+    /** Fixed top of the y axis, or NaN to scale to the data in view. */
+    private final double fixedMax;
+    private final List<MinMaxSeries> series = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<Color> colors = new ArrayList<>();
+    private long fromNanos;
+    private long toNanos;
+    private double[] columnMin = new double[0];
+    private double[] columnMax = new double[0];
+
+    public TimeSeriesChart(String title, String valueFormat, double fixedMax) {
+        this.title = title;
+        this.valueFormat = valueFormat;
+        this.fixedMax = fixedMax;
+        setFont(new Font("Tahoma", Font.PLAIN, 10));
+        setPreferredSize(new Dimension(260, 110));
+    }
+
+    public void addSeries(String name, Color color, MinMaxSeries data) {
+        names.add(name);
+        colors.add(color);
+        series.add(data);
+    }
+
+    /** Sets the time window shown; the right edge is normally the newest sample. */
+    public void setWindow(long fromNanos, long toNanos) {
+        this.fromNanos = fromNanos;
+        this.toNanos = toNanos;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setColor(UIManager.getColor("TextArea.background"));
+            g2.fillRect(0, 0, getWidth(), getHeight());
+            g2.setFont(getFont());
+
+            int plotWidth = getWidth() - LEFT - RIGHT;
+            int plotHeight = getHeight() - TOP - BOTTOM;
+            paintTitle(g2);
+            if (plotWidth < 2 || plotHeight < 2 || toNanos <= fromNanos) return;
+
+            if (columnMin.length < plotWidth) {
+                columnMin = new double[plotWidth];
+                columnMax = new double[plotWidth];
+            }
+            double top = fixedMax;
+            if (Double.isNaN(top)) {
+                double maxSeen = 0;
+                for (MinMaxSeries data : series) {
+                    data.columns(fromNanos, toNanos, plotWidth, columnMin, columnMax);
+                    for (int x = 0; x < plotWidth; x++) {
+                        if (columnMax[x] > maxSeen) maxSeen = columnMax[x];
+                    }
+                }
+                top = niceCeiling(maxSeen);
+            }
+            paintAxes(g2, plotWidth, plotHeight, top);
+            for (int i = 0; i < series.size(); i++) {
+                series.get(i).columns(fromNanos, toNanos, plotWidth, columnMin, columnMax);
+                g2.setColor(colors.get(i));
+                paintEnvelope(g2, plotWidth, plotHeight, top);
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    private void paintTitle(Graphics2D g2) {
+        FontMetrics fm = g2.getFontMetrics();
+        int x = 4;
+        int y = fm.getAscent() + 2;
+        g2.setColor(UIManager.getColor("Label.foreground"));
+        g2.setFont(getFont().deriveFont(Font.BOLD));
+        g2.drawString(title, x, y);
+        x += g2.getFontMetrics().stringWidth(title) + 8;
+        g2.setFont(getFont());
+        for (int i = 0; i < series.size(); i++) {
+            double last = series.get(i).last();
+            String text = names.get(i) + " " + (Double.isNaN(last) ? "-" : String.format(valueFormat, last));
+            g2.setColor(colors.get(i));
+            g2.drawString(text, x, y);
+            x += fm.stringWidth(text) + 8;
+        }
+    }
+
+    private void paintAxes(Graphics2D g2, int plotWidth, int plotHeight, double top) {
+        FontMetrics fm = g2.getFontMetrics();
+        Color text = UIManager.getColor("Label.foreground");
+        for (int step = 0; step <= 2; step++) {
+            int y = TOP + plotHeight - plotHeight * step / 2;
+            g2.setColor(GRID);
+            g2.drawLine(LEFT, y, LEFT + plotWidth - 1, y);
+            String label = String.format(valueFormat, top * step / 2);
+            g2.setColor(text);
+            g2.drawString(label, LEFT - 4 - fm.stringWidth(label), y + fm.getAscent() / 2 - 1);
+        }
+        String left = "-" + formatSpan(toNanos - fromNanos);
+        int baseline = getHeight() - 2;
+        g2.drawString(left, LEFT, baseline);
+        g2.drawString("now", LEFT + plotWidth - fm.stringWidth("now"), baseline);
+    }
+
+    /** One vertical min-max line per column, joined to the neighbouring column where the ranges do not overlap. */
+    private void paintEnvelope(Graphics2D g2, int plotWidth, int plotHeight, double top) {
+        int previousLow = -1;
+        int previousHigh = -1;
+        for (int x = 0; x < plotWidth; x++) {
+            if (Double.isNaN(columnMin[x])) {
+                previousLow = -1;
+                continue;
+            }
+            int low = toY(columnMin[x], plotHeight, top);
+            int high = toY(columnMax[x], plotHeight, top);
+            int px = LEFT + x;
+            g2.drawLine(px, low, px, high);
+            if (previousLow >= 0) {
+                if (high > previousLow) {
+                    g2.drawLine(px - 1, previousLow, px, high);
+                } else if (low < previousHigh) {
+                    g2.drawLine(px - 1, previousHigh, px, low);
+                }
+            }
+            previousLow = low;
+            previousHigh = high;
+        }
+    }
+
+    private static int toY(double value, int plotHeight, double top) {
+        double clamped = Math.max(0, Math.min(top, value));
+        return TOP + plotHeight - (int) Math.round(clamped / top * plotHeight);
+    }
+
+    /** Smallest 1, 2 or 5 times a power of ten at or above the value. */
+    static double niceCeiling(double value) {
+        if (value <= 0) return 1;
+        double magnitude = Math.pow(10, Math.floor(Math.log10(value)));
+        for (double step : new double[] {1, 2, 5, 10}) {
+            if (step * magnitude >= value) return step * magnitude;
+        }
+        return 10 * magnitude;
+    }
+
+    private static String formatSpan(long nanos) {
+        long seconds = Math.max(1, nanos / 1_000_000_000L);
+        if (seconds < 120) return seconds + " s";
+        if (seconds < 7200) return seconds / 60 + " min";
+        return seconds / 3600 + " h";
+    }
+}
@@ -1,13 +1,32 @@
 package dev.threadgaugexp.util;
 
 import dev.threadgaugexp.MainWindow;
+import dev.threadgaugexp.core.ExecutorComparisonResult;
+import dev.threadgaugexp.core.FalseSharingResult;
+import dev.threadgaugexp.core.JmhResult;
+import dev.threadgaugexp.core.LatencyBand;
+import dev.threadgaugexp.core.LockContentionResult;
+import dev.threadgaugexp.core.PauseBand;
+import dev.threadgaugexp.core.ProgressListener;
+import dev.threadgaugexp.core.RunResult;
+import dev.threadgaugexp.core.SampleStats;
+import dev.threadgaugexp.core.ScalingResult;
+import dev.threadgaugexp.core.StackSweepResult;
+import dev.threadgaugexp.core.StressInterval;
+import dev.threadgaugexp.core.StressResult;
+import dev.threadgaugexp.core.TelemetryRecorder;
+import dev.threadgaugexp.core.TestResult;
+import dev.threadgaugexp.core.TrialResult;
 
 import javax.swing.*;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 
 public class ExportUtil {
     
@@ -75,6 +94,140 @@ public class ExportUtil {
         }
     }
     
+    /**
+     * Streams every telemetry sample of the session, and the per-worker figures of the latest stress
+     * run, to CSV, JSON lines or columnar binary. The file is written on a background thread.
+     */
+    public static void exportTelemetry(MainWindow mainWindow) {
+        TelemetryRecorder recorder = mainWindow.getTelemetryRecorder();
+        if (recorder == null) {
+            mainWindow.getOutputPanel().logError("Telemetry export unavailable: samples are not being recorded");
+            return;
+        }
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Export Telemetry");
+        fileChooser.setAcceptAllFileFilterUsed(false);
+        for (TelemetryExport.Format format : TelemetryExport.Format.values()) {
+            fileChooser.addChoosableFileFilter(new javax.swing.filechooser.FileFilter() {
+                public boolean accept(java.io.File f) {
+                    return f.isDirectory() || f.getName().toLowerCase().endsWith("." + format.getExtension());
+                }
+                public String getDescription() {
+                    return format.getLabel() + " (*." + format.getExtension() + ")";
+                }
+            });
+        }
+        if (fileChooser.showSaveDialog(mainWindow) != JFileChooser.APPROVE_OPTION) return;
+
+        java.io.File chosen = fileChooser.getSelectedFile();
+        TelemetryExport.Format format = TelemetryExport.Format.forFile(chosen.toPath());
+        if (format == null) {
+            String description = fileChooser.getFileFilter().getDescription();
+            format = TelemetryExport.Format.CSV;
+            for (TelemetryExport.Format candidate : TelemetryExport.Format.values()) {
+                if (description.startsWith(candidate.getLabel())) format = candidate;
+            }
+            chosen = new java.io.File(chosen.getAbsolutePath() + "." + format.getExtension());
+        }
+        StressResult workers = null;
+        for (RunResult result : mainWindow.getSessionResults()) {
+            if (result instanceof StressResult) workers = (StressResult) result;
+        }
+
+        java.nio.file.Path file = chosen.toPath();
+        TelemetryExport.Format selected = format;
+        StressResult latestStress = workers;
+        ProgressListener progress = new ProgressListener() {
+            @Override
+            public void onMessage(String message) {
+                mainWindow.getOutputPanel().log(message);
+            }
+
+            @Override
+            public void onStatus(String status) {
+                mainWindow.setStatus(status);
+            }
+        };
+        new SwingWorker<Long, Void>() {
+            @Override
+            protected Long doInBackground() throws Exception {
+                return TelemetryExport.export(recorder, latestStress, file, selected, progress);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    long samples = get();
+                    mainWindow.setStatus("Ready");
+                    mainWindow.getOutputPanel().logSuccess(String.format("Telemetry exported: %,d samples to %s%s", samples, file,
+                        selected == TelemetryExport.Format.CSV && latestStress != null && latestStress.workerOps != null
+                            ? ", workers to " + TelemetryExport.threadsFile(file) : ""));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    mainWindow.setStatus("Ready");
+                    mainWindow.getOutputPanel().logError("Telemetry export failed: " + e.getCause().getMessage());
+                    JOptionPane.showMessageDialog(
+                        mainWindow,
+                        "Failed to export telemetry: " + e.getCause().getMessage(),
+                        "Export Error",
+                        JOptionPane.ERROR_MESSAGE
+                    );
+                }
+            }
+        }.execute();
+    }
+
+    /** Loads a JMH JSON result file (-rf json) into the session so it is exported with the app's results. */
+    public static void importJmhResults(MainWindow mainWindow) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Import JMH Results");
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileFilter() {
+            public boolean accept(java.io.File f) {
+                return f.isDirectory() || f.getName().toLowerCase().endsWith(".json");
+            }
+            public String getDescription() {
+                return "JMH JSON Results (*.json)";
+            }
+        });
+        java.io.File defaultReport = new java.io.File("build/reports/jmh/results.json");
+        if (defaultReport.isFile()) {
+            fileChooser.setSelectedFile(defaultReport.getAbsoluteFile());
+        }
+
+        if (fileChooser.showOpenDialog(mainWindow) != JFileChooser.APPROVE_OPTION) return;
+        java.io.File file = fileChooser.getSelectedFile();
+        try {
+            JmhResult jmh = JmhResult.parse(Files.readString(file.toPath(), StandardCharsets.UTF_8), file.getName());
+            mainWindow.addResult(jmh);
+            mainWindow.getOutputPanel().logSuccess(jmh.summary());
+            logJmhComparison(mainWindow, jmh);
+        } catch (IOException | IllegalArgumentException e) {
+            mainWindow.getOutputPanel().logError("JMH import failed: " + e.getMessage());
+            JOptionPane.showMessageDialog(
+                mainWindow,
+                "Failed to import JMH results: " + e.getMessage(),
+                "Import Error",
+                JOptionPane.ERROR_MESSAGE
+            );
+        }
+    }
+
+    /** Puts the latest max threads spawn latency next to the JMH create+start+join score. */
+    private static void logJmhComparison(MainWindow mainWindow, JmhResult jmh) {
+        TestResult latest = null;
+        for (RunResult result : mainWindow.getSessionResults()) {
+            if (result instanceof TestResult) latest = (TestResult) result;
+        }
+        if (latest == null) return;
+        String threadType = latest.virtualThreads ? "virtual" : "platform";
+        JmhResult.Row row = jmh.find("ThreadLifecycleBenchmark.createStartJoin", "threadType=" + threadType);
+        if (row == null) return;
+        mainWindow.getOutputPanel().log(String.format(
+            "Compare (%s): app spawn start p50 %.1f us / p99 %.1f us at rising thread counts, JMH create+start+join %.3f %s",
+            threadType, latest.spawnStartP50Nanos / 1000.0, latest.spawnStartP99Nanos / 1000.0, row.score, row.unit));
+    }
+
     private static void exportText(java.io.File file, MainWindow mainWindow) throws IOException {
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         Runtime runtime = Runtime.getRuntime();
@@ -101,7 +254,7 @@ public class ExportUtil {
             // Test Log
             writer.write("TEST LOG\n");
             writer.write("--------\n");
-            writer.write(mainWindow.getOutputPanel().getLogText());
+            mainWindow.getOutputPanel().copyLogTo(writer);
             writer.write("\n\n");
             
             writer.write("End of Report\n");
@@ -134,9 +287,196 @@ public class ExportUtil {
                         ((runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024)) + "\n");
             writer.write("Active Threads," + Thread.activeCount() + "\n");
             writer.write("\n");
+
+            // Spawn latency bands of each max threads run in this session
+            int run = 0;
+            for (RunResult result : mainWindow.getSessionResults()) {
+                if (!(result instanceof TestResult)) continue;
+                TestResult test = (TestResult) result;
+                run++;
+                writer.write("\nMax Threads Run " + run + "," + test.maxThreads + " "
+                        + (test.virtualThreads ? "virtual" : "platform") + " threads\n");
+                writer.write("Band,Samples,Create p50 (us),Create p99 (us),Create max (us),"
+                        + "Start p50 (us),Start p99 (us),Start max (us)\n");
+                for (LatencyBand band : test.spawnLatencyBands) {
+                    writer.write(String.format(java.util.Locale.ROOT, "%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                        band.label(), band.samples,
+                        band.createP50Nanos / 1000.0, band.createP99Nanos / 1000.0, band.createMaxNanos / 1000.0,
+                        band.startP50Nanos / 1000.0, band.startP99Nanos / 1000.0, band.startMaxNanos / 1000.0));
+                }
+                writePauseBands(writer, test.pauseBands);
+            }
+
+            // Throughput and iteration latency over time of each stress test
+            int stress = 0;
+            for (RunResult result : mainWindow.getSessionResults()) {
+                if (!(result instanceof StressResult)) continue;
+                StressResult test = (StressResult) result;
+                stress++;
+                writer.write(String.format(java.util.Locale.ROOT, "%nStress Test %d,%d threads,%s,%.1f ops/sec,%.2f ops/sec/thread%n",
+                        stress, test.threadCount, csvText(test.workload), test.opsPerSecond, test.opsPerSecondPerThread));
+                writer.write(String.format(java.util.Locale.ROOT, "Worker CPU (s),%.3f,Wall (s),%.3f,Thread CPU min/median/max (%%),%.2f,%.2f,%.2f,Fairness,%.4f%n",
+                        test.workerCpuSeconds, test.measuredWallSeconds, test.cpuShareMinPct, test.cpuShareMedianPct,
+                        test.cpuShareMaxPct, test.cpuShareFairness));
+                writer.write("Elapsed (s),Ops/sec,Latency p50 (us),Latency p99 (us),Latency max (us),CPU (%),"
+                        + "Thread CPU min (%),Thread CPU median (%),Thread CPU max (%),Thread CPU Fairness,"
+                        + "Voluntary Switches/sec,Involuntary Switches/sec,Runnable Threads,Run-Queue Wait (threads),"
+                        + "Load Avg 1m,System Runnable,CPU Pressure Some (%),CPU Pressure Full (%)\n");
+                for (StressInterval interval : test.intervals) {
+                    writer.write(String.format(java.util.Locale.ROOT, "%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.2f,%.2f,%.2f,%.4f,%.1f,%.1f,%d,%.3f,%.2f,%d,%.2f,%.2f%n",
+                        interval.elapsedSeconds, interval.opsPerSecond, interval.latencyP50Nanos / 1000.0,
+                        interval.latencyP99Nanos / 1000.0, interval.latencyMaxNanos / 1000.0, interval.cpuLoad,
+                        interval.cpuShareMinPct, interval.cpuShareMedianPct, interval.cpuShareMaxPct, interval.cpuShareFairness,
+                        interval.voluntarySwitchesPerSecond, interval.involuntarySwitchesPerSecond, interval.runnableThreads,
+                        interval.runQueueWaitThreads, interval.loadAverage1, interval.systemRunnable,
+                        interval.cpuPressureSomePct, interval.cpuPressureFullPct));
+                }
+                writePauseBands(writer, test.pauseBands);
+            }
+
+            // Scaling sweeps with their USL fit
+            int scaling = 0;
+            for (RunResult result : mainWindow.getSessionResults()) {
+                if (!(result instanceof ScalingResult)) continue;
+                ScalingResult sweep = (ScalingResult) result;
+                scaling++;
+                writer.write("\nScaling Sweep " + scaling + "," + sweep.durationSeconds + " s per step," + csvText(sweep.workload) + "\n");
+                writer.write("Threads,Ops/sec,USL Fit (ops/sec),Ops/sec/Thread,Latency p99 (us),CPU (%)\n");
+                for (ScalingResult.Point point : sweep.points) {
+                    writer.write(String.format(java.util.Locale.ROOT, "%d,%.1f,%.1f,%.2f,%.1f,%.1f%n",
+                        point.threads, point.opsPerSecond, point.predictedOpsPerSecond, point.opsPerSecondPerThread,
+                        point.latencyP99Nanos / 1000.0, point.cpuLoad));
+                }
+                if (sweep.model != null) {
+                    writer.write(String.format(java.util.Locale.ROOT,
+                        "USL lambda,%.4f%nUSL sigma,%.6f%nUSL kappa,%.8f%nAmdahl sigma,%.6f%nUSL R^2,%.4f%n",
+                        sweep.model.lambda, sweep.model.sigma, sweep.model.kappa, sweep.model.amdahlSigma,
+                        sweep.model.rSquared));
+                    // No peak is left empty rather than written as Infinity
+                    double peakThreads = sweep.model.peakConcurrency();
+                    double peakOps = sweep.model.peakThroughput();
+                    writer.write("Peak Threads," + (Double.isInfinite(peakThreads) ? ""
+                        : String.format(java.util.Locale.ROOT, "%.1f", peakThreads)) + "\n");
+                    writer.write("Peak Ops/sec," + (Double.isInfinite(peakOps) ? ""
+                        : String.format(java.util.Locale.ROOT, "%.1f", peakOps)) + "\n");
+                }
+            }
+
+            // Stack size sweep matrices
+            int sweep = 0;
+            for (RunResult result : mainWindow.getSessionResults()) {
+                if (!(result instanceof StackSweepResult)) continue;
+                sweep++;
+                writer.write("\nStack Sweep " + sweep + "," + ((StackSweepResult) result).searchStrategy + "\n");
+                writer.write("Stack (KB),Max Threads,Stop Reason,RSS/Thread (KB),Committed Stack/Thread (KB),"
+                        + "Spawn p50 (us),Spawn p99 (us),Error\n");
+                for (StackSweepResult.Row row : ((StackSweepResult) result).rows) {
+                    writer.write(String.format(java.util.Locale.ROOT, "%d,%d,%s,%.1f,%.1f,%.1f,%.1f,%s%n",
+                        row.stackSizeKB, row.maxThreads, csvText(row.stopReason),
+                        row.rssPerThreadKB, row.stackCommittedPerThreadKB,
+                        row.spawnStartP50Nanos / 1000.0, row.spawnStartP99Nanos / 1000.0, csvText(row.error)));
+                }
+            }
+
+            // Forked trial statistics
+            int trials = 0;
+            for (RunResult result : mainWindow.getSessionResults()) {
+                if (!(result instanceof TrialResult)) continue;
+                TrialResult trial = (TrialResult) result;
+                trials++;
+                writer.write("\nForked Trials " + trials + "," + csvText(trial.command) + "," + csvText(trial.jvmArgs) + "\n");
+                writer.write("Metric,n,Mean,95% CI +/-,Stddev,Min,Max\n");
+                for (SampleStats stats : trial.metrics) {
+                    writer.write(String.format(java.util.Locale.ROOT, "%s,%d,%.4f,%.4f,%.4f,%.4f,%.4f%n",
+                        stats.name, stats.n, stats.mean, stats.ci95, stats.stddev, stats.min, stats.max));
+                }
+            }
+
+            // Executor comparisons
+            int comparison = 0;
+            for (RunResult result : mainWindow.getSessionResults()) {
+                if (!(result instanceof ExecutorComparisonResult)) continue;
+                ExecutorComparisonResult executors = (ExecutorComparisonResult) result;
+                comparison++;
+                writer.write("\nExecutor Comparison " + comparison + "," + executors.taskCount + " tasks x "
+                        + executors.kernelIterations + " iterations + " + executors.blockMillis + " ms\n");
+                writer.write("Executor,Workers,Completed,Tasks/sec,Queue p50 (us),Queue p90 (us),Queue p99 (us),Queue max (us),"
+                        + "Completion p50 (us),Completion p90 (us),Completion p99 (us),Completion max (us)\n");
+                for (ExecutorComparisonResult.ExecutorStats stats : executors.executors) {
+                    writer.write(String.format(java.util.Locale.ROOT, "%s,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                        stats.kind.getLabel(), stats.workers, stats.completed, stats.tasksPerSecond,
+                        stats.queueP50Nanos / 1000.0, stats.queueP90Nanos / 1000.0, stats.queueP99Nanos / 1000.0,
+                        stats.queueMaxNanos / 1000.0, stats.completionP50Nanos / 1000.0, stats.completionP90Nanos / 1000.0,
+                        stats.completionP99Nanos / 1000.0, stats.completionMaxNanos / 1000.0));
+                }
+            }
+
+            // Lock contention comparisons
+            int locks = 0;
+            for (RunResult result : mainWindow.getSessionResults()) {
+                if (!(result instanceof LockContentionResult)) continue;
+                LockContentionResult contention = (LockContentionResult) result;
+                locks++;
+                writer.write("\nLock Contention " + locks + "," + contention.threadCount + " threads," + contention.readPercent
+                        + "% reads," + contention.keys + " keys," + contention.secondsPerStrategy + " s per strategy\n");
+                writer.write("Strategy,Total Ops,Ops/sec,Jain Fairness,CoV,Min Ops/Thread,Max Ops/Thread,Consistent\n");
+                for (LockContentionResult.Row row : contention.rows) {
+                    writer.write(String.format(java.util.Locale.ROOT, "%s,%d,%.1f,%.4f,%.4f,%d,%d,%s%n",
+                        csvText(row.strategy.getLabel()), row.totalOps, row.opsPerSecond, row.jainIndex,
+                        row.coefficientOfVariation, row.minThreadOps, row.maxThreadOps, row.consistent));
+                }
+            }
+
+            // False sharing sweeps
+            int falseSharing = 0;
+            for (RunResult result : mainWindow.getSessionResults()) {
+                if (!(result instanceof FalseSharingResult)) continue;
+                FalseSharingResult sharing = (FalseSharingResult) result;
+                falseSharing++;
+                writer.write("\nFalse Sharing " + falseSharing + "," + sharing.processors + " processors,"
+                        + sharing.millisPerPhase + " ms per layout\n");
+                writer.write("Threads,Adjacent Ops/sec,Padded Ops/sec,Padded/Adjacent\n");
+                for (FalseSharingResult.Point point : sharing.points) {
+                    writer.write(String.format(java.util.Locale.ROOT, "%d,%.1f,%.1f,%.3f%n",
+                        point.threads, point.unpaddedOpsPerSecond, point.paddedOpsPerSecond, point.ratio));
+                }
+            }
+
+            // Imported JMH benchmark scores
+            for (RunResult result : mainWindow.getSessionResults()) {
+                if (!(result instanceof JmhResult)) continue;
+                JmhResult jmh = (JmhResult) result;
+                writer.write("\nJMH Results," + csvText(jmh.source) + "\n");
+                writer.write("Benchmark,Params,Mode,Score,Error,Unit,p50,p99\n");
+                for (JmhResult.Row row : jmh.rows) {
+                    writer.write(String.format(java.util.Locale.ROOT, "%s,%s,%s,%.4f,%.4f,%s,%.4f,%.4f%n",
+                        row.benchmark, csvText(row.params), row.mode, row.score, row.scoreError, csvText(row.unit),
+                        row.p50, row.p99));
+                }
+            }
             
             // Note about log
             writer.write("\nNote: Full test log available in text export format\n");
         }
     }
+
+    /** GC pauses and safepoints per live thread band of one run; nothing when none were seen. */
+    private static void writePauseBands(FileWriter writer, List<PauseBand> bands) throws IOException {
+        if (bands.isEmpty()) return;
+        writer.write("GC/Safepoint Band,MXBean GCs,MXBean Pause Total (ms),MXBean Pause Max (ms),JFR GCs,"
+                + "JFR Pause Total (ms),JFR Pause Max (ms),Safepoints,TTSP p50 (us),TTSP p99 (us),TTSP max (us),"
+                + "In Safepoint Total (ms),In Safepoint Max (ms)\n");
+        for (PauseBand band : bands) {
+            writer.write(String.format(java.util.Locale.ROOT, "%s,%d,%d,%d,%d,%.3f,%.3f,%d,%.1f,%.1f,%.1f,%.3f,%.3f%n",
+                band.label(), band.gcCount, band.gcPauseTotalMillis, band.gcPauseMaxMillis,
+                band.jfrGcCount, band.jfrPauseTotalNanos / 1e6, band.jfrPauseMaxNanos / 1e6, band.safepoints,
+                band.ttspP50Nanos / 1000.0, band.ttspP99Nanos / 1000.0, band.ttspMaxNanos / 1000.0,
+                band.safepointTotalNanos / 1e6, band.safepointMaxNanos / 1e6));
+        }
+    }
+
+    private static String csvText(String value) {
+        if (value == null) return "";
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
 }
@@ -0,0 +1,281 @@
+package dev.threadgaugexp.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON writer and reader for result records (no external dependency).
+ * Non-finite doubles are written as null. Parsed objects are LinkedHashMaps, arrays are Lists,
+ * numbers are Long when integral and Double otherwise.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    public static ObjectBuilder object() {
+        return new ObjectBuilder();
+    }
+
+    public static final class ObjectBuilder {
+        private final StringBuilder sb = new StringBuilder("{");
+        private boolean first = true;
+
+        private ObjectBuilder key(String name) {
+            if (!first) sb.append(',');
+            first = false;
+            quote(sb, name);
+            sb.append(':');
+            return this;
+        }
+
+        public ObjectBuilder put(String name, String value) {
+            key(name);
+            if (value == null) {
+                sb.append("null");
+            } else {
+                quote(sb, value);
+            }
+            return this;
+        }
+
+        public ObjectBuilder put(String name, long value) {
+            key(name).sb.append(value);
+            return this;
+        }
+
+        public ObjectBuilder put(String name, double value) {
+            key(name);
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                sb.append("null");
+            } else {
+                sb.append(value);
+            }
+            return this;
+        }
+
+        public ObjectBuilder put(String name, boolean value) {
+            key(name).sb.append(value);
+            return this;
+        }
+
+        /** Appends an already-serialized JSON value (object or array). */
+        public ObjectBuilder putRaw(String name, String json) {
+            key(name).sb.append(json);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return sb + "}";
+        }
+    }
+
+    /** Serializes already-serialized JSON values as an array. */
+    public static String array(Iterable<String> jsonValues) {
+        StringBuilder sb = new StringBuilder("[");
+        for (String value : jsonValues) {
+            if (sb.length() > 1) sb.append(',');
+            sb.append(value);
+        }
+        return sb.append(']').toString();
+    }
+
+    public static void quote(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    public static Object parse(String text) {
+        Parser parser = new Parser(text);
+        parser.skipWhitespace();
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.pos != text.length()) {
+            throw parser.error("trailing characters");
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(String text) {
+        Object value = parse(text);
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("JSON value is not an object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    /** Numeric field as double; NaN when missing, null or not a number. */
+    public static double getDouble(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+
+    public static long getLong(Map<String, Object> object, String name, long defaultValue) {
+        Object value = object.get(name);
+        return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+    }
+
+    public static String getString(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Object readValue() {
+            if (pos >= text.length()) throw error("unexpected end of input");
+            char c = text.charAt(pos);
+            switch (c) {
+                case '{': return readObject();
+                case '[': return readArray();
+                case '"': return readString();
+                case 't': expect("true"); return Boolean.TRUE;
+                case 'f': expect("false"); return Boolean.FALSE;
+                case 'n': expect("null"); return null;
+                default: return readNumber();
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++; // {
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                if (peek() != '"') throw error("expected field name");
+                String key = readString();
+                skipWhitespace();
+                if (peek() != ':') throw error("expected ':'");
+                pos++;
+                skipWhitespace();
+                map.put(key, readValue());
+                skipWhitespace();
+                char c = peek();
+                pos++;
+                if (c == '}') return map;
+                if (c != ',') throw error("expected ',' or '}'");
+            }
+        }
+
+        private List<Object> readArray() {
+            List<Object> list = new ArrayList<>();
+            pos++; // [
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                skipWhitespace();
+                list.add(readValue());
+                skipWhitespace();
+                char c = peek();
+                pos++;
+                if (c == ']') return list;
+                if (c != ',') throw error("expected ',' or ']'");
+            }
+        }
+
+        private String readString() {
+            StringBuilder sb = new StringBuilder();
+            pos++; // opening quote
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) break;
+                char e = text.charAt(pos++);
+                switch (e) {
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) throw error("bad unicode escape");
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default: sb.append(e);
+                }
+            }
+            throw error("unterminated string");
+        }
+
+        private Number readNumber() {
+            int start = pos;
+            boolean integral = true;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if ((c >= '0' && c <= '9') || c == '-' || c == '+') {
+                    pos++;
+                } else if (c == '.' || c == 'e' || c == 'E') {
+                    integral = false;
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            if (start == pos) throw error("unexpected character '" + text.charAt(pos) + "'");
+            String number = text.substring(start, pos);
+            try {
+                return integral ? (Number) Long.parseLong(number) : (Number) Double.parseDouble(number);
+            } catch (NumberFormatException e) {
+                throw error("bad number '" + number + "'");
+            }
+        }
+
+        private void expect(String word) {
+            if (!text.startsWith(word, pos)) throw error("expected " + word);
+            pos += word.length();
+        }
+
+        private char peek() {
+            if (pos >= text.length()) throw error("unexpected end of input");
+            return text.charAt(pos);
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid JSON at offset " + pos + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package dev.threadgaugexp.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only log file written by one background thread, so callers never wait for the disk.
+ * Keeps the full history of a session while the on-screen log holds only the newest lines. At
+ * most {@value #MAX_QUEUED} writes wait for the disk; text appended beyond that is dropped, and
+ * the file notes how many lines were lost.
+ */
+public class LogSpool implements AutoCloseable {
+    /** Queued writes; the output panel appends one batch per frame, so this is about 25 s of backlog. */
+    private static final int MAX_QUEUED = 256;
+
+    private final Path file;
+    private final BufferedWriter writer;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(MAX_QUEUED), task -> {
+            Thread thread = new Thread(task, "ThreadGauge-LogSpool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    /** Lines of appended text that did not fit in the queue and have not been reported yet. */
+    private final AtomicLong droppedLines = new AtomicLong();
+    /** First write failure; later writes are dropped. Only touched by the spool thread. */
+    private IOException failure;
+
+    private LogSpool(Path file) throws IOException {
+        this.file = file;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+
+    /** Opens a new file named threadgauge-log-*.txt in the temp directory. */
+    public static LogSpool openTemp() throws IOException {
+        return new LogSpool(Files.createTempFile("threadgauge-log-", ".txt"));
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /** Queues text for the file; returns at once. Drops the text when the queue is full. */
+    public void append(String text) {
+        try {
+            executor.execute(() -> {
+                if (failure != null) return;
+                try {
+                    writeDroppedNote();
+                    writer.write(text);
+                } catch (IOException e) {
+                    failure = e;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (!executor.isShutdown()) {
+                droppedLines.addAndGet(lines(text));
+            }
+            // Otherwise closed: the session is ending
+        }
+    }
+
+    /** Records lines dropped since the last write. Spool thread only. */
+    private void writeDroppedNote() throws IOException {
+        long lost = droppedLines.getAndSet(0);
+        if (lost > 0) {
+            writer.write("[" + lost + " log lines dropped, the disk could not keep up]\n");
+        }
+    }
+
+    private static long lines(String text) {
+        long lines = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * Queues a flush or close, which must not be dropped: waits for room while the queue is full.
+     * Throws RejectedExecutionException once the spool is shut down.
+     */
+    private <T> Future<T> submitControl(Callable<T> task) throws InterruptedException {
+        while (true) {
+            try {
+                return executor.submit(task);
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) throw e;
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    /** Waits for queued text to reach the file, then streams the whole file to {@code out}. */
+    public void copyTo(Writer out) throws IOException {
+        try {
+            submitControl(() -> {
+                if (failure != null) throw failure;
+                writeDroppedNote();
+                writer.flush();
+                return null;
+            }).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while flushing " + file, e);
+        } catch (RejectedExecutionException e) {
+            throw new IOException("log spool is closed", e);
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.transferTo(out);
+        }
+    }
+
+    /** Flushes and closes the file after everything queued so far, waiting up to two seconds for the disk. */
+    @Override
+    public void close() {
+        try {
+            submitControl(() -> {
+                try {
+                    if (failure == null) writeDroppedNote();
+                    writer.close();
+                } catch (IOException ignored) {
+                    // Nothing left to report to
+                }
+                return null;
+            });
+        } catch (RejectedExecutionException ignored) {
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
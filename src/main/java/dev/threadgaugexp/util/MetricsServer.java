@@ -0,0 +1,255 @@
+package dev.threadgaugexp.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.threadgaugexp.core.LiveMetrics;
+import dev.threadgaugexp.core.PauseMonitor;
+import dev.threadgaugexp.core.TelemetrySampler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves live gauges in the OpenMetrics text format at {@code /metrics}, for Prometheus or a
+ * quick {@code curl}. Telemetry comes from the newest {@link TelemetrySampler} sample and the
+ * engines' figures from {@link LiveMetrics}. One daemon thread answers all requests and renders
+ * into a reused builder and byte buffer, so a scrape every second costs next to nothing.
+ */
+public class MetricsServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 9404;
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "ThreadGauge-Metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final TelemetrySampler sampler;
+    private final TelemetrySampler.Batch latest = new TelemetrySampler.Batch(1);
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final GarbageCollectorMXBean[] collectors;
+    /** {@code {gc="...",pausing="..."}} per collector, built once. */
+    private final String[] collectorLabels;
+    private final String[] spawnBucketLabels;
+    private final StringBuilder text = new StringBuilder(16 * 1024);
+    private byte[] body = new byte[16 * 1024];
+
+    private MetricsServer(InetSocketAddress address, TelemetrySampler sampler) throws IOException {
+        this.sampler = sampler;
+        List<GarbageCollectorMXBean> gcs = ManagementFactory.getGarbageCollectorMXBeans();
+        this.collectors = gcs.toArray(new GarbageCollectorMXBean[0]);
+        this.collectorLabels = new String[collectors.length];
+        for (int i = 0; i < collectors.length; i++) {
+            StringBuilder label = new StringBuilder("{gc=");
+            Json.quote(label, collectors[i].getName());
+            collectorLabels[i] = label.append(",pausing=\"")
+                .append(PauseMonitor.isPausingCollector(collectors[i].getName())).append("\"}").toString();
+        }
+        LiveMetrics.SpawnHistogram histogram = LiveMetrics.spawnStart();
+        this.spawnBucketLabels = new String[histogram.buckets()];
+        for (int i = 0; i < spawnBucketLabels.length; i++) {
+            long bound = histogram.upperBoundNanos(i);
+            spawnBucketLabels[i] = "_bucket{le=\"" + (bound == Long.MAX_VALUE ? "+Inf"
+                : BigDecimal.valueOf(bound, 9).stripTrailingZeros().toPlainString()) + "\"} ";
+        }
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+    }
+
+    /** Starts serving on {@code address}; port 0 picks a free port, see {@link #getPort()}. */
+    public static MetricsServer start(InetSocketAddress address, TelemetrySampler sampler) throws IOException {
+        return new MetricsServer(address, sampler);
+    }
+
+    /**
+     * Parses {@code port} or {@code host:port}. A bare port listens on the loopback interface
+     * only; name a host (e.g. {@code 0.0.0.0:9404}) to let other machines scrape.
+     */
+    public static InetSocketAddress parseAddress(String spec) {
+        String host = "127.0.0.1";
+        String port = spec.trim();
+        int colon = port.lastIndexOf(':');
+        if (colon >= 0) {
+            host = port.substring(0, colon);
+            port = port.substring(colon + 1);
+        }
+        try {
+            int value = Integer.parseInt(port);
+            if (value < 0 || value > 65535) {
+                throw new IllegalArgumentException("metrics port out of range: " + value);
+            }
+            return new InetSocketAddress(host, value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("metrics address must be <port> or <host>:<port>, got '" + spec + "'");
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** URL to scrape, with the bound host. */
+    public String getUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + "/metrics";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            int length = render();
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body, 0, length);
+            }
+        }
+    }
+
+    /** Renders all metrics into {@link #body} and returns the length. Only called on the server thread. */
+    int render() {
+        StringBuilder sb = text;
+        sb.setLength(0);
+        sampler.readBatch(sampler.sequence() - 1, latest);
+        boolean sampled = latest.count > 0;
+
+        family(sb, "threadgauge_jvm_threads_live", "gauge", null, "Live JVM threads (platform), at the latest telemetry sample.");
+        value(sb, "threadgauge_jvm_threads_live", null, sampled ? latest.liveThreads[0] : threadBean.getThreadCount());
+        family(sb, "threadgauge_jvm_threads_peak", "gauge", null, "Peak live JVM threads since start or the last reset.");
+        value(sb, "threadgauge_jvm_threads_peak", null, threadBean.getPeakThreadCount());
+        family(sb, "threadgauge_jvm_threads_started", "counter", null, "Platform threads started since JVM start.");
+        value(sb, "threadgauge_jvm_threads_started_total", null,
+            sampled ? latest.startedThreads[0] : threadBean.getTotalStartedThreadCount());
+
+        family(sb, "threadgauge_jvm_heap_used_bytes", "gauge", "bytes", "Heap in use.");
+        sampleValue(sb, "threadgauge_jvm_heap_used_bytes", sampled, latest.heapUsedBytes[0]);
+        family(sb, "threadgauge_jvm_heap_committed_bytes", "gauge", "bytes", "Heap committed by the JVM.");
+        sampleValue(sb, "threadgauge_jvm_heap_committed_bytes", sampled, latest.heapCommittedBytes[0]);
+        family(sb, "threadgauge_jvm_heap_max_bytes", "gauge", "bytes", "Maximum heap (-Xmx).");
+        value(sb, "threadgauge_jvm_heap_max_bytes", null, Runtime.getRuntime().maxMemory());
+        family(sb, "threadgauge_system_cpu_load_ratio", "gauge", "ratio", "System CPU load, 0 to 1; NaN when the OS does not report it.");
+        value(sb, "threadgauge_system_cpu_load_ratio", null, sampled ? latest.cpuLoadPct[0] / 100.0 : Double.NaN);
+
+        family(sb, "threadgauge_jvm_gc_collections", "counter", null, "Collections per collector; pausing=\"false\" marks concurrent cycles.");
+        for (int i = 0; i < collectors.length; i++) {
+            value(sb, "threadgauge_jvm_gc_collections_total", collectorLabels[i], Math.max(0, collectors[i].getCollectionCount()));
+        }
+        family(sb, "threadgauge_jvm_gc_collection_seconds", "counter", "seconds",
+            "Accumulated collection time per collector; the pause time for pausing collectors.");
+        for (int i = 0; i < collectors.length; i++) {
+            value(sb, "threadgauge_jvm_gc_collection_seconds_total", collectorLabels[i],
+                Math.max(0, collectors[i].getCollectionTime()) / 1000.0);
+        }
+
+        int workers = LiveMetrics.stressWorkers();
+        family(sb, "threadgauge_stress_workers", "gauge", null, "Worker threads of the running stress test, 0 when none runs.");
+        value(sb, "threadgauge_stress_workers", null, workers);
+        family(sb, "threadgauge_stress_ops", "counter", null, "Workload iterations completed by stress workers in measured intervals.");
+        value(sb, "threadgauge_stress_ops_total", null, LiveMetrics.stressOps());
+        family(sb, "threadgauge_stress_ops_per_second", "gauge", null, "Stress throughput over the last interval; NaN when no stress test runs.");
+        value(sb, "threadgauge_stress_ops_per_second", null, LiveMetrics.stressOpsPerSecond());
+        family(sb, "threadgauge_stress_iteration_latency_seconds", "gauge", "seconds",
+            "Iteration latency percentiles over the last stress interval.");
+        value(sb, "threadgauge_stress_iteration_latency_seconds", "{percentile=\"50\"}", nanosOrNaN(LiveMetrics.stressLatencyP50Nanos()));
+        value(sb, "threadgauge_stress_iteration_latency_seconds", "{percentile=\"99\"}", nanosOrNaN(LiveMetrics.stressLatencyP99Nanos()));
+        family(sb, "threadgauge_context_switches_per_second", "gauge", null,
+            "Context switches of this process over the last stress interval (Linux /proc); NaN otherwise.");
+        value(sb, "threadgauge_context_switches_per_second", "{kind=\"voluntary\"}", LiveMetrics.voluntarySwitchesPerSecond());
+        value(sb, "threadgauge_context_switches_per_second", "{kind=\"involuntary\"}", LiveMetrics.involuntarySwitchesPerSecond());
+        family(sb, "threadgauge_run_queue_wait_threads", "gauge", null,
+            "Average threads of this process waiting for a CPU over the last stress interval (Linux); NaN otherwise.");
+        value(sb, "threadgauge_run_queue_wait_threads", null, LiveMetrics.runQueueWaitThreads());
+
+        histogram(sb, "threadgauge_spawn_create_seconds", "Time in new Thread(...) per thread created by max-threads tests.",
+            LiveMetrics.spawnCreate());
+        histogram(sb, "threadgauge_spawn_start_seconds", "Time in Thread.start() per thread started by max-threads tests.",
+            LiveMetrics.spawnStart());
+        sb.append("# EOF\n");
+
+        int length = sb.length();
+        if (body.length < length) {
+            body = new byte[Math.max(length, body.length * 2)];
+        }
+        // Everything is ASCII apart from, in theory, a collector name
+        for (int i = 0; i < length; i++) {
+            char c = sb.charAt(i);
+            body[i] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+        return length;
+    }
+
+    private void histogram(StringBuilder sb, String name, String help, LiveMetrics.SpawnHistogram histogram) {
+        family(sb, name, "histogram", "seconds", help);
+        long cumulative = 0;
+        for (int i = 0; i < spawnBucketLabels.length; i++) {
+            cumulative += histogram.count(i);
+            sb.append(name).append(spawnBucketLabels[i]).append(cumulative).append('\n');
+        }
+        sb.append(name).append("_count ").append(cumulative).append('\n');
+        sb.append(name).append("_sum ").append(histogram.sumNanos() / 1e9).append('\n');
+    }
+
+    /** A value from the latest telemetry sample, or NaN before the first sample. */
+    private static void sampleValue(StringBuilder sb, String name, boolean sampled, long value) {
+        if (sampled) {
+            value(sb, name, null, value);
+        } else {
+            value(sb, name, null, Double.NaN);
+        }
+    }
+
+    private static double nanosOrNaN(long nanos) {
+        return nanos < 0 ? Double.NaN : nanos / 1e9;
+    }
+
+    private static void family(StringBuilder sb, String name, String type, String unit, String help) {
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        if (unit != null) {
+            sb.append("# UNIT ").append(name).append(' ').append(unit).append('\n');
+        }
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    private static void value(StringBuilder sb, String name, String labels, long value) {
+        sb.append(name);
+        if (labels != null) sb.append(labels);
+        sb.append(' ').append(value).append('\n');
+    }
+
+    private static void value(StringBuilder sb, String name, String labels, double value) {
+        sb.append(name);
+        if (labels != null) sb.append(labels);
+        sb.append(' ');
+        if (Double.isNaN(value)) {
+            sb.append("NaN");
+        } else {
+            sb.append(value);
+        }
+        sb.append('\n');
+    }
+
+    /** Stops listening; a scrape in progress gets up to one second to finish. */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdownNow();
+    }
+}
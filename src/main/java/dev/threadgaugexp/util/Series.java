@@ -0,0 +1,36 @@
+package dev.threadgaugexp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parameter series for sweeps.
+ */
+public final class Series {
+
+    private Series() {
+    }
+
+    /** Geometric series from min to max (both included), rounded to whole numbers without duplicates. */
+    public static List<Integer> geometric(int min, int max, int steps) {
+        List<Integer> values = new ArrayList<>();
+        double ratio = steps > 1 ? Math.pow((double) max / min, 1.0 / (steps - 1)) : 1.0;
+        for (int i = 0; i < steps; i++) {
+            int value = i == steps - 1 && steps > 1 ? max : (int) Math.round(min * Math.pow(ratio, i));
+            if (values.isEmpty() || values.get(values.size() - 1) != value) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    /** 1, 2, 4, ... up to max, with max itself always included. */
+    public static List<Integer> powersOfTwo(int max) {
+        List<Integer> values = new ArrayList<>();
+        for (int value = 1; value < max; value *= 2) {
+            values.add(value);
+        }
+        values.add(max);
+        return values;
+    }
+}
@@ -0,0 +1,440 @@
+package dev.threadgaugexp.util;
+
+import dev.threadgaugexp.core.ProgressListener;
+import dev.threadgaugexp.core.StressResult;
+import dev.threadgaugexp.core.TelemetryRecorder;
+import dev.threadgaugexp.core.TelemetrySampler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams recorded telemetry samples, and the per-worker figures of a stress run, to a file. Rows
+ * go from the recorder's file through a fixed direct buffer into a {@link FileChannel}, so memory
+ * use does not grow with the number of samples.
+ * <ul>
+ *   <li>{@link Format#CSV}: one row per sample; worker rows go to a second file, {@code <name>-threads.csv}</li>
+ *   <li>{@link Format#JSON_LINES}: a header object, then one object per sample and per worker</li>
+ *   <li>{@link Format#COLUMNAR}: little-endian blocks of primitive columns, described by a JSON
+ *   header; timestamps and cumulative counters are delta-encoded</li>
+ * </ul>
+ */
+public final class TelemetryExport {
+    /** Samples per columnar block, and per read from the recorder. */
+    static final int BLOCK_ROWS = 65536;
+    private static final int BUFFER_BYTES = 256 * 1024;
+    private static final byte[] COLUMNAR_MAGIC = "TGCOL001".getBytes(StandardCharsets.US_ASCII);
+    private static final String[] SAMPLE_COLUMNS = {
+        "elapsed_ms", "live_threads", "started_threads", "heap_used_bytes", "heap_committed_bytes", "cpu_load_pct", "gc_time_ms"
+    };
+
+    public enum Format {
+        CSV("csv", "CSV"),
+        JSON_LINES("jsonl", "JSON lines"),
+        COLUMNAR("tgcol", "Columnar binary");
+
+        private final String extension;
+        private final String label;
+
+        Format(String extension, String label) {
+            this.extension = extension;
+            this.label = label;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /** The format matching the file's extension, or null. */
+        public static Format forFile(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            for (Format format : values()) {
+                if (name.endsWith("." + format.extension)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private TelemetryExport() {
+    }
+
+    /**
+     * Writes every sample recorded so far to {@code file}, plus the workers of {@code workers}
+     * when it has per-worker figures. Returns the number of samples written.
+     */
+    public static long export(TelemetryRecorder recorder, StressResult workers, Path file, Format format,
+                              ProgressListener progress) throws IOException {
+        boolean withWorkers = workers != null && workers.workerOps != null;
+        try (TelemetryRecorder.Reader reader = recorder.open()) {
+            progress.onMessage(String.format("Exporting %,d telemetry samples%s to %s", reader.total(),
+                withWorkers ? " and " + workers.workerOps.length + " workers" : "", file));
+            switch (format) {
+                case CSV:
+                    try (Out out = new Out(file)) {
+                        writeCsvSamples(recorder, reader, out, progress);
+                    }
+                    if (withWorkers) {
+                        try (Out out = new Out(threadsFile(file))) {
+                            writeCsvWorkers(workers, out);
+                        }
+                    }
+                    break;
+                case JSON_LINES:
+                    try (Out out = new Out(file)) {
+                        writeJsonLines(recorder, reader, withWorkers ? workers : null, out, progress);
+                    }
+                    break;
+                default:
+                    try (Out out = new Out(file)) {
+                        writeColumnar(recorder, reader, withWorkers ? workers : null, out, progress);
+                    }
+                    break;
+            }
+            return reader.total();
+        }
+    }
+
+    /** Where the CSV export puts the worker rows: {@code run.csv} becomes {@code run-threads.csv}. */
+    public static Path threadsFile(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return file.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + "-threads.csv");
+    }
+
+    private static void writeCsvSamples(TelemetryRecorder recorder, TelemetryRecorder.Reader reader, Out out,
+                                        ProgressListener progress) throws IOException {
+        StringBuilder row = new StringBuilder(128);
+        out.ascii(String.join(",", SAMPLE_COLUMNS)).ascii("\n");
+        TelemetrySampler.Batch batch = new TelemetrySampler.Batch(BLOCK_ROWS);
+        Progress ticker = new Progress(reader.total(), progress);
+        while (reader.next(batch) > 0) {
+            for (int i = 0; i < batch.count; i++) {
+                row.setLength(0);
+                appendMillis(row, batch.timeNanos[i] - recorder.getStartNanos());
+                row.append(',').append(batch.liveThreads[i])
+                    .append(',').append(batch.startedThreads[i])
+                    .append(',').append(batch.heapUsedBytes[i])
+                    .append(',').append(batch.heapCommittedBytes[i])
+                    .append(',');
+                if (!Double.isNaN(batch.cpuLoadPct[i])) {
+                    appendFixed(row, Math.round(batch.cpuLoadPct[i] * 1000), 3);
+                }
+                row.append(',').append(batch.gcTimeMillis[i]).append('\n');
+                out.ascii(row);
+            }
+            ticker.update(reader.position());
+        }
+    }
+
+    private static void writeCsvWorkers(StressResult workers, Out out) throws IOException {
+        StringBuilder row = new StringBuilder(64);
+        out.ascii("worker,ops,cpu_ns\n");
+        for (int i = 0; i < workers.workerOps.length; i++) {
+            row.setLength(0);
+            row.append(i).append(',').append(workers.workerOps[i]).append(',');
+            long cpu = cpuNanos(workers, i);
+            if (cpu >= 0) {
+                row.append(cpu);
+            }
+            out.ascii(row.append('\n'));
+        }
+    }
+
+    private static void writeJsonLines(TelemetryRecorder recorder, TelemetryRecorder.Reader reader, StressResult workers,
+                                       Out out, ProgressListener progress) throws IOException {
+        out.utf8(header(recorder, reader, workers).toString()).ascii("\n");
+        StringBuilder row = new StringBuilder(192);
+        TelemetrySampler.Batch batch = new TelemetrySampler.Batch(BLOCK_ROWS);
+        Progress ticker = new Progress(reader.total(), progress);
+        while (reader.next(batch) > 0) {
+            for (int i = 0; i < batch.count; i++) {
+                row.setLength(0);
+                row.append("{\"kind\":\"sample\",\"elapsed_ms\":");
+                appendMillis(row, batch.timeNanos[i] - recorder.getStartNanos());
+                row.append(",\"live_threads\":").append(batch.liveThreads[i])
+                    .append(",\"started_threads\":").append(batch.startedThreads[i])
+                    .append(",\"heap_used_bytes\":").append(batch.heapUsedBytes[i])
+                    .append(",\"heap_committed_bytes\":").append(batch.heapCommittedBytes[i])
+                    .append(",\"cpu_load_pct\":");
+                if (Double.isNaN(batch.cpuLoadPct[i])) {
+                    row.append("null");
+                } else {
+                    appendFixed(row, Math.round(batch.cpuLoadPct[i] * 1000), 3);
+                }
+                row.append(",\"gc_time_ms\":").append(batch.gcTimeMillis[i]).append("}\n");
+                out.ascii(row);
+            }
+            ticker.update(reader.position());
+        }
+        if (workers == null) return;
+        for (int i = 0; i < workers.workerOps.length; i++) {
+            row.setLength(0);
+            long cpu = cpuNanos(workers, i);
+            row.append("{\"kind\":\"worker\",\"worker\":").append(i)
+                .append(",\"ops\":").append(workers.workerOps[i])
+                .append(",\"cpu_ns\":");
+            if (cpu >= 0) {
+                row.append(cpu);
+            } else {
+                row.append("null");
+            }
+            out.ascii(row.append("}\n"));
+        }
+    }
+
+    /**
+     * {@code TGCOL001}, the header length (int32) and the header JSON, then blocks. A block is the
+     * table number (int32, index into the header's tables), the row count (int32) and each column
+     * of that table in header order as its byte length (int32) and bytes. Column encodings:
+     * {@code i32}, {@code i64}, {@code f64} (NaN for missing), and {@code delta-varint}: zigzag
+     * LEB128 of each value minus the previous one, starting from 0 in every block.
+     */
+    private static void writeColumnar(TelemetryRecorder recorder, TelemetryRecorder.Reader reader, StressResult workers,
+                                      Out out, ProgressListener progress) throws IOException {
+        List<String> tables = new ArrayList<>();
+        tables.add(Json.object()
+            .put("name", "samples")
+            .putRaw("columns", Json.array(List.of(
+                column("time_ns", "delta-varint", "nanoseconds since the recording started"),
+                column("live_threads", "i32", null),
+                column("started_threads", "delta-varint", "cumulative since JVM start"),
+                column("heap_used_bytes", "i64", null),
+                column("heap_committed_bytes", "i64", null),
+                column("cpu_load_pct", "f64", "system CPU load, NaN when not reported"),
+                column("gc_time_ms", "delta-varint", "cumulative pause time of pausing collectors")
+            ))).toString());
+        if (workers != null) {
+            tables.add(Json.object()
+                .put("name", "workers")
+                .putRaw("columns", Json.array(List.of(
+                    column("ops", "i64", null),
+                    column("cpu_ns", "i64", "-1 when unavailable")
+                ))).toString());
+        }
+        byte[] header = header(recorder, reader, workers).putRaw("tables", Json.array(tables)).toString()
+            .getBytes(StandardCharsets.UTF_8);
+        out.bytes(COLUMNAR_MAGIC).int32(header.length).bytes(header);
+
+        TelemetrySampler.Batch batch = new TelemetrySampler.Batch(BLOCK_ROWS);
+        long[] relative = new long[BLOCK_ROWS];
+        VarintColumn varints = new VarintColumn(BLOCK_ROWS);
+        Progress ticker = new Progress(reader.total(), progress);
+        while (reader.next(batch) > 0) {
+            int rows = batch.count;
+            out.int32(0).int32(rows);
+            for (int i = 0; i < rows; i++) {
+                relative[i] = batch.timeNanos[i] - recorder.getStartNanos();
+            }
+            varints.encode(relative, rows).writeTo(out);
+            out.int32(rows * 4);
+            for (int i = 0; i < rows; i++) out.int32(batch.liveThreads[i]);
+            varints.encode(batch.startedThreads, rows).writeTo(out);
+            out.int32(rows * 8);
+            for (int i = 0; i < rows; i++) out.int64(batch.heapUsedBytes[i]);
+            out.int32(rows * 8);
+            for (int i = 0; i < rows; i++) out.int64(batch.heapCommittedBytes[i]);
+            out.int32(rows * 8);
+            for (int i = 0; i < rows; i++) out.float64(batch.cpuLoadPct[i]);
+            varints.encode(batch.gcTimeMillis, rows).writeTo(out);
+            ticker.update(reader.position());
+        }
+        if (workers == null) return;
+        for (int start = 0; start < workers.workerOps.length; start += BLOCK_ROWS) {
+            int rows = Math.min(BLOCK_ROWS, workers.workerOps.length - start);
+            out.int32(1).int32(rows);
+            out.int32(rows * 8);
+            for (int i = start; i < start + rows; i++) out.int64(workers.workerOps[i]);
+            out.int32(rows * 8);
+            for (int i = start; i < start + rows; i++) out.int64(cpuNanos(workers, i));
+        }
+    }
+
+    private static String column(String name, String encoding, String note) {
+        Json.ObjectBuilder column = Json.object().put("name", name).put("encoding", encoding);
+        if (note != null) {
+            column.put("note", note);
+        }
+        return column.toString();
+    }
+
+    private static Json.ObjectBuilder header(TelemetryRecorder recorder, TelemetryRecorder.Reader reader, StressResult workers) {
+        return Json.object()
+            .put("kind", "header")
+            .put("format", "threadgauge-telemetry")
+            .put("version", 1)
+            .put("startEpochMillis", recorder.getStartEpochMillis())
+            .put("samplePeriodMillis", recorder.getSampler().getPeriodMillis())
+            .put("samples", reader.total())
+            .put("missedSamples", recorder.missedSamples())
+            .put("heapMaxBytes", Runtime.getRuntime().maxMemory())
+            .put("workers", workers != null ? workers.workerOps.length : 0)
+            .put("workload", workers != null ? workers.workload : null);
+    }
+
+    private static long cpuNanos(StressResult workers, int worker) {
+        return workers.workerCpuNanos != null && worker < workers.workerCpuNanos.length ? workers.workerCpuNanos[worker] : -1;
+    }
+
+    /** Nanoseconds as milliseconds with three decimals, without going through String.format. */
+    private static void appendMillis(StringBuilder sb, long nanos) {
+        appendFixed(sb, Math.round(nanos / 1000.0), 3);
+    }
+
+    /** {@code scaled / 10^decimals} in plain decimal notation. */
+    private static void appendFixed(StringBuilder sb, long scaled, int decimals) {
+        if (scaled < 0) {
+            sb.append('-');
+            scaled = -scaled;
+        }
+        long unit = 1;
+        for (int i = 0; i < decimals; i++) unit *= 10;
+        sb.append(scaled / unit).append('.');
+        String fraction = Long.toString(scaled % unit);
+        for (int i = fraction.length(); i < decimals; i++) sb.append('0');
+        sb.append(fraction);
+    }
+
+    /** Reports progress in steps of ten percent. */
+    private static class Progress {
+        private final long total;
+        private final ProgressListener listener;
+        private int reportedTenths;
+
+        Progress(long total, ProgressListener listener) {
+            this.total = total;
+            this.listener = listener;
+        }
+
+        void update(long done) {
+            if (total <= 0) return;
+            int tenths = (int) (done * 10 / total);
+            if (tenths > reportedTenths && tenths < 10) {
+                reportedTenths = tenths;
+                listener.onStatus(String.format("Exporting telemetry... %d%%", tenths * 10));
+            }
+        }
+    }
+
+    /** Zigzag LEB128 deltas of one column, built in a reusable array. */
+    private static class VarintColumn {
+        private final byte[] bytes;
+        private int length;
+
+        VarintColumn(int rows) {
+            bytes = new byte[rows * 10];
+        }
+
+        VarintColumn encode(long[] values, int rows) {
+            length = 0;
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                long delta = values[i] - previous;
+                previous = values[i];
+                long zigzag = (delta << 1) ^ (delta >> 63);
+                while ((zigzag & ~0x7FL) != 0) {
+                    bytes[length++] = (byte) ((zigzag & 0x7F) | 0x80);
+                    zigzag >>>= 7;
+                }
+                bytes[length++] = (byte) zigzag;
+            }
+            return this;
+        }
+
+        void writeTo(Out out) throws IOException {
+            out.int32(length).bytes(bytes, length);
+        }
+    }
+
+    /** A file written through one direct buffer; everything is little-endian. */
+    private static class Out implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        Out(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        /** Text known to be ASCII, one byte per char. */
+        Out ascii(CharSequence text) throws IOException {
+            int length = text.length();
+            for (int i = 0; i < length; i++) {
+                if (!buffer.hasRemaining()) flush();
+                buffer.put((byte) text.charAt(i));
+            }
+            return this;
+        }
+
+        Out utf8(String text) throws IOException {
+            return bytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Out bytes(byte[] bytes) throws IOException {
+            return bytes(bytes, bytes.length);
+        }
+
+        Out bytes(byte[] bytes, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                if (!buffer.hasRemaining()) flush();
+                int chunk = Math.min(buffer.remaining(), length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+            return this;
+        }
+
+        Out int32(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+            return this;
+        }
+
+        Out int64(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+            return this;
+        }
+
+        Out float64(double value) throws IOException {
+            ensure(8);
+            buffer.putDouble(value);
+            return this;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}